@@ -0,0 +1,122 @@
+package de.turnertech.measures.benchmarks;
+
+import de.turnertech.measures.BatchConverter;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConverter;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions of whole columns of quantities. Throughput is reported per column, divide by size
+ * for quantities per second. The Vector API module is added to the forked JVM, run with
+ * {@code -jvmArgsAppend -Dde.turnertech.measures.vector=false} to compare against the plain loops.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class BulkConversionBenchmark {
+
+    @Param({"1024", "262144", "16777216"})
+    public int size;
+
+    private double[] src;
+
+    private double[] dst;
+
+    private DoubleBuffer heapSrc;
+
+    private DoubleBuffer heapDst;
+
+    private DoubleBuffer directSrc;
+
+    private DoubleBuffer directDst;
+
+    private MeasureArray measureArray;
+
+    private BatchConverter batchConverter;
+
+    @Setup
+    public void setup() {
+        src = new double[size];
+        for(int i = 0; i < size; ++i) {
+            src[i] = i * 0.731;
+        }
+        dst = new double[size];
+        heapSrc = DoubleBuffer.wrap(src);
+        heapDst = DoubleBuffer.wrap(dst);
+        directSrc = ByteBuffer.allocateDirect(size * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        directSrc.put(src).flip();
+        directDst = ByteBuffer.allocateDirect(size * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        measureArray = new MeasureArray(Unit.FOOT, src);
+        batchConverter = new BatchConverter();
+    }
+
+    @Benchmark
+    public double[] scalarLoop() {
+        for(int i = 0; i < size; ++i) {
+            dst[i] = UnitConverter.convertQuantity(src[i], Unit.FOOT, Unit.METRE);
+        }
+        return dst;
+    }
+
+    @Benchmark
+    public double[] arrayScalar() {
+        UnitConverter.convert(src, 0, size, Unit.KILOMETRE, Unit.METRE, dst);
+        return dst;
+    }
+
+    @Benchmark
+    public double[] arrayAffine() {
+        UnitConverter.convert(src, 0, size, Unit.FOOT, Unit.METRE, dst);
+        return dst;
+    }
+
+    @Benchmark
+    public double[] arrayAffineWithOffset() {
+        UnitConverter.convert(src, 0, size, Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS, dst);
+        return dst;
+    }
+
+    @Benchmark
+    public double[] batchAffine() {
+        batchConverter.convert(src, 0, size, Unit.FOOT, Unit.METRE, dst);
+        return dst;
+    }
+
+    @Benchmark
+    public DoubleBuffer heapBuffer() {
+        UnitConverter.convert(heapSrc.clear(), Unit.FOOT, Unit.METRE, heapDst.clear());
+        return heapDst;
+    }
+
+    @Benchmark
+    public DoubleBuffer directBuffer() {
+        UnitConverter.convert(directSrc.clear(), Unit.FOOT, Unit.METRE, directDst.clear());
+        return directDst;
+    }
+
+    @Benchmark
+    public MeasureArray measureArrayConvertTo() {
+        return measureArray.convertTo(Unit.METRE);
+    }
+
+}
@@ -0,0 +1,84 @@
+package de.turnertech.measures.benchmarks;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.Unit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Comparison, hashing and formatting of {@link Measure} instances.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MeasureBenchmark {
+
+    private Measure metres;
+
+    private Measure sameUnit;
+
+    private Measure otherUnit;
+
+    private Map<Measure, Integer> map;
+
+    private Measure mapKey;
+
+    @Setup
+    public void setup() {
+        metres = new Measure(1000.0, Unit.METRE);
+        sameUnit = new Measure(1000.0005, Unit.METRE);
+        otherUnit = new Measure(1.0, Unit.KILOMETRE);
+        map = new HashMap<>();
+        for(int i = 0; i < 1024; ++i) {
+            map.put(new Measure(i, Unit.METRE), i);
+        }
+        mapKey = new Measure(512.0, Unit.METRE);
+    }
+
+    @Benchmark
+    public boolean equalsWithToleranceSameUnit() {
+        return metres.equalsWithTolerance(sameUnit, 0.001);
+    }
+
+    @Benchmark
+    public boolean equalsWithToleranceOtherUnit() {
+        return metres.equalsWithTolerance(otherUnit, 0.001);
+    }
+
+    @Benchmark
+    public String toStringMetres() {
+        return metres.toString();
+    }
+
+    @Benchmark
+    public int hashCodeMetres() {
+        return metres.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsMetres() {
+        return metres.equals(sameUnit);
+    }
+
+    @Benchmark
+    public Integer hashMapGet() {
+        return map.get(mapKey);
+    }
+
+}
@@ -0,0 +1,99 @@
+package de.turnertech.measures.benchmarks;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConversion;
+import de.turnertech.measures.UnitConverter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single quantity conversions, one benchmark per step of the priority chain documented on
+ * {@link UnitConverter#convert(double, Unit, Unit)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnitConverterBenchmark {
+
+    /** A Unit defined with functions, which must convert via its base unit. */
+    private static final Unit DOUBLE_METRE = new Unit("2m", Unit.METRE, (doubleMetres) -> doubleMetres * 2.0, (metre) -> metre / 2.0);
+
+    private double quantity;
+
+    private Measure measure;
+
+    private UnitConversion plannedConversion;
+
+    @Setup
+    public void setup() {
+        quantity = 1234.5678;
+        measure = new Measure(quantity, Unit.KILOMETRE);
+        plannedConversion = UnitConverter.plan(Unit.FOOT, Unit.MILE);
+    }
+
+    @Benchmark
+    public double sameUnit() {
+        return UnitConverter.convertQuantity(quantity, Unit.METRE, Unit.METRE);
+    }
+
+    @Benchmark
+    public double function() {
+        return UnitConverter.convertQuantity(quantity, Unit.NAUTICAL_MILE, Unit.KILOMETRE);
+    }
+
+    @Benchmark
+    public double scalar() {
+        return UnitConverter.convertQuantity(quantity, Unit.KILOMETRE, Unit.METRE);
+    }
+
+    @Benchmark
+    public double divisor() {
+        return UnitConverter.convertQuantity(quantity, Unit.METRE, Unit.KILOMETRE);
+    }
+
+    @Benchmark
+    public double affineBaseUnitHop() {
+        return UnitConverter.convertQuantity(quantity, Unit.FOOT, Unit.MILE);
+    }
+
+    @Benchmark
+    public double functionBaseUnitHop() {
+        return UnitConverter.convertQuantity(quantity, DOUBLE_METRE, Unit.FOOT);
+    }
+
+    @Benchmark
+    public double plannedConversion() {
+        return plannedConversion.applyAsDouble(quantity);
+    }
+
+    @Benchmark
+    public Measure convertToMeasure() {
+        return UnitConverter.convert(quantity, Unit.FOOT, Unit.MILE);
+    }
+
+    @Benchmark
+    public Measure measureConvertTo() {
+        return measure.convertTo(Unit.METRE);
+    }
+
+    @Benchmark
+    public Measure unitConvertToBaseUnit() {
+        return Unit.FOOT.convertToBaseUnit(quantity);
+    }
+
+}
@@ -0,0 +1,300 @@
+package de.turnertech.measures;
+
+import java.util.Objects;
+
+/**
+ * <p>Functions for quantities of angular Units, such as {@link Unit#DEGREE}, {@link Unit#MINUTE_ANGLE},
+ * {@link Unit#SECOND_ANGLE} and {@link Unit#RADIAN}, which work on quantities of any of these Units
+ * without creating Measures.</p>
+ *
+ * <p>Angles are normalised into one turn in their own Unit, using the exact floating point remainder,
+ * so normalising never loses precision. The trigonometric functions normalise their input in its own
+ * Unit before converting it to radians, so that {@code sin(3600000.5, Unit.DEGREE)} is as accurate as
+ * {@code sin(0.5, Unit.DEGREE)}. The array functions resolve their conversions once, and convert the
+ * whole range with {@link UnitConversion#convert(double[], int, double[], int, int)} before applying
+ * {@link Math#sin(double)}, {@link Math#cos(double)} or {@link Math#atan2(double, double)} to each
+ * quantity.</p>
+ */
+public final class Angles {
+
+    private static final double DEGREES_PER_TURN = 360.0;
+
+    private static final double SECONDS_PER_DEGREE = 3600.0;
+
+    private Angles() {
+
+    }
+
+    /**
+     * Normalises an angle into the range [0, 1 turn), for example [0, 360) degrees.
+     * @param quantity of the Unit.
+     * @param unit an angular Unit.
+     * @return the equivalent angle within one positive turn, in the same Unit.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double normalizePositive(final double quantity, final Unit unit) {
+        return normalizePositive(quantity, turn(unit));
+    }
+
+    /**
+     * Normalises an angle into the range [-1/2 turn, 1/2 turn), for example [-180, 180) degrees.
+     * @param quantity of the Unit.
+     * @param unit an angular Unit.
+     * @return the equivalent angle within half a turn either side of 0, in the same Unit.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double normalizeSigned(final double quantity, final Unit unit) {
+        return normalizeSigned(quantity, turn(unit));
+    }
+
+    /**
+     * Normalises a range of angles in place into the range [0, 1 turn), as per
+     * {@link #normalizePositive(double, Unit)}.
+     *
+     * @param quantities the angles to normalise.
+     * @param offset the index of the first angle.
+     * @param length the number of angles.
+     * @param unit an angular Unit.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     * @throws IndexOutOfBoundsException if the range is not within the array.
+     */
+    public static void normalizePositive(final double[] quantities, final int offset, final int length, final Unit unit) {
+        Objects.checkFromIndexSize(offset, length, quantities.length);
+        final double turn = turn(unit);
+        for(int i = offset; i < offset + length; ++i) {
+            quantities[i] = normalizePositive(quantities[i], turn);
+        }
+    }
+
+    /**
+     * Normalises a range of angles in place into the range [-1/2 turn, 1/2 turn), as per
+     * {@link #normalizeSigned(double, Unit)}.
+     *
+     * @param quantities the angles to normalise.
+     * @param offset the index of the first angle.
+     * @param length the number of angles.
+     * @param unit an angular Unit.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     * @throws IndexOutOfBoundsException if the range is not within the array.
+     */
+    public static void normalizeSigned(final double[] quantities, final int offset, final int length, final Unit unit) {
+        Objects.checkFromIndexSize(offset, length, quantities.length);
+        final double turn = turn(unit);
+        for(int i = offset; i < offset + length; ++i) {
+            quantities[i] = normalizeSigned(quantities[i], turn);
+        }
+    }
+
+    /**
+     * <p>Splits an angle into whole degrees, whole minutes and seconds, for example 10.5125 degrees
+     * into 10° 30' 45". Every part has the sign of the angle, so -10.5125 degrees is split into
+     * -10, -30 and -45.</p>
+     *
+     * @param quantity of the Unit.
+     * @param unit an angular Unit.
+     * @return a new array of the degrees, minutes and seconds.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double[] toDegreesMinutesSeconds(final double quantity, final Unit unit) {
+        checkAngular(unit);
+        final double totalSeconds = Math.abs(UnitConverter.convertQuantity(quantity, unit, Unit.SECOND_ANGLE));
+        final double degrees = Math.floor(totalSeconds / SECONDS_PER_DEGREE);
+        final double remainingSeconds = totalSeconds - degrees * SECONDS_PER_DEGREE;
+        final double minutes = Math.floor(remainingSeconds / 60.0);
+        final double seconds = remainingSeconds - minutes * 60.0;
+        final double sign = Math.copySign(1.0, quantity);
+        return new double[] {sign * degrees, sign * minutes, sign * seconds};
+    }
+
+    /**
+     * Combines degrees, minutes and seconds into an angle, as the sum of all three. A negative angle
+     * therefore has every part negative, as returned by {@link #toDegreesMinutesSeconds(double, Unit)}.
+     *
+     * @param degrees of the angle.
+     * @param minutes of the angle.
+     * @param seconds of the angle.
+     * @param unitOut the angular Unit of the returned quantity.
+     * @return the angle in unitOut.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double fromDegreesMinutesSeconds(final double degrees, final double minutes, final double seconds, final Unit unitOut) {
+        checkAngular(unitOut);
+        final double totalSeconds = degrees * SECONDS_PER_DEGREE + minutes * 60.0 + seconds;
+        return UnitConverter.convertQuantity(totalSeconds, Unit.SECOND_ANGLE, unitOut);
+    }
+
+    /**
+     * Calculates the sine of an angle of any angular Unit.
+     * @param quantity of the Unit.
+     * @param unit an angular Unit.
+     * @return the sine of the angle.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double sin(final double quantity, final Unit unit) {
+        return Math.sin(toRadians(quantity, unit));
+    }
+
+    /**
+     * Calculates the sine of an angular Measure.
+     * @param measure the angle.
+     * @return the sine of the angle.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double sin(final Measure measure) {
+        return sin(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Calculates the cosine of an angle of any angular Unit.
+     * @param quantity of the Unit.
+     * @param unit an angular Unit.
+     * @return the cosine of the angle.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double cos(final double quantity, final Unit unit) {
+        return Math.cos(toRadians(quantity, unit));
+    }
+
+    /**
+     * Calculates the cosine of an angular Measure.
+     * @param measure the angle.
+     * @return the cosine of the angle.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double cos(final Measure measure) {
+        return cos(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Calculates the angle of the point (x, y) from the positive x axis, as per
+     * {@link Math#atan2(double, double)}.
+     *
+     * @param y the ordinate.
+     * @param x the abscissa.
+     * @param unitOut the angular Unit of the returned angle.
+     * @return the angle, within half a turn either side of 0.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     */
+    public static double atan2(final double y, final double x, final Unit unitOut) {
+        checkAngular(unitOut);
+        return UnitConverter.convertQuantity(Math.atan2(y, x), Unit.RADIAN, unitOut);
+    }
+
+    /**
+     * Calculates the sine of a range of angles.
+     * @param src the angles.
+     * @param srcOffset the index of the first angle.
+     * @param dst the array to write the sines to, which may be src.
+     * @param dstOffset the index in dst of the first sine.
+     * @param length the number of angles.
+     * @param unit the angular Unit of the angles.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     * @throws IndexOutOfBoundsException if either range is not within its array.
+     */
+    public static void sin(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final Unit unit) {
+        toRadians(src, srcOffset, dst, dstOffset, length, unit);
+        for(int i = dstOffset; i < dstOffset + length; ++i) {
+            dst[i] = Math.sin(dst[i]);
+        }
+    }
+
+    /**
+     * Calculates the cosine of a range of angles.
+     * @param src the angles.
+     * @param srcOffset the index of the first angle.
+     * @param dst the array to write the cosines to, which may be src.
+     * @param dstOffset the index in dst of the first cosine.
+     * @param length the number of angles.
+     * @param unit the angular Unit of the angles.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     * @throws IndexOutOfBoundsException if either range is not within its array.
+     */
+    public static void cos(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final Unit unit) {
+        toRadians(src, srcOffset, dst, dstOffset, length, unit);
+        for(int i = dstOffset; i < dstOffset + length; ++i) {
+            dst[i] = Math.cos(dst[i]);
+        }
+    }
+
+    /**
+     * Calculates the angles of a range of points, as per {@link #atan2(double, double, Unit)}.
+     * @param y the ordinates.
+     * @param yOffset the index of the first ordinate.
+     * @param x the abscissae.
+     * @param xOffset the index of the first abscissa.
+     * @param dst the array to write the angles to, which may be y or x.
+     * @param dstOffset the index in dst of the first angle.
+     * @param length the number of points.
+     * @param unitOut the angular Unit of the angles.
+     * @throws IllegalArgumentException if the Unit is not angular.
+     * @throws IndexOutOfBoundsException if any range is not within its array.
+     */
+    public static void atan2(final double[] y, final int yOffset, final double[] x, final int xOffset, final double[] dst, final int dstOffset, final int length, final Unit unitOut) {
+        checkAngular(unitOut);
+        Objects.checkFromIndexSize(yOffset, length, y.length);
+        Objects.checkFromIndexSize(xOffset, length, x.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        final UnitConversion conversion = UnitConverter.plan(Unit.RADIAN, unitOut);
+        if(dst == y && dstOffset > yOffset || dst == x && dstOffset > xOffset) {
+            // Backwards, so that overlapping ranges are read before they are written.
+            for(int i = length - 1; i >= 0; --i) {
+                dst[dstOffset + i] = Math.atan2(y[yOffset + i], x[xOffset + i]);
+            }
+        } else {
+            for(int i = 0; i < length; ++i) {
+                dst[dstOffset + i] = Math.atan2(y[yOffset + i], x[xOffset + i]);
+            }
+        }
+        conversion.convert(dst, dstOffset, dst, dstOffset, length);
+    }
+
+    /** Normalises an angle into half a turn either side of 0, and converts it to radians. */
+    private static double toRadians(final double quantity, final Unit unit) {
+        final double turn = turn(unit);
+        return UnitConverter.plan(unit, Unit.RADIAN).applyAsDouble(normalizeSigned(quantity, turn));
+    }
+
+    /** Normalises a range of angles into half a turn either side of 0, and converts them to radians in dst. */
+    private static void toRadians(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final Unit unit) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        final double turn = turn(unit);
+        final UnitConversion conversion = UnitConverter.plan(unit, Unit.RADIAN);
+        System.arraycopy(src, srcOffset, dst, dstOffset, length);
+        for(int i = dstOffset; i < dstOffset + length; ++i) {
+            dst[i] = normalizeSigned(dst[i], turn);
+        }
+        conversion.convert(dst, dstOffset, dst, dstOffset, length);
+    }
+
+    private static double normalizePositive(final double quantity, final double turn) {
+        double result = quantity % turn;
+        if(result < 0.0) {
+            result += turn;
+            // A tiny negative remainder may round up to a whole turn.
+            if(result == turn) {
+                result = 0.0;
+            }
+        }
+        // Also replaces -0.0 with 0.0
+        return result + 0.0;
+    }
+
+    private static double normalizeSigned(final double quantity, final double turn) {
+        final double result = normalizePositive(quantity, turn);
+        return result >= turn / 2.0 ? result - turn : result;
+    }
+
+    /** Gets one turn in an angular Unit. */
+    private static double turn(final Unit unit) {
+        checkAngular(unit);
+        return UnitConverter.convertQuantity(DEGREES_PER_TURN, Unit.DEGREE, unit);
+    }
+
+    private static void checkAngular(final Unit unit) {
+        if(!Unit.DEGREE.getDimension().equals(unit.getDimension())) {
+            throw new IllegalArgumentException("Unit " + unit + " is not an angle.");
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+package de.turnertech.measures;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Converts large arrays of quantities using every core, by splitting them into chunks which are
+ * converted in parallel on a {@link ForkJoinPool}. Each chunk is converted with the same bulk loop as
+ * {@link UnitConversion#convert(double[], int, double[], int, int)}, which uses the Vector API for
+ * affine conversions when the jdk.incubator.vector module is present, see {@link #isVectorised()}.
+ * The results are bit identical to converting the same quantities with
+ * {@link UnitConverter#convertQuantity(double, Unit, Unit)}.</p>
+ *
+ * <p>Arrays shorter than the chunk size are converted on the calling thread. Conversions defined
+ * with functions are called concurrently, and must therefore be thread safe. If a conversion throws,
+ * for example due to overflow, the exception is rethrown to the caller and other chunks may or may
+ * not have been written.</p>
+ *
+ * <p>Every conversion is applied with the {@link OverflowPolicy} of the BatchConverter, which is
+ * {@link OverflowPolicy#STRICT} unless another is supplied when it is constructed.</p>
+ */
+public class BatchConverter {
+
+    /** Default number of quantities converted by a single task, 512KB of doubles. */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Constructs an instance using the common pool and the default chunk size.
+     */
+    public BatchConverter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an instance using the supplied pool and chunk size, with a strict OverflowPolicy.
+     * @param pool to run conversions in.
+     * @param chunkSize the number of quantities converted by a single task. Must be positive.
+     */
+    public BatchConverter(final ForkJoinPool pool, final int chunkSize) {
+        this(pool, chunkSize, OverflowPolicy.STRICT);
+    }
+
+    /**
+     * Constructs an instance using the supplied pool, chunk size and OverflowPolicy.
+     * @param pool to run conversions in.
+     * @param chunkSize the number of quantities converted by a single task. Must be positive.
+     * @param overflowPolicy applied to every conversion.
+     */
+    public BatchConverter(final ForkJoinPool pool, final int chunkSize, final OverflowPolicy overflowPolicy) {
+        if(chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        this.pool = Objects.requireNonNull(pool);
+        this.chunkSize = chunkSize;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+    }
+
+    /**
+     * Gets the policy applied when a quantity overflows a double.
+     * @return the OverflowPolicy of this converter.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Checks if affine conversions use the Vector API in this JVM.
+     * @return true if the Vector API is used.
+     */
+    public static boolean isVectorised() {
+        return ConversionKernels.INSTANCE.isVectorised();
+    }
+
+    /**
+     * Converts a range of quantities between Units, as per
+     * {@link UnitConverter#convert(double[], int, int, Unit, Unit, double[])}.
+     *
+     * @param src the quantities to convert.
+     * @param offset the index of the first quantity to convert.
+     * @param length the number of quantities to convert.
+     * @param unitIn the Unit in which the src quantities are represented.
+     * @param unitOut the desired Unit of the dst quantities.
+     * @param dst the array to write the converted quantities to.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public void convert(final double[] src, final int offset, final int length, final Unit unitIn, final Unit unitOut, final double[] dst) {
+        convert(UnitConverter.plan(unitIn, unitOut), src, offset, dst, offset, length);
+    }
+
+    /**
+     * Converts a range of quantities using a planned conversion, as per
+     * {@link UnitConversion#convert(double[], int, double[], int, int)}. The OverflowPolicy of this
+     * converter is applied instead of that of the conversion.
+     *
+     * @param conversion to apply.
+     * @param src the quantities to convert.
+     * @param srcOffset the index of the first quantity in src to convert.
+     * @param dst the array to write the converted quantities to.
+     * @param dstOffset the index in dst to write the first converted quantity to.
+     * @param length the number of quantities to convert.
+     * @throws IndexOutOfBoundsException if either range is out of the bounds of its array.
+     * @throws ArithmeticException if the conversion overflows a double, and the policy is
+     * {@link OverflowPolicy#STRICT}.
+     */
+    public void convert(final UnitConversion conversion, final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+        final UnitConversion checkedConversion = conversion.withOverflowPolicy(overflowPolicy);
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+
+        if(length <= chunkSize) {
+            checkedConversion.convert(src, srcOffset, dst, dstOffset, length);
+            return;
+        }
+        if(ConversionMetrics.ENABLED) {
+            ConversionMetrics.record(checkedConversion, length);
+        }
+        if(src == dst && srcOffset != dstOffset && Math.abs(srcOffset - dstOffset) < length) {
+            System.arraycopy(src, srcOffset, dst, dstOffset, length);
+            pool.invoke(new ConvertTask(checkedConversion, dst, dstOffset, dst, dstOffset, length));
+        } else {
+            pool.invoke(new ConvertTask(checkedConversion, src, srcOffset, dst, dstOffset, length));
+        }
+    }
+
+    /** Splits its range in half until it is no larger than the chunk size. */
+    private final class ConvertTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient UnitConversion conversion;
+
+        private final double[] src;
+
+        private final int srcOffset;
+
+        private final double[] dst;
+
+        private final int dstOffset;
+
+        private final int length;
+
+        private ConvertTask(final UnitConversion conversion, final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            this.conversion = conversion;
+            this.src = src;
+            this.srcOffset = srcOffset;
+            this.dst = dst;
+            this.dstOffset = dstOffset;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute() {
+            if(length <= chunkSize) {
+                conversion.convertArray(src, srcOffset, dst, dstOffset, length);
+                return;
+            }
+            final int half = length >>> 1;
+            invokeAll(new ConvertTask(conversion, src, srcOffset, dst, dstOffset, half),
+                    new ConvertTask(conversion, src, srcOffset + half, dst, dstOffset + half, length - half));
+        }
+
+    }
+
+}
@@ -0,0 +1,452 @@
+package de.turnertech.measures;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+
+/**
+ * <p>A CompressedMeasureColumn is an append only column of quantities which all share the same
+ * {@link Unit}, compressed with the XOR encoding of Facebook's Gorilla time series database. It suits
+ * slowly varying readings, such as those of a sensor, where consecutive quantities share most of
+ * their bits. Each quantity is XORed with the previous one, and only the bits which differ are
+ * stored:</p>
+ *
+ * <ol>
+ * <li>The first quantity is stored as its 64 bits.</li>
+ * <li>A quantity equal to the previous one is stored as a single 0 bit.</li>
+ * <li>Otherwise "10" is stored if the differing bits fit within the window of the previous
+ * differing bits, followed by the bits of that window.</li>
+ * <li>Otherwise "11" is stored, followed by the number of leading zero bits in 5 bits, the number of
+ * differing bits less 1 in 6 bits, and then the differing bits, which become the new window.</li>
+ * </ol>
+ *
+ * <p>Quantities are decoded in order with a {@link Cursor}, which may convert them into another Unit
+ * as they are decoded, so that a scan never holds more than one block of uncompressed quantities.
+ * Quantities are stored bit for bit, including the sign of zeros and the payloads of NaNs.</p>
+ *
+ * <p>A column may be written to and read from a channel, see {@link #writeTo(WritableByteChannel)}.
+ * The format starts with a small header, followed by the compressed bits as little endian longs:</p>
+ *
+ * <ol>
+ * <li>4 bytes: magic number, the ASCII characters "MSRC"</li>
+ * <li>2 bytes: format version, currently 1</li>
+ * <li>2 bytes: length of the Unit symbol in bytes</li>
+ * <li>4 bytes: number of quantities</li>
+ * <li>8 bytes: number of compressed bits</li>
+ * <li>The UTF-8 encoded Unit symbol</li>
+ * </ol>
+ *
+ * <p>This class is not thread safe.</p>
+ */
+public class CompressedMeasureColumn {
+
+    /** The ASCII characters "MSRC", read as a little endian int. */
+    private static final int MAGIC = 0x4352534D;
+
+    private static final short VERSION = 1;
+
+    private static final int FIXED_HEADER_BYTES = 20;
+
+    /** Largest number of leading zeros which can be stored in 5 bits. */
+    private static final int MAX_LEADING_ZEROS = 31;
+
+    private final Unit unit;
+
+    private Unit lastUnit;
+
+    private UnitConversion lastConversion;
+
+    private long[] words;
+
+    private long bitCount;
+
+    private int size;
+
+    private long previous;
+
+    /** Leading and trailing zeros of the current window, or -1 if there is no window. */
+    private int previousLeading = -1;
+
+    private int previousTrailing;
+
+    /**
+     * Constructs an empty column.
+     * @param unit The Unit of all quantities in this column. This is immutable.
+     */
+    public CompressedMeasureColumn(final Unit unit) {
+        this(unit, new long[16], 0, 0);
+    }
+
+    private CompressedMeasureColumn(final Unit unit, final long[] words, final long bitCount, final int size) {
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to CompressedMeasureColumn may not be null");
+        this.words = words;
+        this.bitCount = bitCount;
+        this.size = size;
+    }
+
+    /**
+     * Appends a quantity which is already represented in {@link #getUnit()}.
+     * @param quantity to append.
+     */
+    public void add(final double quantity) {
+        final long bits = Double.doubleToRawLongBits(quantity);
+        if(size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("CompressedMeasureColumn is full.");
+        }
+        if(size == 0) {
+            writeBits(bits, Long.SIZE);
+        } else {
+            final long xor = bits ^ previous;
+            if(xor == 0) {
+                writeBits(0, 1);
+            } else {
+                final int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+                final int trailing = Long.numberOfTrailingZeros(xor);
+                if(previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    writeBits(0b10, 2);
+                    writeBits(xor >>> previousTrailing, Long.SIZE - previousLeading - previousTrailing);
+                } else {
+                    final int meaningful = Long.SIZE - leading - trailing;
+                    writeBits(0b11, 2);
+                    writeBits(leading, 5);
+                    writeBits(meaningful - 1, 6);
+                    writeBits(xor >>> trailing, meaningful);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+        }
+        previous = bits;
+        size++;
+    }
+
+    /**
+     * Appends a quantity of any Unit which can be converted to {@link #getUnit()}.
+     * @param quantity to append.
+     * @param unit of the quantity.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public void add(final double quantity, final Unit unit) {
+        if(unit != lastUnit) {
+            lastConversion = UnitConverter.plan(unit, this.unit);
+            lastUnit = unit;
+        }
+        add(lastConversion.applyAsDouble(quantity));
+    }
+
+    /**
+     * Appends every quantity of a MeasureArray.
+     * @param measures to append.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public void addAll(final MeasureArray measures) {
+        final UnitConversion conversion = UnitConverter.plan(measures.getUnit(), unit);
+        final double[] quantities = measures.array();
+        final int offset = measures.arrayOffset();
+        for(int i = 0; i < measures.size(); ++i) {
+            add(conversion.applyAsDouble(quantities[offset + i]));
+        }
+    }
+
+    /** Appends the lowest bits of a value, most significant bit first. */
+    private void writeBits(final long value, final int bits) {
+        final int index = (int) (bitCount >>> 6);
+        if(index + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        final long masked = value & mask(bits);
+        final int free = Long.SIZE - (int) (bitCount & 63);
+        if(bits <= free) {
+            words[index] |= masked << (free - bits);
+        } else {
+            words[index] |= masked >>> (bits - free);
+            words[index + 1] = masked << (Long.SIZE - (bits - free));
+        }
+        bitCount += bits;
+    }
+
+    private static long mask(final int bits) {
+        return bits == Long.SIZE ? -1L : (1L << bits) - 1;
+    }
+
+    /**
+     * Gets the Unit of all quantities in this column.
+     * @return the Unit of all quantities in this column.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the number of quantities in this column.
+     * @return the number of quantities in this column.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the size of the compressed quantities, excluding any spare capacity.
+     * @return the number of bytes needed to store the compressed bits.
+     */
+    public long getCompressedBytes() {
+        return (bitCount + 7) / 8;
+    }
+
+    /**
+     * Creates a cursor over the quantities currently in this column.
+     * @return a new Cursor, positioned before the first quantity.
+     */
+    public Cursor cursor() {
+        return new Cursor(null);
+    }
+
+    /**
+     * Creates a cursor over the quantities currently in this column, which converts them into the
+     * supplied Unit as they are decoded.
+     *
+     * @param unitOut the Unit which quantities are read in.
+     * @return a new Cursor, positioned before the first quantity.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public Cursor cursor(final Unit unitOut) {
+        return new Cursor(UnitConverter.plan(unit, unitOut));
+    }
+
+    /**
+     * Decodes every quantity in order, passing each to the action.
+     * @param action to perform on each quantity.
+     */
+    public void forEach(final DoubleConsumer action) {
+        final Cursor cursor = cursor();
+        while(cursor.hasNext()) {
+            action.accept(cursor.nextDouble());
+        }
+    }
+
+    /**
+     * Decodes the column into a MeasureArray.
+     * @return a new MeasureArray containing every quantity in this column.
+     */
+    public MeasureArray toMeasureArray() {
+        return toMeasureArray(unit);
+    }
+
+    /**
+     * Decodes the column into a MeasureArray of another Unit.
+     * @param unitOut the Unit of the returned MeasureArray.
+     * @return a new MeasureArray containing every quantity in this column, converted to unitOut.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public MeasureArray toMeasureArray(final Unit unitOut) {
+        final double[] quantities = new double[size];
+        cursor(unitOut).read(quantities, 0, size);
+        return new MeasureArray(unitOut, quantities);
+    }
+
+    /**
+     * Writes this column to a channel, in the format described by this class.
+     * @param channel to write to. Must be in blocking mode.
+     * @throws IOException if writing fails.
+     */
+    public void writeTo(final WritableByteChannel channel) throws IOException {
+        final byte[] symbol = unit.toString().getBytes(StandardCharsets.UTF_8);
+        if(symbol.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Unit symbol is too long to be stored.");
+        }
+        final int wordCount = (int) ((bitCount + 63) >>> 6);
+        final ByteBuffer buffer = ByteBuffer.allocate(FIXED_HEADER_BYTES + symbol.length + wordCount * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) symbol.length).putInt(size).putLong(bitCount).put(symbol);
+        buffer.asLongBuffer().put(words, 0, wordCount);
+        buffer.rewind();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads a column written by {@link #writeTo(WritableByteChannel)}, resolving its Unit symbol
+     * using the {@link UnitRegistry}.
+     *
+     * @param channel to read from. Must be in blocking mode.
+     * @return a new column, which may be appended to.
+     * @throws IOException if reading fails, the input is not a column, or its Unit is not registered.
+     */
+    public static CompressedMeasureColumn readFrom(final ReadableByteChannel channel) throws IOException {
+        return readFrom(channel, UnitRegistry::getUnit);
+    }
+
+    /**
+     * Reads a column written by {@link #writeTo(WritableByteChannel)}, which must be of the supplied Unit.
+     * @param channel to read from. Must be in blocking mode.
+     * @param unit the Unit which the column is expected to be in.
+     * @return a new column, which may be appended to.
+     * @throws IOException if reading fails, the input is not a column, or it is of a different Unit.
+     */
+    public static CompressedMeasureColumn readFrom(final ReadableByteChannel channel, final Unit unit) throws IOException {
+        Objects.requireNonNull(unit, "Unit instance provided to CompressedMeasureColumn may not be null");
+        return readFrom(channel, (storedSymbol) -> storedSymbol.equals(unit.toString()) ? unit : null);
+    }
+
+    private static CompressedMeasureColumn readFrom(final ReadableByteChannel channel, final Function<String, Unit> unitResolver) throws IOException {
+        final ByteBuffer header = readFully(channel, FIXED_HEADER_BYTES);
+        if(header.getInt(0) != MAGIC || header.getShort(4) != VERSION) {
+            throw new IOException("Input is not a CompressedMeasureColumn.");
+        }
+        final int symbolLength = header.getShort(6);
+        final int size = header.getInt(8);
+        final long bitCount = header.getLong(12);
+        if(symbolLength < 0 || size < 0 || bitCount < 0 || (bitCount + 63) >>> 6 > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IOException("CompressedMeasureColumn header is corrupt.");
+        }
+        final String storedSymbol = new String(readFully(channel, symbolLength).array(), StandardCharsets.UTF_8);
+        final Unit unit = unitResolver.apply(storedSymbol);
+        if(unit == null) {
+            throw new IOException("Input contains quantities of " + storedSymbol + ", which is not the expected Unit.");
+        }
+        final int wordCount = (int) ((bitCount + 63) >>> 6);
+        final long[] words = new long[Math.max(16, wordCount + 1)];
+        readFully(channel, wordCount * Long.BYTES).asLongBuffer().get(words, 0, wordCount);
+
+        final CompressedMeasureColumn column = new CompressedMeasureColumn(unit, words, bitCount, size);
+        // Restore the state needed to continue appending.
+        final Cursor cursor = column.cursor();
+        try {
+            while(cursor.hasNext()) {
+                cursor.nextDouble();
+            }
+        } catch(IndexOutOfBoundsException e) {
+            throw new IOException("CompressedMeasureColumn is corrupt, its quantities overrun the compressed bits.", e);
+        }
+        if(cursor.position != bitCount) {
+            throw new IOException("CompressedMeasureColumn is corrupt, its quantities do not fill the compressed bits.");
+        }
+        column.previous = cursor.previous;
+        column.previousLeading = cursor.leading;
+        column.previousTrailing = cursor.trailing;
+        return column;
+    }
+
+    private static ByteBuffer readFully(final ReadableByteChannel channel, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer) < 0) {
+                throw new EOFException("CompressedMeasureColumn input ended early.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * <p>Decodes the quantities of a column in order. A Cursor only covers the quantities in the
+     * column when it was created. This class is not thread safe.</p>
+     */
+    public final class Cursor {
+
+        private final UnitConversion conversion;
+
+        private final long[] words;
+
+        private final int count;
+
+        private int read;
+
+        private long position;
+
+        private long previous;
+
+        private int leading = -1;
+
+        private int trailing;
+
+        private Cursor(final UnitConversion conversion) {
+            this.conversion = conversion;
+            this.words = CompressedMeasureColumn.this.words;
+            this.count = size;
+        }
+
+        /**
+         * Checks if there are more quantities.
+         * @return true if there are more quantities.
+         */
+        public boolean hasNext() {
+            return read < count;
+        }
+
+        /**
+         * Decodes the next quantity.
+         * @return the next quantity, converted if this Cursor was created with a Unit.
+         * @throws NoSuchElementException if there are no more quantities.
+         */
+        public double nextDouble() {
+            if(read == count) {
+                throw new NoSuchElementException();
+            }
+            final double quantity = decode();
+            return conversion == null ? quantity : conversion.applyAsDouble(quantity);
+        }
+
+        /**
+         * Decodes up to length quantities into an array, converting them in bulk if this Cursor was
+         * created with a Unit.
+         *
+         * @param dst the array to decode into.
+         * @param dstOffset the index in dst of the first quantity.
+         * @param length the maximum number of quantities to decode.
+         * @return the number of quantities decoded, or -1 if there are no more quantities.
+         * @throws IndexOutOfBoundsException if the range is not within dst.
+         */
+        public int read(final double[] dst, final int dstOffset, final int length) {
+            Objects.checkFromIndexSize(dstOffset, length, dst.length);
+            if(read == count && length > 0) {
+                return -1;
+            }
+            final int total = Math.min(length, count - read);
+            for(int i = 0; i < total; ++i) {
+                dst[dstOffset + i] = decode();
+            }
+            if(conversion != null) {
+                conversion.convert(dst, dstOffset, dst, dstOffset, total);
+            }
+            return total;
+        }
+
+        private double decode() {
+            if(read == 0) {
+                previous = readBits(Long.SIZE);
+            } else if(readBits(1) != 0) {
+                if(readBits(1) != 0) {
+                    leading = (int) readBits(5);
+                    final int meaningful = (int) readBits(6) + 1;
+                    trailing = Long.SIZE - leading - meaningful;
+                }
+                previous ^= readBits(Long.SIZE - leading - trailing) << trailing;
+            }
+            read++;
+            return Double.longBitsToDouble(previous);
+        }
+
+        private long readBits(final int bits) {
+            final int index = (int) (position >>> 6);
+            final int free = Long.SIZE - (int) (position & 63);
+            position += bits;
+            if(bits <= free) {
+                return (words[index] >>> (free - bits)) & mask(bits);
+            }
+            final int rest = bits - free;
+            return ((words[index] & mask(free)) << rest) | (words[index + 1] >>> (Long.SIZE - rest));
+        }
+
+    }
+
+}
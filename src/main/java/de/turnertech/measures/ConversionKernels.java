@@ -0,0 +1,45 @@
+package de.turnertech.measures;
+
+/**
+ * <p>The bulk loops used by the affine {@link UnitConversion} implementations. Two implementations
+ * exist, one using plain loops, and one using the incubating Vector API, which is only used if the
+ * jdk.incubator.vector module is present at runtime, for example when started with
+ * {@code --add-modules jdk.incubator.vector}. Setting the system property
+ * {@code de.turnertech.measures.vector} to false forces the plain loops.</p>
+ *
+ * <p>Both implementations perform exactly the same IEEE-754 operations per quantity, a
+ * multiplication or division, optionally followed by an addition, and never fuse them. Their results
+ * are therefore bit identical to each other and to {@link UnitConversion#applyAsDouble(double)}.
+ * The kernels never check for overflow, which is left to a single pass over the output by the
+ * {@link OverflowPolicy} of the conversion.</p>
+ */
+interface ConversionKernels {
+
+    /** The kernels used by all conversions in this JVM. */
+    ConversionKernels INSTANCE = load();
+
+    void multiply(double[] src, int srcOffset, double[] dst, int dstOffset, int length, double scalar);
+
+    void divide(double[] src, int srcOffset, double[] dst, int dstOffset, int length, double divisor);
+
+    void multiplyAdd(double[] src, int srcOffset, double[] dst, int dstOffset, int length, double scalar, double offset);
+
+    void divideAdd(double[] src, int srcOffset, double[] dst, int dstOffset, int length, double divisor, double offset);
+
+    /** True if these kernels use the Vector API. */
+    boolean isVectorised();
+
+    private static ConversionKernels load() {
+        if(Boolean.parseBoolean(System.getProperty("de.turnertech.measures.vector", "true"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively, so that nothing references the Vector API when it is absent.
+                return (ConversionKernels) Class.forName("de.turnertech.measures.VectorConversionKernels").getDeclaredConstructor().newInstance();
+            } catch(ReflectiveOperationException | LinkageError e) {
+                return new ScalarConversionKernels();
+            }
+        }
+        return new ScalarConversionKernels();
+    }
+
+}
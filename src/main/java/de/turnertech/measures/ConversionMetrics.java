@@ -0,0 +1,269 @@
+package de.turnertech.measures;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>Counts the conversions made by the {@link UnitConverter}, by the path through its priority
+ * chain and by pair of Units, along with the number of plans created and the number of unsupported
+ * conversions requested. This shows which Units dominate, and how often the more expensive
+ * conversions via base units or chains are used.</p>
+ *
+ * <p>Metrics are disabled by default. They are enabled by starting the JVM with the system property
+ * {@code de.turnertech.measures.metrics} set to true, and cannot be switched on or off afterwards.
+ * This allows every check of {@link #ENABLED} to be removed by the JIT compiler when they are
+ * disabled, so they cost nothing. When enabled, the counters are {@link LongAdder}s, which are
+ * striped across threads. The counter of each pair of Units is looked up by the symbols of the Units
+ * when a {@link UnitConversion} first counts, and is then held by the conversion, so later counting
+ * does not need any lookups. Keying by symbol means that the metrics do not keep any Unit
+ * reachable.</p>
+ *
+ * <p>Conversions are counted by the static methods of the UnitConverter, by the bulk and Measure
+ * returning methods of UnitConversion, and by the {@link BatchConverter}. Calls to
+ * {@link UnitConversion#applyAsDouble(double)} on a plan held by the caller are not counted, as this
+ * is the path which must be as fast as possible. Each quantity converted counts as one conversion.</p>
+ *
+ * <p>When enabled, the metrics are also registered as a platform MXBean named {@value #OBJECT_NAME},
+ * see {@link ConversionMetricsMXBean}.</p>
+ */
+public final class ConversionMetrics {
+
+    /** True if metrics are being counted. Constant for the lifetime of the JVM. */
+    public static final boolean ENABLED = Boolean.getBoolean("de.turnertech.measures.metrics");
+
+    /** The ObjectName which the MXBean is registered with. */
+    public static final String OBJECT_NAME = "de.turnertech.measures:type=ConversionMetrics";
+
+    /** The path taken through the {@link UnitConverter} priority chain by a conversion. */
+    public enum Path {
+        /** Conversions between a Unit and itself. */
+        IDENTITY,
+        /** Conversions using a function registered with the UnitConverter. */
+        FUNCTION,
+        /** Conversions using a scalar registered with the UnitConverter. */
+        SCALAR,
+        /** Conversions dividing by a scalar registered with the UnitConverter for the opposite direction. */
+        DIVISOR,
+        /** Conversions via the base unit, combined into a single multiplication or division and an addition. */
+        AFFINE,
+        /** Conversions via the base unit using the conversion functions of both Units. */
+        BASE_UNIT,
+        /** Conversions through a chain of other Units. */
+        CHAIN
+    }
+
+    private static final LongAdder[] pathCounters = new LongAdder[Path.values().length];
+
+    /** Keyed as "in -> out", as reported by {@link Snapshot#getPairCounts()}. */
+    private static final Map<String, LongAdder> pairCounters = new ConcurrentHashMap<>();
+
+    private static final LongAdder plans = new LongAdder();
+
+    private static final LongAdder unsupported = new LongAdder();
+
+    static {
+        for(int i = 0; i < pathCounters.length; ++i) {
+            pathCounters[i] = new LongAdder();
+        }
+        if(ENABLED) {
+            registerMXBean();
+        }
+    }
+
+    private ConversionMetrics() {
+
+    }
+
+    /** Counts quantities converted by a conversion. Callers check {@link #ENABLED} first. */
+    static void record(final UnitConversion conversion, final long quantities) {
+        pathCounters[conversion.path().ordinal()].add(quantities);
+        LongAdder pairCounter = conversion.pairCounter;
+        if(pairCounter == null) {
+            pairCounter = pairCounters.computeIfAbsent(conversion.getUnitIn() + " -> " + conversion.getUnitOut(), key -> new LongAdder());
+            conversion.pairCounter = pairCounter;
+        }
+        pairCounter.add(quantities);
+    }
+
+    static void recordPlan() {
+        plans.increment();
+    }
+
+    static void recordUnsupported() {
+        unsupported.increment();
+    }
+
+    /**
+     * Takes a snapshot of the current counts. The counters are read one at a time while conversions
+     * continue, so the snapshot may not be consistent between counters.
+     *
+     * @return a new Snapshot, which is empty if metrics are disabled.
+     */
+    public static Snapshot snapshot() {
+        final EnumMap<Path, Long> paths = new EnumMap<>(Path.class);
+        for(final Path path : Path.values()) {
+            paths.put(path, pathCounters[path.ordinal()].sum());
+        }
+        final LinkedHashMap<String, Long> pairs = new LinkedHashMap<>();
+        for(final Map.Entry<String, LongAdder> entry : pairCounters.entrySet()) {
+            final long count = entry.getValue().sum();
+            if(count > 0) {
+                pairs.put(entry.getKey(), count);
+            }
+        }
+        return new Snapshot(paths, pairs, plans.sum(), unsupported.sum());
+    }
+
+    /**
+     * Resets every counter to 0. Conversions made while resetting may or may not be counted.
+     */
+    public static void reset() {
+        for(final LongAdder counter : pathCounters) {
+            counter.reset();
+        }
+        for(final LongAdder counter : pairCounters.values()) {
+            counter.reset();
+        }
+        plans.reset();
+        unsupported.reset();
+    }
+
+    private static void registerMXBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if(!server.isRegistered(name)) {
+                server.registerMBean(new MXBean(), name);
+            }
+        } catch(JMException e) {
+            // Metrics are still available from snapshot() without JMX.
+        }
+    }
+
+    /** An immutable copy of the counts at a point in time. */
+    public static final class Snapshot {
+
+        private final Map<Path, Long> pathCounts;
+
+        private final Map<String, Long> pairCounts;
+
+        private final long plans;
+
+        private final long unsupported;
+
+        private Snapshot(final Map<Path, Long> pathCounts, final Map<String, Long> pairCounts, final long plans, final long unsupported) {
+            this.pathCounts = Collections.unmodifiableMap(pathCounts);
+            this.pairCounts = Collections.unmodifiableMap(pairCounts);
+            this.plans = plans;
+            this.unsupported = unsupported;
+        }
+
+        /**
+         * Gets the number of quantities converted using a path.
+         * @param path through the priority chain.
+         * @return the number of quantities converted.
+         */
+        public long getCount(final Path path) {
+            return pathCounts.get(path);
+        }
+
+        /**
+         * Gets the number of quantities converted using every path.
+         * @return the number of quantities converted.
+         */
+        public long getTotalCount() {
+            long total = 0;
+            for(final long count : pathCounts.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Gets the number of quantities converted using each path.
+         * @return an unmodifiable map of every path to its count.
+         */
+        public Map<Path, Long> getPathCounts() {
+            return pathCounts;
+        }
+
+        /**
+         * Gets the number of quantities converted between each pair of Units, keyed as "in -> out".
+         * @return an unmodifiable map of the pairs which have converted any quantities.
+         */
+        public Map<String, Long> getPairCounts() {
+            return pairCounts;
+        }
+
+        /**
+         * Gets the number of conversions planned, which is the number of times a cached plan was
+         * missing or invalidated.
+         * @return the number of conversions planned.
+         */
+        public long getPlans() {
+            return plans;
+        }
+
+        /**
+         * Gets the number of requested conversions which were not supported.
+         * @return the number of UnsupportedOperationExceptions thrown when planning.
+         */
+        public long getUnsupported() {
+            return unsupported;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{paths=" + pathCounts + ", pairs=" + pairCounts + ", plans=" + plans + ", unsupported=" + unsupported + "}";
+        }
+
+    }
+
+    private static final class MXBean implements ConversionMetricsMXBean {
+
+        @Override
+        public long getTotalCount() {
+            return snapshot().getTotalCount();
+        }
+
+        @Override
+        public Map<String, Long> getPathCounts() {
+            final LinkedHashMap<String, Long> counts = new LinkedHashMap<>();
+            for(final Map.Entry<Path, Long> entry : snapshot().getPathCounts().entrySet()) {
+                counts.put(entry.getKey().name(), entry.getValue());
+            }
+            return counts;
+        }
+
+        @Override
+        public Map<String, Long> getPairCounts() {
+            return snapshot().getPairCounts();
+        }
+
+        @Override
+        public long getPlans() {
+            return plans.sum();
+        }
+
+        @Override
+        public long getUnsupported() {
+            return unsupported.sum();
+        }
+
+        @Override
+        public void reset() {
+            ConversionMetrics.reset();
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package de.turnertech.measures;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link ConversionMetrics}, registered with the platform MBean
+ * server when metrics are enabled.
+ */
+public interface ConversionMetricsMXBean {
+
+    /**
+     * Gets the number of quantities converted.
+     * @return the number of quantities converted.
+     * @see ConversionMetrics.Snapshot#getTotalCount()
+     */
+    long getTotalCount();
+
+    /**
+     * Gets the number of quantities converted using each path, keyed by the name of the path.
+     * @return the counts of each {@link ConversionMetrics.Path}.
+     */
+    Map<String, Long> getPathCounts();
+
+    /**
+     * Gets the number of quantities converted between each pair of Units, keyed as "in -> out".
+     * @return the counts of each pair of Units.
+     */
+    Map<String, Long> getPairCounts();
+
+    /**
+     * Gets the number of conversions planned.
+     * @return the number of conversions planned.
+     */
+    long getPlans();
+
+    /**
+     * Gets the number of requested conversions which were not supported.
+     * @return the number of unsupported conversions.
+     */
+    long getUnsupported();
+
+    /**
+     * Resets every counter to 0.
+     */
+    void reset();
+
+}
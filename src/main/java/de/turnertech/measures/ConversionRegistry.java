@@ -0,0 +1,80 @@
+package de.turnertech.measures;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * <p>An immutable snapshot of the scalars and functions registered with the {@link UnitConverter}.
+ * Registering a conversion creates a new snapshot with an incremented generation, which is then
+ * published by the {@link UnitConverter}. Readers therefore never need to lock, and a reader always
+ * sees a complete and consistent set of conversions.</p>
+ *
+ * <p>The generation is stored in every {@link UnitConversion} planned from a snapshot, so that
+ * cached plans can be recognised as stale once a newer snapshot is published.</p>
+ */
+final class ConversionRegistry {
+
+    private final Map<AbstractMap.SimpleImmutableEntry<Unit, Unit>, Double> scalarMap;
+
+    private final Map<AbstractMap.SimpleImmutableEntry<Unit, Unit>, DoubleUnaryOperator> functionMap;
+
+    /** Every Unit which has a scalar or function registered to or from it, in registration order. */
+    private final Set<Unit> units;
+
+    private final int generation;
+
+    ConversionRegistry() {
+        this(Collections.emptyMap(), Collections.emptyMap(), Collections.emptySet(), 0);
+    }
+
+    private ConversionRegistry(final Map<AbstractMap.SimpleImmutableEntry<Unit, Unit>, Double> scalarMap, final Map<AbstractMap.SimpleImmutableEntry<Unit, Unit>, DoubleUnaryOperator> functionMap, final Set<Unit> units, final int generation) {
+        this.scalarMap = scalarMap;
+        this.functionMap = functionMap;
+        this.units = units;
+        this.generation = generation;
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    Set<Unit> getUnits() {
+        return units;
+    }
+
+    Double getScalar(final Unit unitIn, final Unit unitOut) {
+        return scalarMap.get(new AbstractMap.SimpleImmutableEntry<>(unitIn, unitOut));
+    }
+
+    DoubleUnaryOperator getFunction(final Unit unitIn, final Unit unitOut) {
+        return functionMap.get(new AbstractMap.SimpleImmutableEntry<>(unitIn, unitOut));
+    }
+
+    ConversionRegistry withScalar(final Unit unitIn, final Unit unitOut, final double scalar) {
+        final HashMap<AbstractMap.SimpleImmutableEntry<Unit, Unit>, Double> newScalarMap = new HashMap<>(scalarMap);
+        newScalarMap.put(new AbstractMap.SimpleImmutableEntry<>(unitIn, unitOut), scalar);
+        return new ConversionRegistry(Collections.unmodifiableMap(newScalarMap), functionMap, withUnits(unitIn, unitOut), generation + 1);
+    }
+
+    ConversionRegistry withFunction(final Unit unitIn, final Unit unitOut, final DoubleUnaryOperator function) {
+        final HashMap<AbstractMap.SimpleImmutableEntry<Unit, Unit>, DoubleUnaryOperator> newFunctionMap = new HashMap<>(functionMap);
+        newFunctionMap.put(new AbstractMap.SimpleImmutableEntry<>(unitIn, unitOut), function);
+        return new ConversionRegistry(scalarMap, Collections.unmodifiableMap(newFunctionMap), withUnits(unitIn, unitOut), generation + 1);
+    }
+
+    private Set<Unit> withUnits(final Unit unitIn, final Unit unitOut) {
+        if(units.contains(unitIn) && units.contains(unitOut)) {
+            return units;
+        }
+        final LinkedHashSet<Unit> newUnits = new LinkedHashSet<>(units);
+        newUnits.add(unitIn);
+        newUnits.add(unitOut);
+        return Collections.unmodifiableSet(newUnits);
+    }
+
+}
@@ -0,0 +1,246 @@
+package de.turnertech.measures;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * <p>A Dimension describes what a {@link Unit} measures, as a vector of integer exponents of base
+ * units. For example {@link Unit#METRE_PER_SECOND} has the Dimension m·s⁻¹, and every Unit of
+ * speed shares it. Units can only be converted between if they share a Dimension.</p>
+ *
+ * <p>Every Unit constructed without a base unit starts a new base Dimension, with an exponent of 1
+ * for itself. The vector is stored sparsely, ordered by the index given to each base unit when it is
+ * first combined with another, so that Dimensions of any number of base units can be compared cheaply. Instances are
+ * immutable.</p>
+ */
+public final class Dimension {
+
+    /** Index given to the next base unit which needs one, which defines the order of terms. */
+    private static final AtomicInteger nextBaseIndex = new AtomicInteger();
+
+    private static final AtomicIntegerFieldUpdater<Unit> BASE_INDEX = AtomicIntegerFieldUpdater.newUpdater(Unit.class, "baseIndex");
+
+    /** The Dimension of dimensionless quantities, such as the ratio of two lengths. */
+    public static final Dimension NONE = new Dimension(new Unit[0], new int[0]);
+
+    /** Base units with a non-zero exponent, ordered by their base index. */
+    private final Unit[] bases;
+
+    private final int[] exponents;
+
+    private final int hash;
+
+    private Dimension(final Unit[] bases, final int[] exponents) {
+        this.bases = bases;
+        this.exponents = exponents;
+        int hash = 7;
+        for(int i = 0; i < bases.length; ++i) {
+            hash = 61 * hash + System.identityHashCode(bases[i]);
+            hash = 61 * hash + exponents[i];
+        }
+        this.hash = hash;
+    }
+
+    /**
+     * Gets the index of a base unit, giving it the next index when it is first needed. Indices are
+     * given when a base unit is interned or first combined with another Unit, rather than when it is
+     * constructed, so throwaway base units do not use them up.
+     */
+    static int baseIndex(final Unit baseUnit) {
+        final int index = baseUnit.baseIndex;
+        if(index >= 0) {
+            return index;
+        }
+        BASE_INDEX.compareAndSet(baseUnit, -1, nextBaseIndex.getAndIncrement());
+        return baseUnit.baseIndex;
+    }
+
+    static Dimension base(final Unit baseUnit) {
+        return new Dimension(new Unit[] {baseUnit}, new int[] {1});
+    }
+
+    /**
+     * Gets the exponent of a base unit in this Dimension.
+     * @param baseUnit the base unit.
+     * @return the exponent, which is 0 if the base unit is not part of this Dimension.
+     */
+    public int getExponent(final Unit baseUnit) {
+        for(int i = 0; i < bases.length; ++i) {
+            if(bases[i] == baseUnit) {
+                return exponents[i];
+            }
+        }
+        return 0;
+    }
+
+    /** Gets the base unit if this is the Dimension of a single base unit, otherwise null. */
+    Unit getBaseUnit() {
+        return bases.length == 1 && exponents[0] == 1 ? bases[0] : null;
+    }
+
+    /**
+     * Checks if this Dimension has no base units, as per {@link #NONE}.
+     * @return true if this Dimension is dimensionless.
+     */
+    public boolean isDimensionless() {
+        return bases.length == 0;
+    }
+
+    /**
+     * Gets the Dimension of the product of quantities of this and another Dimension.
+     * @param other to multiply by.
+     * @return the product of both Dimensions.
+     */
+    public Dimension multiply(final Dimension other) {
+        return combine(other, 1);
+    }
+
+    /**
+     * Gets the Dimension of the quotient of quantities of this and another Dimension.
+     * @param other to divide by.
+     * @return the quotient of both Dimensions.
+     */
+    public Dimension divide(final Dimension other) {
+        return combine(other, -1);
+    }
+
+    /**
+     * Gets the Dimension of a quantity of this Dimension raised to a power.
+     * @param exponent the power.
+     * @return this Dimension raised to the power.
+     */
+    public Dimension pow(final int exponent) {
+        if(exponent == 0) {
+            return NONE;
+        }
+        final int[] newExponents = new int[exponents.length];
+        for(int i = 0; i < exponents.length; ++i) {
+            newExponents[i] = Math.multiplyExact(exponents[i], exponent);
+        }
+        return new Dimension(bases, newExponents);
+    }
+
+    /** Merges the sparse vectors of both Dimensions, multiplying the exponents of other by sign. */
+    private Dimension combine(final Dimension other, final int sign) {
+        final Unit[] newBases = new Unit[bases.length + other.bases.length];
+        final int[] newExponents = new int[newBases.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while(i < bases.length || j < other.bases.length) {
+            final int order = i == bases.length ? 1 : j == other.bases.length ? -1 : Integer.compare(baseIndex(bases[i]), baseIndex(other.bases[j]));
+            final Unit base;
+            final int exponent;
+            if(order < 0) {
+                base = bases[i];
+                exponent = exponents[i++];
+            } else if(order > 0) {
+                base = other.bases[j];
+                exponent = sign * other.exponents[j++];
+            } else {
+                base = bases[i];
+                exponent = Math.addExact(exponents[i++], sign * other.exponents[j++]);
+            }
+            if(exponent != 0) {
+                newBases[count] = base;
+                newExponents[count++] = exponent;
+            }
+        }
+        return count == 0 ? NONE : new Dimension(Arrays.copyOf(newBases, count), Arrays.copyOf(newExponents, count));
+    }
+
+    /**
+     * Builds a symbol for the coherent Unit of this Dimension from the symbols of its base units, for
+     * example "m/s²".
+     */
+    String symbol() {
+        if(bases.length == 1 && exponents[0] == 1) {
+            return bases[0].toString();
+        }
+        final StringBuilder numerator = new StringBuilder();
+        final StringBuilder denominator = new StringBuilder();
+        int denominatorTerms = 0;
+        for(int i = 0; i < bases.length; ++i) {
+            final StringBuilder term = exponents[i] > 0 ? numerator : denominator;
+            if(term.length() > 0) {
+                term.append('·');
+            }
+            term.append(bases[i].toString());
+            appendSuperscript(Math.abs(exponents[i]), term);
+            if(exponents[i] < 0) {
+                denominatorTerms++;
+            }
+        }
+        if(numerator.length() == 0) {
+            numerator.append('1');
+        }
+        if(denominatorTerms > 1) {
+            numerator.append("/(").append(denominator).append(')');
+        } else if(denominatorTerms == 1) {
+            numerator.append('/').append(denominator);
+        }
+        return numerator.toString();
+    }
+
+    static void appendSuperscript(final int exponent, final StringBuilder builder) {
+        if(exponent == 1) {
+            return;
+        }
+        if(exponent < 0) {
+            builder.append('⁻');
+        }
+        for(final char digit : Integer.toString(Math.abs(exponent)).toCharArray()) {
+            builder.append("⁰¹²³⁴⁵⁶⁷⁸⁹".charAt(digit - '0'));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final Dimension other = (Dimension) obj;
+        if (this.bases.length != other.bases.length || !Arrays.equals(this.exponents, other.exponents)) {
+            return false;
+        }
+        for(int i = 0; i < bases.length; ++i) {
+            if(this.bases[i] != other.bases[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Formatted with negative exponents, for example "m·s⁻¹".
+     * @return the Dimension as a string.
+     */
+    @Override
+    public String toString() {
+        if(bases.length == 0) {
+            return "1";
+        }
+        final StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < bases.length; ++i) {
+            if(i > 0) {
+                builder.append('·');
+            }
+            builder.append(bases[i].toString());
+            appendSuperscript(exponents[i], builder);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,208 @@
+package de.turnertech.measures;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * <p>An ExactConversion converts {@link BigDecimal} quantities from one {@link Unit} to another,
+ * rounding at most once, for outputs which must be exactly reproducible. Obtain instances using
+ * {@link UnitConverter#planExact(Unit, Unit)}, which follows the same priority chain as
+ * {@link UnitConverter#plan(Unit, Unit)}.</p>
+ *
+ * <p>Every step of the chain is an affine function with decimal coefficients, so a whole chain is
+ * combined into a single function {@code (quantity * multiplier + addend) / divisor}, which is
+ * precomputed when the conversion is planned. Where the divisor divides both other coefficients
+ * exactly, it is removed, so that for example converting from {@link Unit#FOOT} to {@link Unit#INCH}
+ * is an exact multiplication by 12. Otherwise the single division is the only rounding, and
+ * converting to {@link Unit#FOOT} and back returns the original quantity to the precision of the
+ * {@link MathContext} used.</p>
+ *
+ * <p>Affine Units are converted using their exact decimal definitions. Scales and offsets supplied
+ * as doubles are read as the shortest decimal which rounds to them, which is the decimal written in
+ * the source, so {@link Unit#FOOT} is exactly 0.3048 metres and 212 {@link Unit#DEGREES_FAHRENHEIT}
+ * is exactly 100 {@link Unit#DEGREES_CELSIUS}. The scales of prefixed and derived Units are the exact
+ * products of the Units they are made from. Registered scalars are read in the same way as scales,
+ * but a scale computed in double arithmetic, such as that of {@link Unit#RADIAN}, is only as exact as
+ * the double.</p>
+ *
+ * <p>Instances are immutable and may be shared between threads.</p>
+ */
+public final class ExactConversion {
+
+    private final Unit unitIn;
+
+    private final Unit unitOut;
+
+    /** The generation of the {@link ConversionRegistry} this conversion was planned from. */
+    final int generation;
+
+    private final BigDecimal multiplier;
+
+    private final BigDecimal addend;
+
+    /** Null if the conversion needs no division. */
+    private final BigDecimal divisor;
+
+    private final int cost;
+
+    private ExactConversion(final Unit unitIn, final Unit unitOut, final BigDecimal multiplier, final BigDecimal addend, final BigDecimal divisor, final int generation, final int cost) {
+        this.unitIn = unitIn;
+        this.unitOut = unitOut;
+        this.generation = generation;
+        this.cost = cost;
+        BigDecimal simplifiedMultiplier = multiplier;
+        BigDecimal simplifiedAddend = addend;
+        BigDecimal simplifiedDivisor = divisor;
+        if(divisor.compareTo(BigDecimal.ONE) == 0) {
+            simplifiedDivisor = null;
+        } else {
+            try {
+                simplifiedMultiplier = multiplier.divide(divisor);
+                simplifiedAddend = addend.divide(divisor);
+                simplifiedDivisor = null;
+            } catch(ArithmeticException e) {
+                // The quotient does not terminate, so the division is made when converting.
+            }
+        }
+        this.multiplier = simplifiedMultiplier.stripTrailingZeros();
+        this.addend = simplifiedAddend.stripTrailingZeros();
+        this.divisor = simplifiedDivisor == null ? null : simplifiedDivisor.stripTrailingZeros();
+    }
+
+    /** Constructs the entry cached for a pair of Units which cannot be converted exactly, see {@link #unsupported}. */
+    private ExactConversion(final Unit unitIn, final Unit unitOut, final int generation) {
+        this.unitIn = unitIn;
+        this.unitOut = unitOut;
+        this.generation = generation;
+        this.cost = Integer.MAX_VALUE;
+        this.multiplier = null;
+        this.addend = null;
+        this.divisor = null;
+    }
+
+    /**
+     * Converts a quantity, rounding the result to the supplied precision.
+     * @param quantity of the input Unit.
+     * @param mathContext the precision and rounding of the result.
+     * @return the quantity of the output Unit.
+     */
+    public BigDecimal convert(final BigDecimal quantity, final MathContext mathContext) {
+        final BigDecimal numerator = numerator(quantity);
+        return divisor == null ? numerator.round(mathContext) : numerator.divide(divisor, mathContext);
+    }
+
+    /**
+     * Converts a quantity, rounding the result to a number of decimal places, for example to the
+     * nearest thousandth of a kilometre for billing.
+     *
+     * @param quantity of the input Unit.
+     * @param scale the number of decimal places of the result.
+     * @param roundingMode how the result is rounded.
+     * @return the quantity of the output Unit.
+     */
+    public BigDecimal convert(final BigDecimal quantity, final int scale, final RoundingMode roundingMode) {
+        final BigDecimal numerator = numerator(quantity);
+        return divisor == null ? numerator.setScale(scale, roundingMode) : numerator.divide(divisor, scale, roundingMode);
+    }
+
+    /**
+     * Converts a quantity without any rounding.
+     * @param quantity of the input Unit.
+     * @return the exact quantity of the output Unit.
+     * @throws ArithmeticException if the exact result does not have a terminating decimal expansion.
+     */
+    public BigDecimal convert(final BigDecimal quantity) {
+        final BigDecimal numerator = numerator(quantity);
+        return divisor == null ? numerator : numerator.divide(divisor);
+    }
+
+    private BigDecimal numerator(final BigDecimal quantity) {
+        return quantity.multiply(multiplier).add(addend);
+    }
+
+    /**
+     * Checks if every conversion is exact, which is when the conversion needs no division.
+     * @return true if {@link #convert(BigDecimal)} never throws.
+     */
+    public boolean isTerminating() {
+        return divisor == null;
+    }
+
+    /**
+     * Gets the Unit in which quantities must be supplied.
+     * @return the input Unit.
+     */
+    public Unit getUnitIn() {
+        return unitIn;
+    }
+
+    /**
+     * Gets the Unit in which converted quantities are returned.
+     * @return the output Unit.
+     */
+    public Unit getUnitOut() {
+        return unitOut;
+    }
+
+    /** Checks if this is the entry cached for a pair of Units which cannot be converted exactly. */
+    boolean isUnsupported() {
+        return multiplier == null;
+    }
+
+    /** Relative cost of this conversion, as per {@link UnitConversion#cost()}. */
+    int cost() {
+        return cost;
+    }
+
+    /**
+     * Applies another conversion to the results of this one.
+     * @param next a conversion from the output Unit of this one.
+     * @return a single conversion combining both.
+     */
+    ExactConversion andThen(final ExactConversion next) {
+        final BigDecimal divisor = this.divisor == null ? BigDecimal.ONE : this.divisor;
+        final BigDecimal nextDivisor = next.divisor == null ? BigDecimal.ONE : next.divisor;
+        return new ExactConversion(unitIn, next.unitOut, multiplier.multiply(next.multiplier),
+                addend.multiply(next.multiplier).add(next.addend.multiply(divisor)), divisor.multiply(nextDivisor),
+                Math.min(generation, next.generation), cost + next.cost);
+    }
+
+    @Override
+    public String toString() {
+        return unitIn.toString() + " -> " + unitOut.toString();
+    }
+
+    /**
+     * Creates the entry cached by the {@link UnitConverter} for a pair of Units which cannot be
+     * converted exactly, so that the search for a chain is not repeated until the generation changes.
+     * It is never returned to callers.
+     */
+    static ExactConversion unsupported(final Unit unitIn, final Unit unitOut, final int generation) {
+        return new ExactConversion(unitIn, unitOut, generation);
+    }
+
+    static ExactConversion identity(final Unit unit, final int generation) {
+        return new ExactConversion(unit, unit, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, generation, 0);
+    }
+
+    static ExactConversion scalar(final Unit unitIn, final Unit unitOut, final double scalar, final int generation) {
+        return new ExactConversion(unitIn, unitOut, BigDecimal.valueOf(scalar), BigDecimal.ZERO, BigDecimal.ONE, generation, 1);
+    }
+
+    static ExactConversion divisor(final Unit unitIn, final Unit unitOut, final double divisor, final int generation) {
+        return new ExactConversion(unitIn, unitOut, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.valueOf(divisor), generation, 1);
+    }
+
+    /** Converts via the shared base unit of two affine Units, using their exact decimal definitions. */
+    static ExactConversion baseUnit(final Unit unitIn, final Unit unitOut, final int generation) {
+        final ExactConversion toBase = new ExactConversion(unitIn, unitIn.getBaseUnit(), unitIn.exactScaleNumerator,
+                unitIn.exactPreOffset.multiply(unitIn.exactScaleNumerator).add(unitIn.exactOffset.multiply(unitIn.exactScaleDenominator)),
+                unitIn.exactScaleDenominator, generation, 1);
+        final ExactConversion fromBase = new ExactConversion(unitOut.getBaseUnit(), unitOut, unitOut.exactScaleDenominator,
+                unitOut.exactOffset.multiply(unitOut.exactScaleDenominator).add(unitOut.exactPreOffset.multiply(unitOut.exactScaleNumerator)).negate(),
+                unitOut.exactScaleNumerator, generation, 1);
+        return toBase.andThen(fromBase);
+    }
+
+}
@@ -0,0 +1,270 @@
+package de.turnertech.measures;
+
+import java.util.Objects;
+
+/**
+ * <p>An ImmutableMeasure is a description of some quantity of a {@link Unit}, like a {@link Measure},
+ * but neither its quantity nor its Unit can be changed. Instances can therefore be safely shared and
+ * cached, and are compared by value. Code should not rely on the identity of instances.</p>
+ *
+ * <p>The arithmetic functions convert the right hand side to the Unit of this instance using a
+ * cached {@link UnitConversion}, and return a single new instance. Where the result is only needed
+ * as a number, the functions ending in "AsDouble" return a primitive and allocate nothing.</p>
+ */
+public final class ImmutableMeasure implements Comparable<ImmutableMeasure> {
+
+    private final double quantity;
+
+    private final Unit unit;
+
+    /**
+     * Constructs an instance with the provided parameters.
+     * @param quantity The quantity of Units in this Measure.
+     * @param unit The Unit of this Measure.
+     */
+    public ImmutableMeasure(final double quantity, final Unit unit) {
+        this.quantity = quantity;
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to ImmutableMeasure constructor may not be null");
+    }
+
+    /**
+     * Creates an ImmutableMeasure with the same quantity and Unit as the supplied Measure.
+     * @param measure to copy.
+     * @return a new ImmutableMeasure.
+     */
+    public static ImmutableMeasure of(final Measure measure) {
+        return new ImmutableMeasure(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Gets the quantity of Units stored in this Measure.
+     * @return the quantity of Units stored in this Measure.
+     */
+    public double getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Gets the Unit of this Measure.
+     * @return the Unit of this Measure.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Creates a mutable {@link Measure} with the same quantity and Unit.
+     * @return a new Measure.
+     */
+    public Measure toMeasure() {
+        return new Measure(quantity, unit);
+    }
+
+    /**
+     * Converts this Measure to the supplied newUnit.
+     * @param newUnit the Unit of the returned Measure.
+     * @return this instance if it is already in newUnit, otherwise a new instance.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public ImmutableMeasure convertTo(final Unit newUnit) {
+        if(newUnit == unit) {
+            return this;
+        }
+        return new ImmutableMeasure(UnitConverter.convertQuantity(quantity, unit, newUnit), newUnit);
+    }
+
+    /**
+     * Gets the quantity of this Measure in the supplied Unit, without creating a new Measure.
+     * @param unitOut the desired Unit of the returned quantity.
+     * @return the quantity of this Measure in unitOut.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public double getQuantity(final Unit unitOut) {
+        if(unitOut == unit) {
+            return quantity;
+        }
+        return UnitConverter.convertQuantity(quantity, unit, unitOut);
+    }
+
+    /**
+     * Adds another Measure to this one.
+     * @param other the Measure to add, which will be converted to the Unit of this Measure.
+     * @return a new Measure in the Unit of this Measure.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public ImmutableMeasure plus(final ImmutableMeasure other) {
+        return new ImmutableMeasure(quantity + other.getQuantity(unit), unit);
+    }
+
+    /**
+     * Subtracts another Measure from this one.
+     * @param other the Measure to subtract, which will be converted to the Unit of this Measure.
+     * @return a new Measure in the Unit of this Measure.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public ImmutableMeasure minus(final ImmutableMeasure other) {
+        return new ImmutableMeasure(quantity - other.getQuantity(unit), unit);
+    }
+
+    /**
+     * Multiplies this Measure by a scalar.
+     * @param scalar to multiply by.
+     * @return a new Measure in the Unit of this Measure.
+     */
+    public ImmutableMeasure times(final double scalar) {
+        return new ImmutableMeasure(quantity * scalar, unit);
+    }
+
+    /**
+     * Divides this Measure by a divisor.
+     * @param divisor to divide by.
+     * @return a new Measure in the Unit of this Measure.
+     */
+    public ImmutableMeasure dividedBy(final double divisor) {
+        return new ImmutableMeasure(quantity / divisor, unit);
+    }
+
+    /**
+     * Multiplies this Measure by another, for example a force by a distance. No conversion takes
+     * place, instead the result is in the product of both Units, see {@link Unit#multiply(Unit)}.
+     *
+     * @param other the Measure to multiply by.
+     * @return a new Measure in the product of both Units.
+     * @throws UnsupportedOperationException if either Unit cannot be combined with other Units.
+     */
+    public ImmutableMeasure times(final ImmutableMeasure other) {
+        return new ImmutableMeasure(quantity * other.quantity, unit.multiply(other.unit));
+    }
+
+    /**
+     * Divides this Measure by another, for example a distance by a time. No conversion takes place,
+     * instead the result is in the quotient of both Units, see {@link Unit#divide(Unit)}.
+     *
+     * @param other the Measure to divide by.
+     * @return a new Measure in the quotient of both Units.
+     * @throws UnsupportedOperationException if either Unit cannot be combined with other Units.
+     */
+    public ImmutableMeasure dividedBy(final ImmutableMeasure other) {
+        return new ImmutableMeasure(quantity / other.quantity, unit.divide(other.unit));
+    }
+
+    /**
+     * Adds another Measure to this one, returning only the resulting quantity.
+     * @param other the Measure to add.
+     * @param unitOut the desired Unit of the returned quantity.
+     * @return the sum of both Measures, as a quantity of unitOut.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public double plusAsDouble(final ImmutableMeasure other, final Unit unitOut) {
+        return getQuantity(unitOut) + other.getQuantity(unitOut);
+    }
+
+    /**
+     * Subtracts another Measure from this one, returning only the resulting quantity.
+     * @param other the Measure to subtract.
+     * @param unitOut the desired Unit of the returned quantity.
+     * @return the difference of both Measures, as a quantity of unitOut.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public double minusAsDouble(final ImmutableMeasure other, final Unit unitOut) {
+        return getQuantity(unitOut) - other.getQuantity(unitOut);
+    }
+
+    /**
+     * Gets the smaller of this and another Measure. No new Measure is created.
+     * @param other the Measure to compare with.
+     * @return this if it is smaller than or equal to other, otherwise other.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public ImmutableMeasure min(final ImmutableMeasure other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    /**
+     * Gets the larger of this and another Measure. No new Measure is created.
+     * @param other the Measure to compare with.
+     * @return this if it is larger than or equal to other, otherwise other.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public ImmutableMeasure max(final ImmutableMeasure other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    /**
+     * Compares this Measure with another, after converting both to their root base unit, as per
+     * {@link MeasureKey}. Quantities are compared as per {@link Double#compare(double, double)}.
+     * Converting both Measures to the same Unit, whichever is compared with which, means that the
+     * conversions round identically and {@code a.compareTo(b)} is always {@code -b.compareTo(a)} in
+     * sign. Where the root base units differ but a conversion between them is registered, both are
+     * converted to the root base unit with the lower symbol. Note that this ordering is inconsistent
+     * with equals, as 1 km and 1000 m compare as equal but are not equal.
+     *
+     * @param other the Measure to compare with.
+     * @return a negative number, zero or a positive number as this Measure is less than, equal to or
+     * greater than the other.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    @Override
+    public int compareTo(final ImmutableMeasure other) {
+        if(unit == other.unit) {
+            return Double.compare(quantity, other.quantity);
+        }
+        final Unit root = commonRootUnit(unit, other.unit);
+        return Double.compare(getQuantity(root), other.getQuantity(root));
+    }
+
+    /** Chooses the root base unit to compare two Measures in, independently of their order. */
+    private static Unit commonRootUnit(final Unit unit, final Unit otherUnit) {
+        final Unit root = MeasureKey.rootUnit(unit).getCanonicalUnit();
+        final Unit otherRoot = MeasureKey.rootUnit(otherUnit).getCanonicalUnit();
+        return root == otherRoot || root.toString().compareTo(otherRoot.toString()) <= 0 ? root : otherRoot;
+    }
+
+    /**
+     * Helper function for checking if the Measure is equal to within a supplied tolerance, as per
+     * {@link Measure#equalsWithTolerance(Measure, double)}.
+     *
+     * @param other Measure to check against.
+     * @param tolerance allowed difference between the numbers, in the Unit of this Measure.
+     * @return true or false.
+     */
+    public boolean equalsWithTolerance(final ImmutableMeasure other, final double tolerance) {
+        return Math.abs(quantity - other.getQuantity(unit)) <= tolerance;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 61 * hash + Double.hashCode(this.quantity);
+        hash = 61 * hash + Objects.hashCode(this.unit);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final ImmutableMeasure other = (ImmutableMeasure) obj;
+        if (Double.doubleToLongBits(this.quantity) != Double.doubleToLongBits(other.quantity)) {
+            return false;
+        }
+        return Objects.equals(this.unit, other.unit);
+    }
+
+    /**
+     * Formatted as per {@link Measure#toString()}.
+     * @return the Measure as a string formatted as per the SI Brochure section 5.3.3
+     */
+    @Override
+    public String toString() {
+        return Measure.toString(quantity, unit);
+    }
+
+}
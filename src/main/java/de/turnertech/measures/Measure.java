@@ -41,8 +41,8 @@ public class Measure {
      * @return true or false.
      */
     public boolean equalsWithTolerance(final Measure other, final double tolerance) {
-        final Measure otherInThisUnit = UnitConverter.convert(other.quantity, other.unit, unit);
-        final double difference = Math.abs(this.quantity - otherInThisUnit.quantity);
+        final double otherInThisUnit = UnitConverter.convertQuantity(other.quantity, other.unit, unit);
+        final double difference = Math.abs(this.quantity - otherInThisUnit);
         return difference <= tolerance;
     }
 
@@ -113,16 +113,19 @@ public class Measure {
     
     /**
      * We use the SI standard for the String representation. There is always a
-     * space between the quantity and unit, unless it is a planar angle.
+     * space between the quantity and unit, unless it is a planar angle. The 
+     * quantity is written with six digits after the decimal point, see 
+     * {@link MeasureFormat}.
      * @return the Measure as a string formatted as per the SI Brochure section 
      * 5.3.3
      */
     @Override
     public String toString() {
-        if(unit == Unit.DEGREE || unit == Unit.MINUTE_ANGLE || unit == Unit.SECOND_ANGLE) {
-            return String.format("%f%s", quantity, unit.toString());
-        }
-        return String.format("%f %s", quantity, unit.toString());
+        return toString(quantity, unit);
+    }
+
+    static String toString(final double quantity, final Unit unit) {
+        return MeasureFormat.DEFAULT.format(quantity, unit, new StringBuilder(24)).toString();
     }
 
 }
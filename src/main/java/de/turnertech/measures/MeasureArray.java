@@ -0,0 +1,287 @@
+package de.turnertech.measures;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * <p>A MeasureArray is a growable column of quantities which all share the same {@link Unit}. It
+ * stores the quantities in a primitive double array, so that large numbers of Measures do not need
+ * one {@link Measure} instance per quantity.</p>
+ *
+ * <p>Quantities may only be appended, never changed. This allows {@link #slice(int, int)} to return
+ * views of the column which share its storage without copying, and which remain valid as the column
+ * grows. A slice which is appended to first copies its quantities into its own storage.</p>
+ *
+ * <p>This class is not thread safe.</p>
+ */
+public class MeasureArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Unit unit;
+
+    private double[] quantities;
+
+    private int offset;
+
+    private int size;
+
+    /** True if this is a slice, and the quantities array is owned by another MeasureArray. */
+    private boolean shared;
+
+    /**
+     * Constructs an empty instance with the provided Unit.
+     * @param unit The Unit of all Measures in this MeasureArray. This is immutable.
+     */
+    public MeasureArray(final Unit unit) {
+        this(unit, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty instance with the provided Unit and initial capacity.
+     * @param unit The Unit of all Measures in this MeasureArray. This is immutable.
+     * @param initialCapacity the number of quantities which can be added before the storage must grow.
+     */
+    public MeasureArray(final Unit unit, final int initialCapacity) {
+        this(unit, new double[initialCapacity], 0, 0, false);
+    }
+
+    /**
+     * Constructs an instance with the provided Unit, containing a copy of the provided quantities.
+     * @param unit The Unit of all Measures in this MeasureArray. This is immutable.
+     * @param quantities the initial quantities, which are copied.
+     */
+    public MeasureArray(final Unit unit, final double... quantities) {
+        this(unit, quantities.clone(), 0, quantities.length, false);
+    }
+
+    private MeasureArray(final Unit unit, final double[] quantities, final int offset, final int size, final boolean shared) {
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to MeasureArray constructor may not be null");
+        this.quantities = quantities;
+        this.offset = offset;
+        this.size = size;
+        this.shared = shared;
+    }
+
+    /**
+     * Gets the Unit of all Measures in this MeasureArray.
+     * @return the Unit of all Measures in this MeasureArray.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the number of quantities in this MeasureArray.
+     * @return the number of quantities in this MeasureArray.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if this MeasureArray contains no quantities.
+     * @return true if this MeasureArray contains no quantities.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the quantity at the supplied index, in {@link #getUnit()}.
+     * @param index of the quantity.
+     * @return the quantity at the supplied index.
+     * @throws IndexOutOfBoundsException if the index is not within the size of this MeasureArray.
+     */
+    public double get(final int index) {
+        return quantities[offset + Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Gets the quantity at the supplied index as a new Measure instance.
+     * @param index of the quantity.
+     * @return a new Measure with the quantity at the supplied index.
+     * @throws IndexOutOfBoundsException if the index is not within the size of this MeasureArray.
+     */
+    public Measure getMeasure(final int index) {
+        return new Measure(get(index), unit);
+    }
+
+    /**
+     * Appends a quantity of {@link #getUnit()} to the end of this MeasureArray.
+     * @param quantity to append.
+     */
+    public void add(final double quantity) {
+        ensureCapacity(size + 1);
+        quantities[offset + size] = quantity;
+        size++;
+    }
+
+    /**
+     * Appends a Measure to the end of this MeasureArray, converting it to {@link #getUnit()}.
+     * @param measure to append.
+     * @throws UnsupportedOperationException if the Measure cannot be converted to {@link #getUnit()}.
+     */
+    public void add(final Measure measure) {
+        add(UnitConverter.convertQuantity(measure.getQuantity(), measure.getUnit(), unit));
+    }
+
+    /**
+     * Appends a range of quantities of the supplied Unit to the end of this MeasureArray, converting
+     * them to {@link #getUnit()} in a single pass.
+     *
+     * @param src the quantities to append.
+     * @param srcOffset the index of the first quantity in src to append.
+     * @param length the number of quantities to append.
+     * @param srcUnit the Unit in which the src quantities are represented.
+     * @throws UnsupportedOperationException if the quantities cannot be converted to {@link #getUnit()}.
+     */
+    public void addAll(final double[] src, final int srcOffset, final int length, final Unit srcUnit) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        final UnitConversion conversion = UnitConverter.plan(srcUnit, unit);
+        ensureCapacity(size + length);
+        conversion.convert(src, srcOffset, quantities, offset + size, length);
+        size += length;
+    }
+
+    /**
+     * Appends all quantities of another MeasureArray to the end of this MeasureArray, converting them
+     * to {@link #getUnit()} in a single pass.
+     *
+     * @param other the MeasureArray to append.
+     * @throws UnsupportedOperationException if the quantities cannot be converted to {@link #getUnit()}.
+     */
+    public void addAll(final MeasureArray other) {
+        addAll(other.quantities, other.offset, other.size, other.unit);
+    }
+
+    /**
+     * <p>Converts this MeasureArray to a new MeasureArray with the supplied newUnit. The conversion is
+     * planned once and applied to all quantities in a single pass, see
+     * {@link UnitConversion#convert(double[], int, double[], int, int)}.</p>
+     *
+     * @param newUnit to be used in the creation of the new MeasureArray.
+     * @return a new MeasureArray in the supplied Unit.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public MeasureArray convertTo(final Unit newUnit) {
+        final double[] converted = new double[size];
+        UnitConverter.plan(unit, newUnit).convert(quantities, offset, converted, 0, size);
+        return new MeasureArray(newUnit, converted, 0, size, false);
+    }
+
+    /**
+     * Gets a view of a range of this MeasureArray. The view shares the storage of this MeasureArray,
+     * so no quantities are copied.
+     *
+     * @param fromIndex the index of the first quantity in the view, inclusive.
+     * @param toIndex the index of the last quantity in the view, exclusive.
+     * @return a view of the range.
+     * @throws IndexOutOfBoundsException if the range is not within the size of this MeasureArray.
+     */
+    public MeasureArray slice(final int fromIndex, final int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        return new MeasureArray(unit, quantities, offset + fromIndex, toIndex - fromIndex, true);
+    }
+
+    /**
+     * Copies the quantities of this MeasureArray into a new array.
+     * @return a new array containing the quantities of this MeasureArray.
+     */
+    public double[] toArray() {
+        return Arrays.copyOfRange(quantities, offset, offset + size);
+    }
+
+    /**
+     * Copies the quantities of this MeasureArray into the supplied array.
+     * @param dst the array to copy into.
+     * @param dstOffset the index in dst to copy the first quantity to.
+     * @throws IndexOutOfBoundsException if dst is too small.
+     */
+    public void copyTo(final double[] dst, final int dstOffset) {
+        System.arraycopy(quantities, offset, dst, dstOffset, size);
+    }
+
+    /**
+     * Performs the supplied action for each quantity in this MeasureArray, in order.
+     * @param action to perform for each quantity.
+     */
+    public void forEach(final DoubleConsumer action) {
+        for(int i = offset; i < offset + size; ++i) {
+            action.accept(quantities[i]);
+        }
+    }
+
+    /**
+     * Gets a sequential stream of the quantities in this MeasureArray.
+     * @return a stream of the quantities in this MeasureArray.
+     */
+    public DoubleStream stream() {
+        return Arrays.stream(quantities, offset, offset + size);
+    }
+
+    /** The backing array, which must not be modified. The quantities start at {@link #arrayOffset()}. */
+    double[] array() {
+        return quantities;
+    }
+
+    int arrayOffset() {
+        return offset;
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if(minCapacity < 0) {
+            throw new OutOfMemoryError("MeasureArray capacity exceeded.");
+        }
+        // Shared storage is owned by another MeasureArray and may never be written to.
+        if(shared || offset + minCapacity > quantities.length) {
+            final int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+            quantities = Arrays.copyOfRange(quantities, offset, offset + newCapacity);
+            offset = 0;
+            shared = false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        for(int i = offset; i < offset + size; ++i) {
+            hash = 61 * hash + Double.hashCode(quantities[i]);
+        }
+        hash = 61 * hash + Objects.hashCode(this.unit);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final MeasureArray other = (MeasureArray) obj;
+        if (!Objects.equals(this.unit, other.unit)) {
+            return false;
+        }
+        return Arrays.equals(quantities, offset, offset + size, other.quantities, other.offset, other.offset + other.size);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < size; ++i) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+            builder.append(getMeasure(i).toString());
+        }
+        return builder.append(']').toString();
+    }
+
+}
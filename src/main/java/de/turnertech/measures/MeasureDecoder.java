@@ -0,0 +1,194 @@
+package de.turnertech.measures;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/**
+ * <p>Reads Measures written by a {@link MeasureEncoder}, either from a channel through an internal
+ * buffer, or directly from a caller supplied {@link ByteBuffer}.</p>
+ *
+ * <p>The decoder is a cursor, so that reading does not create any objects. {@link #next()} moves to
+ * the next Measure, whose quantity and Unit are then available from {@link #getQuantity()} and
+ * {@link #getUnit()}. Alternatively {@link #read(double[], int, int)} copies many quantities of the
+ * same Unit in bulk. Unit IDs are resolved using the {@link UnitRegistry}, which must contain the same
+ * Units as that of the encoder. This class is not thread safe.</p>
+ */
+public class MeasureDecoder implements Closeable {
+
+    private final ByteBuffer buffer;
+
+    private final ReadableByteChannel channel;
+
+    private Unit unit;
+
+    private int runRemaining;
+
+    private double quantity = Double.NaN;
+
+    /**
+     * Constructs a decoder which reads from the supplied channel, using a 64KB buffer.
+     * @param channel to read from. Must be in blocking mode.
+     */
+    public MeasureDecoder(final ReadableByteChannel channel) {
+        this(channel, MeasureEncoder.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a decoder which reads from the supplied channel, using a buffer of the supplied size.
+     * @param channel to read from. Must be in blocking mode.
+     * @param bufferSize in bytes. Must be large enough for a single Measure.
+     */
+    public MeasureDecoder(final ReadableByteChannel channel, final int bufferSize) {
+        if(bufferSize < MeasureEncoder.HEADER_BYTES + Double.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + (MeasureEncoder.HEADER_BYTES + Double.BYTES) + " bytes.");
+        }
+        this.channel = Objects.requireNonNull(channel);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.flip();
+    }
+
+    /**
+     * Constructs a decoder which reads directly from the remaining bytes of the supplied buffer. The
+     * byte order of the buffer is set to little endian.
+     *
+     * @param buffer to read from.
+     */
+    public MeasureDecoder(final ByteBuffer buffer) {
+        this.channel = null;
+        this.buffer = Objects.requireNonNull(buffer).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Moves to the next Measure.
+     * @return true if there was another Measure, false at the end of the input.
+     * @throws IOException if reading fails, or the input is truncated or corrupt.
+     */
+    public boolean next() throws IOException {
+        if(runRemaining == 0 && !readHeader()) {
+            return false;
+        }
+        if(!ensureRemaining(Double.BYTES)) {
+            throw new EOFException("Measure input ended within a run of " + unit + ".");
+        }
+        quantity = buffer.getDouble();
+        runRemaining--;
+        return true;
+    }
+
+    /**
+     * <p>Reads up to length quantities, which are all in the Unit returned by {@link #getUnit()}
+     * afterwards. Fewer quantities than requested are read when the Unit changes, so callers should
+     * check the Unit after every call.</p>
+     *
+     * @param dst the array to read into.
+     * @param dstOffset the index in dst of the first quantity.
+     * @param length the maximum number of quantities to read.
+     * @return the number of quantities read, or -1 at the end of the input.
+     * @throws IOException if reading fails, or the input is truncated or corrupt.
+     * @throws IndexOutOfBoundsException if the range is not within dst.
+     */
+    public int read(final double[] dst, final int dstOffset, final int length) throws IOException {
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        if(length == 0) {
+            return 0;
+        }
+        if(runRemaining == 0 && !readHeader()) {
+            return -1;
+        }
+        final int total = Math.min(length, runRemaining);
+        int copied = 0;
+        while(copied < total) {
+            if(!ensureRemaining(Double.BYTES)) {
+                throw new EOFException("Measure input ended within a run of " + unit + ".");
+            }
+            final int count = Math.min(total - copied, buffer.remaining() / Double.BYTES);
+            buffer.asDoubleBuffer().get(dst, dstOffset + copied, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            copied += count;
+        }
+        runRemaining -= total;
+        quantity = dst[dstOffset + total - 1];
+        return total;
+    }
+
+    /**
+     * Gets the quantity of the current Measure, which is the last quantity read.
+     * @return the quantity of the current Measure, or NaN if nothing has been read.
+     */
+    public double getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Gets the Unit of the current Measure.
+     * @return the Unit of the current Measure, or null if nothing has been read.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Creates a Measure from the current quantity and Unit.
+     * @return a new Measure.
+     * @throws IllegalStateException if nothing has been read.
+     */
+    public Measure getMeasure() {
+        if(unit == null) {
+            throw new IllegalStateException("No Measure has been read.");
+        }
+        return new Measure(quantity, unit);
+    }
+
+    /**
+     * Closes the channel if there is one.
+     * @throws IOException if closing the channel fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if(channel != null) {
+            channel.close();
+        }
+    }
+
+    private boolean readHeader() throws IOException {
+        if(!ensureRemaining(MeasureEncoder.HEADER_BYTES)) {
+            if(buffer.hasRemaining()) {
+                throw new EOFException("Measure input ended within a run header.");
+            }
+            return false;
+        }
+        final int id = Short.toUnsignedInt(buffer.getShort());
+        final int length = Short.toUnsignedInt(buffer.getShort());
+        if(length == 0) {
+            throw new IOException("Measure input contains an empty run, and is corrupt or was not flushed.");
+        }
+        if(id >= UnitRegistry.size()) {
+            throw new IOException("Measure input contains the unregistered Unit ID " + id + ".");
+        }
+        unit = UnitRegistry.getUnit(id);
+        runRemaining = length;
+        return true;
+    }
+
+    /** Reads from the channel until at least count bytes are buffered, returning false if the input ends first. */
+    private boolean ensureRemaining(final int count) throws IOException {
+        while(buffer.remaining() < count) {
+            if(channel == null) {
+                return false;
+            }
+            buffer.compact();
+            final int read = channel.read(buffer);
+            buffer.flip();
+            if(read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,212 @@
+package de.turnertech.measures;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * <p>Writes Measures in a compact binary format, to be read by a {@link MeasureDecoder}. Measures are
+ * written as runs of consecutive quantities in the same Unit. Each run is:</p>
+ *
+ * <ol>
+ * <li>2 bytes: the {@link UnitRegistry} ID of the Unit, unsigned</li>
+ * <li>2 bytes: the number of quantities in the run, unsigned and never 0</li>
+ * <li>The quantities as IEEE-754 doubles</li>
+ * </ol>
+ *
+ * <p>All values are little endian. A single Measure therefore takes 12 bytes, and each further
+ * Measure in the same Unit takes 8 bytes. Runs are started automatically whenever the Unit changes,
+ * so a stream of mixed Units is written as many short runs, and a {@link MeasureArray} as a few long
+ * ones.</p>
+ *
+ * <p>An encoder either writes to a channel through an internal buffer, or directly into a caller
+ * supplied {@link ByteBuffer}. In both cases the length of the current run is only written once the
+ * run ends, so {@link #flush()} must be called before the output is read. Only Units registered with
+ * the {@link UnitRegistry} can be written. This class is not thread safe.</p>
+ */
+public class MeasureEncoder implements Closeable, Flushable {
+
+    /** Bytes in the header of each run. */
+    static final int HEADER_BYTES = 4;
+
+    /** Largest number of quantities in a single run. */
+    static final int MAX_RUN_LENGTH = 0xFFFF;
+
+    /** Largest Unit ID which can be written. */
+    static final int MAX_UNIT_ID = 0xFFFF;
+
+    /** Default size of the buffer used when writing to a channel. */
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ByteBuffer buffer;
+
+    private final WritableByteChannel channel;
+
+    /** Unit of the current run, or null if no run is open. */
+    private Unit runUnit;
+
+    private int runHeaderPosition;
+
+    private int runLength;
+
+    /**
+     * Constructs an encoder which writes to the supplied channel, using a 64KB buffer.
+     * @param channel to write to. Must be in blocking mode.
+     */
+    public MeasureEncoder(final WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs an encoder which writes to the supplied channel, using a buffer of the supplied size.
+     * @param channel to write to. Must be in blocking mode.
+     * @param bufferSize in bytes. Must be large enough for a single Measure.
+     */
+    public MeasureEncoder(final WritableByteChannel channel, final int bufferSize) {
+        if(bufferSize < HEADER_BYTES + Double.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least " + (HEADER_BYTES + Double.BYTES) + " bytes.");
+        }
+        this.channel = Objects.requireNonNull(channel);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Constructs an encoder which writes directly into the supplied buffer, starting at its position.
+     * The byte order of the buffer is set to little endian.
+     *
+     * @param buffer to write into.
+     */
+    public MeasureEncoder(final ByteBuffer buffer) {
+        this.channel = null;
+        this.buffer = Objects.requireNonNull(buffer).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a Measure.
+     * @param measure to write.
+     * @throws IOException if writing to the channel fails.
+     * @throws IllegalArgumentException if the Unit of the Measure cannot be written.
+     * @throws BufferOverflowException if writing directly into a buffer, and it is full.
+     */
+    public void write(final Measure measure) throws IOException {
+        write(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Writes a quantity and Unit, without creating a Measure.
+     * @param quantity to write.
+     * @param unit of the quantity.
+     * @throws IOException if writing to the channel fails.
+     * @throws IllegalArgumentException if the Unit cannot be written.
+     * @throws BufferOverflowException if writing directly into a buffer, and it is full.
+     */
+    public void write(final double quantity, final Unit unit) throws IOException {
+        if(unit != runUnit || runLength == MAX_RUN_LENGTH || buffer.remaining() < Double.BYTES) {
+            startRun(unit);
+        }
+        buffer.putDouble(quantity);
+        runLength++;
+    }
+
+    /**
+     * Writes all quantities of a MeasureArray.
+     * @param measures to write.
+     * @throws IOException if writing to the channel fails.
+     * @throws IllegalArgumentException if the Unit of the MeasureArray cannot be written.
+     * @throws BufferOverflowException if writing directly into a buffer, and it is full.
+     */
+    public void write(final MeasureArray measures) throws IOException {
+        write(measures.array(), measures.arrayOffset(), measures.size(), measures.getUnit());
+    }
+
+    /**
+     * Writes a range of quantities which are all in the same Unit.
+     * @param src the quantities to write.
+     * @param srcOffset the index of the first quantity in src.
+     * @param length the number of quantities to write.
+     * @param unit of the quantities.
+     * @throws IOException if writing to the channel fails.
+     * @throws IllegalArgumentException if the Unit cannot be written.
+     * @throws IndexOutOfBoundsException if the range is not within src.
+     * @throws BufferOverflowException if writing directly into a buffer, and it is full.
+     */
+    public void write(final double[] src, final int srcOffset, final int length, final Unit unit) throws IOException {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        int written = 0;
+        while(written < length) {
+            if(unit != runUnit || runLength == MAX_RUN_LENGTH || buffer.remaining() < Double.BYTES) {
+                startRun(unit);
+            }
+            final int count = Math.min(length - written, Math.min(MAX_RUN_LENGTH - runLength, buffer.remaining() / Double.BYTES));
+            buffer.asDoubleBuffer().put(src, srcOffset + written, count);
+            buffer.position(buffer.position() + count * Double.BYTES);
+            runLength += count;
+            written += count;
+        }
+    }
+
+    /**
+     * Ends the current run, and writes any buffered bytes to the channel. When writing directly into
+     * a buffer, all Measures written so far are then complete and may be read.
+     *
+     * @throws IOException if writing to the channel fails.
+     */
+    @Override
+    public void flush() throws IOException {
+        endRun();
+        if(channel != null) {
+            drain();
+        }
+    }
+
+    /**
+     * Flushes, and then closes the channel if there is one.
+     * @throws IOException if writing to or closing the channel fails.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        if(channel != null) {
+            channel.close();
+        }
+    }
+
+    private void startRun(final Unit unit) throws IOException {
+        final int id = UnitRegistry.getId(Objects.requireNonNull(unit));
+        if(id < 0 || id > MAX_UNIT_ID) {
+            throw new IllegalArgumentException("Unit " + unit + " is not registered with a UnitRegistry ID of at most " + MAX_UNIT_ID + ".");
+        }
+        endRun();
+        if(buffer.remaining() < HEADER_BYTES + Double.BYTES) {
+            drain();
+        }
+        runHeaderPosition = buffer.position();
+        buffer.putShort((short) id).putShort((short) 0);
+        runUnit = unit;
+    }
+
+    private void endRun() {
+        if(runUnit != null) {
+            buffer.putShort(runHeaderPosition + 2, (short) runLength);
+            runUnit = null;
+            runLength = 0;
+        }
+    }
+
+    private void drain() throws IOException {
+        if(channel == null) {
+            throw new BufferOverflowException();
+        }
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
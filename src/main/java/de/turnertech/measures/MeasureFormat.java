@@ -0,0 +1,341 @@
+package de.turnertech.measures;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Formats and parses Measures as text, following the SI Brochure section 5.3.3 as per
+ * {@link Measure#toString()}. There is always a space between the quantity and the Unit symbol,
+ * unless the Unit is a planar angle, for example "12.500000 km" and "45.000000°".</p>
+ *
+ * <p>Quantities are written either with a fixed number of digits after the decimal point, rounded
+ * half up from the shortest decimal representation exactly as {@link java.util.Formatter} does for
+ * "%f", or in the shortest form which parses back to the same double, see {@link #SHORTEST}.
+ * Formatting appends to a caller supplied {@link StringBuilder} or {@link Appendable}, and does not
+ * use {@link String#format(String, Object...)}. The output is independent of the default Locale.</p>
+ *
+ * <p>Parsing resolves the Unit symbol using the {@link UnitRegistry} by default, so that all of the
+ * constants in {@link Unit} and all registered Units are known, or using an index of a caller supplied
+ * set of Units. When using the registry, a symbol which is not known, but is a {@link Prefix}
+ * followed by a known symbol, such as "mm" or "hPa", is resolved as per
+ * {@link Unit#prefixed(Prefix, Unit)}. A supplied set of Units is taken as the complete list of
+ * symbols to accept, so prefixed symbols are only known if their Units are in the set. Instances
+ * are immutable and thread safe.</p>
+ */
+public final class MeasureFormat {
+
+    /**
+     * Precision which writes quantities in the shortest form that parses back to the same double, as
+     * per {@link Double#toString(double)}. This may use scientific notation, for example "1.0E10 m".
+     */
+    public static final int SHORTEST = -1;
+
+    /** Largest number of digits after the decimal point which is supported. */
+    public static final int MAX_PRECISION = 340;
+
+    /** The format used by {@link Measure#toString()}, with six digits after the decimal point. */
+    static final MeasureFormat DEFAULT = new MeasureFormat();
+
+    /** Scaled quantities below this have an ulp small enough to tell which side of a tie they are on. */
+    private static final double FAST_PATH_LIMIT = 0x1p49;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    private static final String[] SPECIAL_QUANTITIES = {"NaN", "Infinity"};
+
+    /** Every Prefix, with the longest symbols first, so that "da" is tried before "d". */
+    private static final Prefix[] PREFIXES_BY_LENGTH = Arrays.stream(Prefix.values())
+            .sorted(Comparator.comparingInt((Prefix prefix) -> prefix.getSymbol().length()).reversed())
+            .toArray(Prefix[]::new);
+
+    private final int precision;
+
+    /** The Units which can be parsed, or null if the {@link UnitRegistry} is used. */
+    private final Map<String, Unit> unitsBySymbol;
+
+    /**
+     * Constructs an instance with six digits after the decimal point, which parses the symbols of all
+     * Units in the {@link UnitRegistry}.
+     */
+    public MeasureFormat() {
+        this(6);
+    }
+
+    /**
+     * Constructs an instance with the supplied precision, which parses the symbols of all Units in
+     * the {@link UnitRegistry}.
+     *
+     * @param precision the number of digits after the decimal point, or {@link #SHORTEST}.
+     */
+    public MeasureFormat(final int precision) {
+        this.precision = checkPrecision(precision);
+        this.unitsBySymbol = null;
+    }
+
+    /**
+     * Constructs an instance with the supplied precision, which parses the symbols of the supplied
+     * Units. If several Units share a symbol, the first is used.
+     *
+     * @param precision the number of digits after the decimal point, or {@link #SHORTEST}.
+     * @param units the Units whose symbols can be parsed.
+     */
+    public MeasureFormat(final int precision, final Collection<Unit> units) {
+        this.precision = checkPrecision(precision);
+        final HashMap<String, Unit> index = new HashMap<>();
+        for(final Unit unit : units) {
+            index.putIfAbsent(unit.toString(), unit);
+        }
+        this.unitsBySymbol = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Gets the number of digits written after the decimal point.
+     * @return the number of digits written after the decimal point, or {@link #SHORTEST}.
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Formats a Measure as a new String.
+     * @param measure to format.
+     * @return the formatted Measure.
+     */
+    public String format(final Measure measure) {
+        return format(measure.getQuantity(), measure.getUnit(), new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Appends a formatted Measure to the supplied StringBuilder.
+     * @param measure to format.
+     * @param builder to append to.
+     * @return the supplied builder.
+     */
+    public StringBuilder format(final Measure measure, final StringBuilder builder) {
+        return format(measure.getQuantity(), measure.getUnit(), builder);
+    }
+
+    /**
+     * Appends a formatted Measure to the supplied Appendable.
+     * @param <A> the type of Appendable.
+     * @param measure to format.
+     * @param appendable to append to.
+     * @return the supplied appendable.
+     * @throws IOException if the appendable throws an IOException.
+     */
+    public <A extends Appendable> A format(final Measure measure, final A appendable) throws IOException {
+        if(appendable instanceof StringBuilder) {
+            format(measure.getQuantity(), measure.getUnit(), (StringBuilder) appendable);
+        } else {
+            appendable.append(format(measure.getQuantity(), measure.getUnit(), new StringBuilder(24)));
+        }
+        return appendable;
+    }
+
+    /**
+     * Appends a formatted quantity and Unit to the supplied StringBuilder, without creating a
+     * Measure.
+     *
+     * @param quantity to format.
+     * @param unit of the quantity.
+     * @param builder to append to.
+     * @return the supplied builder.
+     */
+    public StringBuilder format(final double quantity, final Unit unit, final StringBuilder builder) {
+        appendQuantity(quantity, builder);
+        if(!isPlanarAngle(unit)) {
+            builder.append(' ');
+        }
+        return builder.append(unit.toString());
+    }
+
+    /**
+     * <p>Parses a Measure, such as "12.5 km", "45°" or "3'". Leading and trailing whitespace is
+     * ignored, and the space between the quantity and the symbol is optional. The quantity may be
+     * written in any form accepted by {@link Double#parseDouble(String)} which does not contain a
+     * hexadecimal or type suffix.</p>
+     *
+     * @param text to parse.
+     * @return a new Measure.
+     * @throws IllegalArgumentException if the text is not a Measure, or its symbol is not known.
+     */
+    public Measure parse(final CharSequence text) {
+        Objects.requireNonNull(text);
+        int start = 0;
+        int end = text.length();
+        while(start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while(end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+
+        final int quantityEnd = scanQuantity(text, start, end);
+        if(quantityEnd == start) {
+            throw new IllegalArgumentException("\"" + text + "\" does not start with a quantity.");
+        }
+        final double quantity = Double.parseDouble(text.subSequence(start, quantityEnd).toString());
+
+        int symbolStart = quantityEnd;
+        while(symbolStart < end && Character.isWhitespace(text.charAt(symbolStart))) {
+            symbolStart++;
+        }
+        final String symbol = text.subSequence(symbolStart, end).toString();
+        final Unit unit = getUnit(symbol);
+        if(unit == null) {
+            throw new IllegalArgumentException("\"" + symbol + "\" is not a known Unit symbol.");
+        }
+        return new Measure(quantity, unit);
+    }
+
+    /**
+     * Gets the Unit with the supplied symbol, as it would be resolved when parsing. If this format
+     * uses the {@link UnitRegistry} and the symbol is not known, but is a prefix followed by the symbol
+     * of a Unit which can be prefixed, the prefixed Unit is returned, for example millimetres for "mm".
+     * Longer prefixes are tried first, so "dam" is decametres.
+     *
+     * @param symbol of the Unit.
+     * @return the Unit, or null if the symbol is not known.
+     */
+    public Unit getUnit(final String symbol) {
+        final Unit unit = getKnownUnit(symbol);
+        if(unit != null || unitsBySymbol != null) {
+            return unit;
+        }
+        for(final Prefix prefix : PREFIXES_BY_LENGTH) {
+            if(symbol.length() > prefix.getSymbol().length() && symbol.startsWith(prefix.getSymbol())) {
+                final Unit prefixable = getKnownUnit(unparenthesise(symbol.substring(prefix.getSymbol().length())));
+                if(prefixable != null && prefixable.isAffine() && prefixable.getOffset() == 0.0) {
+                    return Unit.prefixed(prefix, prefixable);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Unit getKnownUnit(final String symbol) {
+        return unitsBySymbol == null ? UnitRegistry.getUnit(symbol) : unitsBySymbol.get(symbol);
+    }
+
+    /** Removes the parentheses which {@link Unit#prefixed(Prefix, Unit)} puts around compound symbols. */
+    private static String unparenthesise(final String symbol) {
+        if(symbol.length() > 2 && symbol.charAt(0) == '(' && symbol.charAt(symbol.length() - 1) == ')') {
+            return symbol.substring(1, symbol.length() - 1);
+        }
+        return symbol;
+    }
+
+    private static int checkPrecision(final int precision) {
+        if(precision < SHORTEST || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + SHORTEST + " and " + MAX_PRECISION + ".");
+        }
+        return precision;
+    }
+
+    static boolean isPlanarAngle(final Unit unit) {
+        final Unit canonical = unit.getCanonicalUnit();
+        return canonical == Unit.DEGREE || canonical == Unit.MINUTE_ANGLE || canonical == Unit.SECOND_ANGLE;
+    }
+
+    private void appendQuantity(final double quantity, final StringBuilder builder) {
+        if(precision == SHORTEST || !Double.isFinite(quantity)) {
+            builder.append(quantity);
+            return;
+        }
+
+        if(Double.doubleToRawLongBits(quantity) < 0) {
+            builder.append('-');
+        }
+        final double magnitude = Math.abs(quantity);
+        if(precision < POWERS_OF_TEN.length) {
+            final double scaled = magnitude * POWERS_OF_TEN[precision];
+            final double fraction = scaled - Math.floor(scaled);
+            // Close to a tie either the multiplication or the shortest decimal representation may be
+            // on the other side of it, so decide exactly instead.
+            if(scaled < FAST_PATH_LIMIT && Math.abs(fraction - 0.5) > 4.0 * Math.ulp(scaled)) {
+                appendFixed(Math.round(scaled), builder);
+                return;
+            }
+        }
+        builder.append(BigDecimal.valueOf(magnitude).setScale(precision, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    /** Appends a non-negative, scaled quantity, inserting the decimal point precision digits from the end. */
+    private void appendFixed(final long scaled, final StringBuilder builder) {
+        final long divisor = (long) POWERS_OF_TEN[precision];
+        builder.append(scaled / divisor);
+        if(precision == 0) {
+            return;
+        }
+        builder.append('.');
+        final long fraction = scaled % divisor;
+        for(long digit = divisor / 10; digit > fraction && digit > 1; digit /= 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+    }
+
+    /** Returns the index after the longest prefix of text, starting at start, which is a decimal quantity. */
+    private static int scanQuantity(final CharSequence text, final int start, final int end) {
+        int index = start;
+        if(index < end && (text.charAt(index) == '+' || text.charAt(index) == '-')) {
+            index++;
+        }
+        for(final String special : SPECIAL_QUANTITIES) {
+            if(regionMatches(text, index, end, special)) {
+                return index + special.length();
+            }
+        }
+
+        final int digitsStart = index;
+        index = scanDigits(text, index, end);
+        if(index < end && text.charAt(index) == '.') {
+            index = scanDigits(text, index + 1, end);
+        }
+        if(index == digitsStart || (index == digitsStart + 1 && text.charAt(digitsStart) == '.')) {
+            return start;
+        }
+
+        if(index < end && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            int exponent = index + 1;
+            if(exponent < end && (text.charAt(exponent) == '+' || text.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            final int exponentEnd = scanDigits(text, exponent, end);
+            if(exponentEnd > exponent) {
+                index = exponentEnd;
+            }
+        }
+        return index;
+    }
+
+    private static int scanDigits(final CharSequence text, int index, final int end) {
+        while(index < end && text.charAt(index) >= '0' && text.charAt(index) <= '9') {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean regionMatches(final CharSequence text, final int index, final int end, final String expected) {
+        if(end - index < expected.length()) {
+            return false;
+        }
+        for(int i = 0; i < expected.length(); ++i) {
+            if(text.charAt(index + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
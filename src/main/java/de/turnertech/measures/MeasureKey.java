@@ -0,0 +1,171 @@
+package de.turnertech.measures;
+
+import java.util.Objects;
+
+/**
+ * <p>A MeasureKey is a canonical, hashable form of a Measure, for grouping and de-duplicating
+ * Measures in hash based collections. Unlike {@link Measure#equals(Object)}, which compares the
+ * quantity and Unit exactly, a MeasureKey converts the quantity to the root base unit of its Unit,
+ * and then rounds it to the nearest whole multiple of a tolerance. The Measures 1 km and 1000 m
+ * therefore have equal keys, as do two quantities which differ only by rounding errors.</p>
+ *
+ * <p>The root base unit is found by following {@link Unit#getBaseUnit()} until a Unit is its own
+ * base unit, and is replaced by its {@link Unit#getCanonicalUnit() canonical instance}, so that keys
+ * of equivalent Units are equal. The tolerance is represented in that Unit. Quantities within half a tolerance of
+ * each other usually have equal keys, but as with any grid, two quantities either side of the
+ * midpoint between multiples have adjacent keys however close they are. Callers which must find
+ * every close quantity should also check the keys returned by {@link #adjacent(long)}, or use a
+ * {@link MeasureRangeIndex}.</p>
+ *
+ * <p>Instances are immutable.</p>
+ */
+public final class MeasureKey {
+
+    private final Unit unit;
+
+    private final double tolerance;
+
+    private final long cell;
+
+    private MeasureKey(final Unit unit, final double tolerance, final long cell) {
+        this.unit = unit;
+        this.tolerance = tolerance;
+        this.cell = cell;
+    }
+
+    /**
+     * Creates the key of a quantity.
+     * @param quantity of the Unit.
+     * @param unit of the quantity.
+     * @param tolerance the spacing of the grid, in the root base unit of the Unit. Must be positive and finite.
+     * @return the key of the quantity.
+     * @throws IllegalArgumentException if the quantity is not finite, or the tolerance is invalid, or
+     * the quantity is more than {@link Long#MAX_VALUE} multiples of the tolerance.
+     */
+    public static MeasureKey of(final double quantity, final Unit unit, final double tolerance) {
+        if(!(tolerance > 0.0) || !Double.isFinite(tolerance)) {
+            throw new IllegalArgumentException("Tolerance must be positive and finite.");
+        }
+        if(!Double.isFinite(quantity)) {
+            throw new IllegalArgumentException("Only finite quantities have a MeasureKey.");
+        }
+        final Unit root = rootUnit(unit).getCanonicalUnit();
+        final double cells = UnitConverter.convertQuantity(quantity, unit, root) / tolerance;
+        // Math.round saturates, which would give distant quantities equal keys.
+        if(!(Math.abs(cells) < 0x1p63)) {
+            throw new IllegalArgumentException("The quantity is too large for a MeasureKey with a tolerance of " + tolerance + ".");
+        }
+        return new MeasureKey(root, tolerance, Math.round(cells));
+    }
+
+    /**
+     * Creates the key of a Measure.
+     * @param measure to create the key of.
+     * @param tolerance the spacing of the grid, in the root base unit of the Unit. Must be positive and finite.
+     * @return the key of the Measure.
+     * @throws IllegalArgumentException if the quantity is not finite, or the tolerance is invalid, or
+     * the quantity is more than {@link Long#MAX_VALUE} multiples of the tolerance.
+     */
+    public static MeasureKey of(final Measure measure, final double tolerance) {
+        return of(measure.getQuantity(), measure.getUnit(), tolerance);
+    }
+
+    /**
+     * Creates the key of an ImmutableMeasure.
+     * @param measure to create the key of.
+     * @param tolerance the spacing of the grid, in the root base unit of the Unit. Must be positive and finite.
+     * @return the key of the ImmutableMeasure.
+     * @throws IllegalArgumentException if the quantity is not finite, or the tolerance is invalid, or
+     * the quantity is more than {@link Long#MAX_VALUE} multiples of the tolerance.
+     */
+    public static MeasureKey of(final ImmutableMeasure measure, final double tolerance) {
+        return of(measure.getQuantity(), measure.getUnit(), tolerance);
+    }
+
+    /** Follows the base units of a Unit until reaching one which is its own base unit. */
+    static Unit rootUnit(final Unit unit) {
+        Unit root = Objects.requireNonNull(unit);
+        while(root.getBaseUnit() != root) {
+            root = root.getBaseUnit();
+        }
+        return root;
+    }
+
+    /**
+     * Gets the root base unit which the quantity was converted to.
+     * @return the root base unit.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the spacing of the grid, in {@link #getUnit()}.
+     * @return the tolerance.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Gets the index of the multiple of the tolerance which the quantity was rounded to.
+     * @return the index of the grid cell.
+     */
+    public long getCell() {
+        return cell;
+    }
+
+    /**
+     * Gets the rounded quantity which this key represents.
+     * @return the quantity of {@link #getUnit()}.
+     */
+    public double getQuantity() {
+        return cell * tolerance;
+    }
+
+    /**
+     * Gets the key of a nearby grid cell, with the same Unit and tolerance.
+     * @param cells the number of cells to move by, which may be negative.
+     * @return the key of the cell.
+     */
+    public MeasureKey adjacent(final long cells) {
+        return new MeasureKey(unit, tolerance, Math.addExact(cell, cells));
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 61 * hash + Long.hashCode(this.cell);
+        hash = 61 * hash + Double.hashCode(this.tolerance);
+        hash = 61 * hash + Objects.hashCode(this.unit);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final MeasureKey other = (MeasureKey) obj;
+        if (this.cell != other.cell || Double.doubleToLongBits(this.tolerance) != Double.doubleToLongBits(other.tolerance)) {
+            return false;
+        }
+        return Objects.equals(this.unit, other.unit);
+    }
+
+    /**
+     * Formatted as the rounded quantity and the tolerance, for example "1000 m ±0.001".
+     * @return the key as a string.
+     */
+    @Override
+    public String toString() {
+        return Measure.toString(getQuantity(), unit) + " ±" + tolerance;
+    }
+
+}
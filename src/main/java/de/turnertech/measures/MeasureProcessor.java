@@ -0,0 +1,246 @@
+package de.turnertech.measures;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A {@link Flow.Processor} which converts a stream of Measures into a Unit, and publishes them in
+ * batches as MeasureArrays. Rather than creating a Measure and sending a signal for every item, the
+ * quantities are collected in a primitive array, and each run of quantities of the same Unit is
+ * converted in bulk with a single {@link UnitConversion}, using
+ * {@link UnitConversion#convert(double[], int, double[], int, int)}.</p>
+ *
+ * <p>A batch is published when it reaches the batch size, or when the latency bound has passed since
+ * its first quantity arrived, so that a slow stream is not held back waiting for a full batch. Any
+ * partial batch is published before completion or an error is passed on.</p>
+ *
+ * <p>Backpressure is preserved. At most one batch is requested from the upstream publisher at a time,
+ * and more is only requested once a batch has been submitted. Submitting blocks while any subscriber
+ * has a full buffer, as with {@link SubmissionPublisher#submit(Object)}, which in turn stops items being
+ * requested from upstream. Batches are built under a {@link ReentrantLock} rather than a synchronized
+ * block, so that a blocked submit does not pin a carrier thread when the processor is run on virtual
+ * threads.</p>
+ *
+ * <p>If a Measure cannot be converted, or a conversion overflows, the upstream subscription is
+ * cancelled, the current batch is discarded and subscribers are passed the exception.</p>
+ */
+public class MeasureProcessor extends SubmissionPublisher<MeasureArray> implements Flow.Processor<Measure, MeasureArray> {
+
+    /** Default number of quantities in a batch. */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /** Default longest time a quantity waits for its batch to be published. */
+    public static final Duration DEFAULT_MAX_LATENCY = Duration.ofMillis(100);
+
+    private final Unit unit;
+
+    private final int batchSize;
+
+    private final long maxLatencyNanos;
+
+    private final Executor delayedExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Flow.Subscription subscription;
+
+    private double[] batch;
+
+    private int batchCount;
+
+    /** Incremented each time a batch is published, so that a pending latency flush can tell if its batch is gone. */
+    private long batchNumber;
+
+    private Unit lastUnit;
+
+    private UnitConversion lastConversion;
+
+    /** Index in the batch of the first quantity which has not yet been converted. */
+    private int runStart;
+
+    /**
+     * Constructs an instance using the common pool, the default batch size and the default latency bound.
+     * @param unit the Unit which every Measure is converted to.
+     */
+    public MeasureProcessor(final Unit unit) {
+        this(unit, DEFAULT_BATCH_SIZE, DEFAULT_MAX_LATENCY, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    /**
+     * Constructs an instance.
+     * @param unit the Unit which every Measure is converted to.
+     * @param batchSize the largest number of quantities in a published MeasureArray. Must be positive.
+     * @param maxLatency the longest time a quantity waits for its batch to be published. Must be positive.
+     * @param executor used to deliver batches to subscribers, and to publish batches when the latency bound passes.
+     * @param maxBufferCapacity the largest number of batches buffered for each subscriber.
+     */
+    public MeasureProcessor(final Unit unit, final int batchSize, final Duration maxLatency, final Executor executor, final int maxBufferCapacity) {
+        super(executor, maxBufferCapacity);
+        if(batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        if(maxLatency.isNegative() || maxLatency.isZero()) {
+            throw new IllegalArgumentException("Maximum latency must be positive.");
+        }
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to MeasureProcessor constructor may not be null");
+        this.batchSize = batchSize;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.delayedExecutor = CompletableFuture.delayedExecutor(maxLatencyNanos, TimeUnit.NANOSECONDS, executor);
+        this.batch = new double[batchSize];
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        lock.lock();
+        try {
+            if(this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+        } finally {
+            lock.unlock();
+        }
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(final Measure measure) {
+        int published = 0;
+        lock.lock();
+        try {
+            if(isClosed()) {
+                return;
+            }
+            if(measure.getUnit() != lastUnit) {
+                convertRun();
+                lastConversion = UnitConverter.plan(measure.getUnit(), unit);
+                lastUnit = measure.getUnit();
+            }
+            batch[batchCount++] = measure.getQuantity();
+            if(batchCount == batchSize) {
+                published = publish();
+            } else if(batchCount == 1) {
+                final long scheduledBatch = batchNumber;
+                delayedExecutor.execute(() -> publishAfterLatency(scheduledBatch));
+            }
+        } catch(RuntimeException e) {
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        } finally {
+            lock.unlock();
+        }
+        request(published);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        lock.lock();
+        try {
+            if(!isClosed()) {
+                publish();
+                closeExceptionally(throwable);
+            }
+        } catch(RuntimeException e) {
+            closeExceptionally(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        lock.lock();
+        try {
+            if(!isClosed()) {
+                publish();
+                close();
+            }
+        } catch(RuntimeException e) {
+            closeExceptionally(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publishAfterLatency(final long scheduledBatch) {
+        int published = 0;
+        lock.lock();
+        try {
+            if(batchNumber == scheduledBatch && !isClosed()) {
+                published = publish();
+            }
+        } catch(RuntimeException e) {
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        } finally {
+            lock.unlock();
+        }
+        request(published);
+    }
+
+    /** Requests replacements for published quantities. Called without the lock, as upstream may call onNext from within request. */
+    private void request(final int published) {
+        if(published > 0 && !isClosed()) {
+            subscription.request(published);
+        }
+    }
+
+    /** Converts the quantities of the last Unit in place. Called with the lock held. */
+    private void convertRun() {
+        if(runStart < batchCount) {
+            lastConversion.convert(batch, runStart, batch, runStart, batchCount - runStart);
+        }
+        runStart = batchCount;
+    }
+
+    /** Publishes the current batch if it has any quantities. Called with the lock held. */
+    private int publish() {
+        if(batchCount == 0) {
+            return 0;
+        }
+        convertRun();
+        final int published = batchCount;
+        final double[] quantities = published == batch.length ? batch : Arrays.copyOf(batch, published);
+        batchCount = 0;
+        runStart = 0;
+        batchNumber++;
+        submit(new MeasureArray(unit, quantities));
+        return published;
+    }
+
+    /**
+     * Gets the Unit which every Measure is converted to.
+     * @return the Unit of the published MeasureArrays.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the largest number of quantities in a published MeasureArray.
+     * @return the batch size.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the longest time a quantity waits for its batch to be published.
+     * @return the latency bound.
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(maxLatencyNanos);
+    }
+
+}
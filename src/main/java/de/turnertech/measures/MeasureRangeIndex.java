@@ -0,0 +1,267 @@
+package de.turnertech.measures;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>A sorted index of quantities, which finds every quantity within a tolerance of a Measure in
+ * O(log n) time, plus the time taken to return the matches. A match is any quantity for which
+ * {@link Measure#equalsWithTolerance(Measure, double)} would return true when called on the Measure
+ * being searched for, so the tolerance is in the Unit of that Measure. As the bounds of the search are
+ * converted to the Unit of the index, quantities at exactly the tolerance may differ by rounding.</p>
+ *
+ * <p>Quantities of any Unit which can be converted to the Unit of the index may be added. They are
+ * converted as they are added, and stored in primitive arrays along with an ID, which is the number
+ * of quantities added before them. Searches return these IDs, so that callers may keep whatever data
+ * they need about each quantity in their own arrays or lists.</p>
+ *
+ * <p>Added quantities are sorted in bulk when the index is next searched, and then merged with the
+ * quantities which were already sorted, so building an index by adding all quantities first and then
+ * searching takes O(n log n) time. NaN quantities may be added, but are never found. This class is
+ * not thread safe.</p>
+ */
+public class MeasureRangeIndex {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final Unit unit;
+
+    private Unit lastUnit;
+
+    private UnitConversion lastConversion;
+
+    /** Quantities of the Unit, sorted up to sortedSize, and then in the order added. */
+    private double[] quantities;
+
+    /** The ID of each quantity. */
+    private int[] ids;
+
+    private int size;
+
+    private int sortedSize;
+
+    /**
+     * Constructs an empty index.
+     * @param unit the Unit which quantities are stored in.
+     */
+    public MeasureRangeIndex(final Unit unit) {
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to MeasureRangeIndex constructor may not be null");
+        this.quantities = new double[DEFAULT_CAPACITY];
+        this.ids = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a quantity of any Unit which can be converted to {@link #getUnit()}.
+     * @param quantity to add.
+     * @param unit of the quantity.
+     * @return the ID of the quantity.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public int add(final double quantity, final Unit unit) {
+        if(unit != lastUnit) {
+            lastConversion = UnitConverter.plan(unit, this.unit);
+            lastUnit = unit;
+        }
+        if(size == quantities.length) {
+            quantities = Arrays.copyOf(quantities, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        quantities[size] = lastConversion.applyAsDouble(quantity);
+        ids[size] = size;
+        return size++;
+    }
+
+    /**
+     * Adds a Measure.
+     * @param measure to add.
+     * @return the ID of the Measure.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public int add(final Measure measure) {
+        return add(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Adds every quantity of a MeasureArray, which are given consecutive IDs.
+     * @param measures to add.
+     * @return the ID of the first quantity.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public int addAll(final MeasureArray measures) {
+        final int first = size;
+        final int length = measures.size();
+        if(size + length > quantities.length) {
+            final int capacity = Math.max(size + length, quantities.length * 2);
+            quantities = Arrays.copyOf(quantities, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        UnitConverter.plan(measures.getUnit(), unit).convert(measures.array(), measures.arrayOffset(), quantities, size, length);
+        for(int i = 0; i < length; ++i) {
+            ids[size + i] = size + i;
+        }
+        size += length;
+        return first;
+    }
+
+    /**
+     * Finds every quantity within a tolerance of a Measure.
+     * @param measure to search for.
+     * @param tolerance the largest allowed difference, in the Unit of the Measure.
+     * @return the IDs of the matching quantities, ordered by quantity.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public int[] findWithin(final Measure measure, final double tolerance) {
+        return findWithin(measure.getQuantity(), measure.getUnit(), tolerance);
+    }
+
+    /**
+     * Finds every quantity within a tolerance of a quantity.
+     * @param quantity to search for.
+     * @param unit of the quantity and the tolerance.
+     * @param tolerance the largest allowed difference, in the Unit of the quantity.
+     * @return the IDs of the matching quantities, ordered by quantity.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public int[] findWithin(final double quantity, final Unit unit, final double tolerance) {
+        final long range = range(quantity, unit, tolerance);
+        final int from = (int) (range >>> 32);
+        final int to = (int) range;
+        return from == to ? NO_IDS : Arrays.copyOfRange(ids, from, to);
+    }
+
+    /**
+     * Counts the quantities within a tolerance of a quantity, without creating an array.
+     * @param quantity to search for.
+     * @param unit of the quantity and the tolerance.
+     * @param tolerance the largest allowed difference, in the Unit of the quantity.
+     * @return the number of matching quantities.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public int countWithin(final double quantity, final Unit unit, final double tolerance) {
+        final long range = range(quantity, unit, tolerance);
+        return (int) range - (int) (range >>> 32);
+    }
+
+    /**
+     * Gets the Unit which quantities are stored in.
+     * @return the Unit of the index.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the number of quantities added, which is also the next ID.
+     * @return the number of quantities added.
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Finds the sorted positions of the matches, returned as from in the high and to in the low 32 bits. */
+    private long range(final double quantity, final Unit unit, final double tolerance) {
+        sort();
+        final UnitConversion conversion = UnitConverter.plan(unit, this.unit);
+        final double bound1 = conversion.applyAsDouble(quantity - tolerance);
+        final double bound2 = conversion.applyAsDouble(quantity + tolerance);
+        final double low = Math.min(bound1, bound2);
+        final double high = Math.max(bound1, bound2);
+        if(!(low <= high)) {
+            return 0;
+        }
+        final int from = firstNotBelow(low, false);
+        final int to = firstNotBelow(high, true);
+        return ((long) from << 32) | to;
+    }
+
+    /** Binary search for the first sorted position whose quantity is not less than (or if inclusive, not greater than) the value. */
+    private int firstNotBelow(final double value, final boolean inclusive) {
+        int low = 0;
+        int high = size;
+        while(low < high) {
+            final int middle = (low + high) >>> 1;
+            final double quantity = quantities[middle];
+            if(quantity < value || (inclusive && quantity == value)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** Sorts the quantities added since the last search, and merges them into the sorted quantities. */
+    private void sort() {
+        if(sortedSize == size) {
+            return;
+        }
+        heapSort(sortedSize, size);
+        if(sortedSize > 0) {
+            final double[] newQuantities = new double[quantities.length];
+            final int[] newIds = new int[ids.length];
+            int i = 0;
+            int j = sortedSize;
+            for(int k = 0; k < size; ++k) {
+                if(j == size || (i < sortedSize && compare(i, j) <= 0)) {
+                    newQuantities[k] = quantities[i];
+                    newIds[k] = ids[i++];
+                } else {
+                    newQuantities[k] = quantities[j];
+                    newIds[k] = ids[j++];
+                }
+            }
+            quantities = newQuantities;
+            ids = newIds;
+        }
+        sortedSize = size;
+    }
+
+    /** Orders by quantity as per {@link Double#compare(double, double)}, which places NaN last, and then by ID. */
+    private int compare(final int i, final int j) {
+        final int order = Double.compare(quantities[i], quantities[j]);
+        return order != 0 ? order : Integer.compare(ids[i], ids[j]);
+    }
+
+    /** Sorts a range of both arrays in place, without allocating. */
+    private void heapSort(final int from, final int to) {
+        final int length = to - from;
+        for(int i = length / 2 - 1; i >= 0; --i) {
+            siftDown(from, i, length);
+        }
+        for(int end = length - 1; end > 0; --end) {
+            swap(from, from + end);
+            siftDown(from, 0, end);
+        }
+    }
+
+    private void siftDown(final int from, int node, final int length) {
+        while(true) {
+            int largest = node;
+            final int left = 2 * node + 1;
+            final int right = left + 1;
+            if(left < length && compare(from + left, from + largest) > 0) {
+                largest = left;
+            }
+            if(right < length && compare(from + right, from + largest) > 0) {
+                largest = right;
+            }
+            if(largest == node) {
+                return;
+            }
+            swap(from + node, from + largest);
+            node = largest;
+        }
+    }
+
+    private void swap(final int i, final int j) {
+        final double quantity = quantities[i];
+        quantities[i] = quantities[j];
+        quantities[j] = quantity;
+        final int id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+    }
+
+}
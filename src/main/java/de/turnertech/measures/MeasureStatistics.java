@@ -0,0 +1,271 @@
+package de.turnertech.measures;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Collector;
+
+/**
+ * <p>Accumulates the count, minimum, maximum, sum, mean and variance of quantities which may be
+ * represented in different Units, as a Measure aware equivalent of
+ * {@link java.util.DoubleSummaryStatistics}. Every quantity is converted into the Unit supplied when
+ * the instance is constructed, and the results are all represented in that Unit.</p>
+ *
+ * <p>Quantities are accumulated as primitives, so that no Measures are created. The
+ * {@link UnitConversion} of the previous quantity is kept, so a stream of quantities in the same
+ * Unit is converted without any lookups, and the conversion is only planned again when the Unit
+ * changes. The sum uses Neumaier's compensated summation, and the variance uses Welford's algorithm,
+ * so that neither loses precision over long runs of quantities of similar size.</p>
+ *
+ * <p>Instances may be combined with {@link #combine(MeasureStatistics)}, which allows them to be
+ * used for parallel reduction, for example with {@link #collector(Unit)}. This class is not thread
+ * safe.</p>
+ */
+public class MeasureStatistics implements DoubleConsumer {
+
+    private final Unit unit;
+
+    /** Unit of the previous quantity accepted with a Unit, and the conversion from it. */
+    private Unit lastUnit;
+
+    private UnitConversion lastConversion;
+
+    private long count;
+
+    private double sum;
+
+    /** Neumaier compensation, the low order bits lost from sum. */
+    private double compensation;
+
+    /** Uncompensated sum, used where the compensated sum is NaN due to infinite quantities. */
+    private double simpleSum;
+
+    private double mean;
+
+    /** Sum of squared differences from the mean. */
+    private double squaredDeviations;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructs an empty instance.
+     * @param unit the Unit which quantities are converted to, and the results are represented in.
+     */
+    public MeasureStatistics(final Unit unit) {
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to MeasureStatistics constructor may not be null");
+    }
+
+    /**
+     * Gets a Collector which accumulates Measures into a new MeasureStatistics.
+     * @param unit the Unit which quantities are converted to.
+     * @return a Collector which supports parallel streams.
+     */
+    public static Collector<Measure, ?, MeasureStatistics> collector(final Unit unit) {
+        Objects.requireNonNull(unit);
+        return Collector.of(() -> new MeasureStatistics(unit), MeasureStatistics::accept, MeasureStatistics::combine, Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Gets a Collector which accumulates ImmutableMeasures into a new MeasureStatistics.
+     * @param unit the Unit which quantities are converted to.
+     * @return a Collector which supports parallel streams.
+     */
+    public static Collector<ImmutableMeasure, ?, MeasureStatistics> immutableCollector(final Unit unit) {
+        Objects.requireNonNull(unit);
+        return Collector.of(() -> new MeasureStatistics(unit), MeasureStatistics::accept, MeasureStatistics::combine, Collector.Characteristics.IDENTITY_FINISH, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Accepts a quantity which is already represented in {@link #getUnit()}.
+     * @param quantity to accumulate.
+     */
+    @Override
+    public void accept(final double quantity) {
+        count++;
+        simpleSum += quantity;
+        final double total = sum + quantity;
+        if(Math.abs(sum) >= Math.abs(quantity)) {
+            compensation += (sum - total) + quantity;
+        } else {
+            compensation += (quantity - total) + sum;
+        }
+        sum = total;
+
+        final double delta = quantity - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (quantity - mean);
+
+        min = Math.min(min, quantity);
+        max = Math.max(max, quantity);
+    }
+
+    /**
+     * Accepts a quantity of any Unit which can be converted to {@link #getUnit()}.
+     * @param quantity to accumulate.
+     * @param unit of the quantity.
+     * @throws UnsupportedOperationException if conversion is not supported
+     * @throws ArithmeticException if the conversion overflows a double.
+     */
+    public void accept(final double quantity, final Unit unit) {
+        if(unit != lastUnit) {
+            lastConversion = UnitConverter.plan(unit, this.unit);
+            lastUnit = unit;
+        }
+        accept(lastConversion.applyAsDouble(quantity));
+    }
+
+    /**
+     * Accepts a Measure, without creating a converted Measure.
+     * @param measure to accumulate.
+     * @throws UnsupportedOperationException if conversion is not supported
+     * @throws ArithmeticException if the conversion overflows a double.
+     */
+    public void accept(final Measure measure) {
+        accept(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Accepts an ImmutableMeasure, without creating a converted ImmutableMeasure.
+     * @param measure to accumulate.
+     * @throws UnsupportedOperationException if conversion is not supported
+     * @throws ArithmeticException if the conversion overflows a double.
+     */
+    public void accept(final ImmutableMeasure measure) {
+        accept(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Accepts all quantities of a MeasureArray, converting them with a single conversion.
+     * @param measures to accumulate.
+     * @throws UnsupportedOperationException if conversion is not supported
+     * @throws ArithmeticException if the conversion overflows a double.
+     */
+    public void accept(final MeasureArray measures) {
+        final UnitConversion conversion = UnitConverter.plan(measures.getUnit(), unit);
+        final double[] quantities = measures.array();
+        final int offset = measures.arrayOffset();
+        for(int i = 0; i < measures.size(); ++i) {
+            accept(conversion.applyAsDouble(quantities[offset + i]));
+        }
+    }
+
+    /**
+     * Adds the quantities accumulated by another instance to this one, as if they had been accepted
+     * by this instance.
+     *
+     * @param other to combine into this instance. It is not modified.
+     * @return this instance.
+     * @throws IllegalArgumentException if the other instance has a different Unit.
+     */
+    public MeasureStatistics combine(final MeasureStatistics other) {
+        if(other.unit != unit) {
+            throw new IllegalArgumentException("MeasureStatistics of " + other.unit + " cannot be combined with MeasureStatistics of " + unit + ".");
+        }
+        if(other.count == 0) {
+            return this;
+        }
+        final long newCount = count + other.count;
+        final double delta = other.mean - mean;
+        squaredDeviations += other.squaredDeviations + delta * delta * ((double) count * other.count / newCount);
+        mean += delta * other.count / newCount;
+        count = newCount;
+
+        simpleSum += other.simpleSum;
+        final double total = sum + other.sum;
+        if(Math.abs(sum) >= Math.abs(other.sum)) {
+            compensation += (sum - total) + other.sum;
+        } else {
+            compensation += (other.sum - total) + sum;
+        }
+        sum = total;
+        compensation += other.compensation;
+
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Gets the Unit which the results are represented in.
+     * @return the Unit which the results are represented in.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the number of quantities accumulated.
+     * @return the number of quantities accumulated.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the compensated sum of the quantities.
+     * @return the sum, which is 0 if no quantities have been accumulated.
+     */
+    public double getSum() {
+        final double total = sum + compensation;
+        if(Double.isNaN(total) && Double.isInfinite(simpleSum)) {
+            // Infinite quantities make the compensation NaN, but the simple sum is then correct.
+            return simpleSum;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the smallest quantity.
+     * @return the smallest quantity, or positive infinity if no quantities have been accumulated.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest quantity.
+     * @return the largest quantity, or negative infinity if no quantities have been accumulated.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the arithmetic mean of the quantities.
+     * @return the mean, or NaN if no quantities have been accumulated.
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : getSum() / count;
+    }
+
+    /**
+     * Gets the population variance of the quantities, which is in the square of {@link #getUnit()}.
+     * @return the variance, or NaN if no quantities have been accumulated.
+     */
+    public double getVariance() {
+        return count == 0 ? Double.NaN : squaredDeviations / count;
+    }
+
+    /**
+     * Gets the sample variance of the quantities, using Bessel's correction.
+     * @return the sample variance, or NaN if fewer than two quantities have been accumulated.
+     */
+    public double getSampleVariance() {
+        return count < 2 ? Double.NaN : squaredDeviations / (count - 1);
+    }
+
+    /**
+     * Gets the population standard deviation of the quantities.
+     * @return the standard deviation, or NaN if no quantities have been accumulated.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, sum=%f, min=%f, mean=%f, max=%f, stdDev=%f, unit=%s}", getClass().getSimpleName(), count, getSum(), min, getMean(), max, getStandardDeviation(), unit);
+    }
+
+}
@@ -0,0 +1,369 @@
+package de.turnertech.measures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+
+/**
+ * <p>An OffHeapMeasureArray is a fixed size column of quantities which all share the same
+ * {@link Unit}, stored outside of the Java heap. The storage is either direct memory, see
+ * {@link #allocate(Unit, long)}, or a memory mapped file, see {@link #create(Path, Unit, long)} and
+ * {@link #open(Path, Unit)}. Columns may be larger than 2GB, and are therefore indexed by long.</p>
+ *
+ * <p>A file starts with a small header, followed by the quantities as little endian IEEE-754
+ * doubles:</p>
+ *
+ * <ol>
+ * <li>4 bytes: magic number, the ASCII characters "MSRA"</li>
+ * <li>2 bytes: format version, currently 1</li>
+ * <li>2 bytes: length of the Unit symbol in bytes</li>
+ * <li>8 bytes: number of quantities</li>
+ * <li>The UTF-8 encoded Unit symbol, padded with zeros to a multiple of 8 bytes</li>
+ * </ol>
+ *
+ * <p>A column may be viewed in another Unit using {@link #convertTo(Unit)}. No quantities are
+ * copied, instead each quantity is converted as it is read.</p>
+ *
+ * <p>This class is not thread safe for writing. Closing a file backed instance closes its file, the
+ * mapping itself is released once the instance is garbage collected.</p>
+ */
+public class OffHeapMeasureArray implements AutoCloseable {
+
+    /** The ASCII characters "MSRA", read as a little endian int. */
+    private static final int MAGIC = 0x4152534D;
+
+    private static final short VERSION = 1;
+
+    private static final int FIXED_HEADER_BYTES = 16;
+
+    /** Quantities per buffer. Each buffer is 1GB, well below the 2GB limit of a ByteBuffer. */
+    private static final int CHUNK_QUANTITIES = 1 << 27;
+
+    private final Unit unit;
+
+    private final long size;
+
+    private final DoubleBuffer[] chunks;
+
+    private final MappedByteBuffer[] mappings;
+
+    private final FileChannel channel;
+
+    private final UnitConversion conversion;
+
+    private final boolean readOnly;
+
+    private OffHeapMeasureArray(final Unit unit, final long size, final DoubleBuffer[] chunks, final MappedByteBuffer[] mappings, final FileChannel channel, final UnitConversion conversion, final boolean readOnly) {
+        this.unit = unit;
+        this.size = size;
+        this.chunks = chunks;
+        this.mappings = mappings;
+        this.channel = channel;
+        this.conversion = conversion;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Allocates a new column of zeros in direct memory.
+     *
+     * @param unit The Unit of all Measures in this column. This is immutable.
+     * @param size the number of quantities in the column.
+     * @return a new writable column.
+     */
+    public static OffHeapMeasureArray allocate(final Unit unit, final long size) {
+        Objects.requireNonNull(unit, "Unit instance provided to OffHeapMeasureArray may not be null");
+        checkSize(size);
+        final DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(size)];
+        for(int i = 0; i < chunks.length; ++i) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkQuantities(size, i) * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return new OffHeapMeasureArray(unit, size, chunks, new MappedByteBuffer[0], null, UnitConverter.plan(unit, unit), false);
+    }
+
+    /**
+     * Creates a new file containing a column of zeros, replacing any existing file, and maps it
+     * into memory.
+     *
+     * @param path of the file to create.
+     * @param unit The Unit of all Measures in this column. This is immutable.
+     * @param size the number of quantities in the column.
+     * @return a new writable column backed by the file.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public static OffHeapMeasureArray create(final Path path, final Unit unit, final long size) throws IOException {
+        Objects.requireNonNull(unit, "Unit instance provided to OffHeapMeasureArray may not be null");
+        checkSize(size);
+        final byte[] symbol = unit.toString().getBytes(StandardCharsets.UTF_8);
+        if(symbol.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Unit symbol is too long to be stored.");
+        }
+        final int headerBytes = headerBytes(symbol.length);
+        final ByteBuffer header = ByteBuffer.allocate(headerBytes).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) symbol.length).putLong(size).put(symbol);
+
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            header.rewind();
+            while(header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return map(channel, unit, size, headerBytes, FileChannel.MapMode.READ_WRITE);
+        } catch(IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new file containing the quantities of the supplied MeasureArray.
+     *
+     * @param path of the file to create.
+     * @param measures the quantities to write.
+     * @return a new writable column backed by the file.
+     * @throws IOException if the file cannot be created or mapped.
+     */
+    public static OffHeapMeasureArray create(final Path path, final MeasureArray measures) throws IOException {
+        final OffHeapMeasureArray column = create(path, measures.getUnit(), measures.size());
+        final double[] quantities = measures.toArray();
+        for(int i = 0; i < column.chunks.length; ++i) {
+            column.chunks[i].put(0, quantities, i * CHUNK_QUANTITIES, column.chunks[i].capacity());
+        }
+        return column;
+    }
+
+    /**
+     * Maps an existing file into memory for reading.
+     *
+     * @param path of the file to open.
+     * @param unit the Unit which the file is expected to contain. Its symbol must match the header.
+     * @return a read only column backed by the file.
+     * @throws IOException if the file cannot be read, is not a column file, or is not in the supplied Unit.
+     */
+    public static OffHeapMeasureArray open(final Path path, final Unit unit) throws IOException {
+        Objects.requireNonNull(unit, "Unit instance provided to OffHeapMeasureArray may not be null");
+        return open(path, (storedSymbol) -> storedSymbol.equals(unit.toString()) ? unit : null);
+    }
+
+    /**
+     * Maps an existing file into memory for reading, resolving its Unit symbol using the
+     * {@link UnitRegistry}.
+     *
+     * @param path of the file to open.
+     * @return a read only column backed by the file.
+     * @throws IOException if the file cannot be read, is not a column file, or its Unit is not registered.
+     */
+    public static OffHeapMeasureArray open(final Path path) throws IOException {
+        return open(path, UnitRegistry::getUnit);
+    }
+
+    private static OffHeapMeasureArray open(final Path path, final Function<String, Unit> unitResolver) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if(header.getInt(0) != MAGIC || header.getShort(4) != VERSION) {
+                throw new IOException(path + " is not a MeasureArray file.");
+            }
+            final int symbolLength = header.getShort(6);
+            final long size = header.getLong(8);
+            if(symbolLength < 0 || size < 0 || size > (long) Integer.MAX_VALUE * CHUNK_QUANTITIES) {
+                throw new IOException(path + " has a corrupt header.");
+            }
+            final ByteBuffer symbol = ByteBuffer.allocate(symbolLength);
+            readFully(channel, symbol, FIXED_HEADER_BYTES);
+            final String storedSymbol = new String(symbol.array(), StandardCharsets.UTF_8);
+            final Unit unit = unitResolver.apply(storedSymbol);
+            if(unit == null) {
+                throw new IOException(path + " contains quantities of " + storedSymbol + ", which is not the expected Unit.");
+            }
+            if(channel.size() < headerBytes(symbolLength) + size * Double.BYTES) {
+                throw new IOException(path + " is truncated.");
+            }
+            return map(channel, unit, size, headerBytes(symbolLength), FileChannel.MapMode.READ_ONLY);
+        } catch(IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static OffHeapMeasureArray map(final FileChannel channel, final Unit unit, final long size, final int headerBytes, final FileChannel.MapMode mode) throws IOException {
+        final DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(size)];
+        final MappedByteBuffer[] mappings = new MappedByteBuffer[chunks.length];
+        for(int i = 0; i < chunks.length; ++i) {
+            final long position = headerBytes + (long) i * CHUNK_QUANTITIES * Double.BYTES;
+            mappings[i] = channel.map(mode, position, (long) chunkQuantities(size, i) * Double.BYTES);
+            chunks[i] = mappings[i].order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return new OffHeapMeasureArray(unit, size, chunks, mappings, channel, UnitConverter.plan(unit, unit), mode == FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Gets the Unit in which quantities are returned from this column.
+     * @return the Unit in which quantities are returned from this column.
+     */
+    public Unit getUnit() {
+        return conversion.getUnitOut();
+    }
+
+    /**
+     * Gets the number of quantities in this column.
+     * @return the number of quantities in this column.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if quantities may be written to this column.
+     * @return true if {@link #set(long, double)} is not supported.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Gets the quantity at the supplied index, in {@link #getUnit()}.
+     * @param index of the quantity.
+     * @return the quantity at the supplied index.
+     * @throws IndexOutOfBoundsException if the index is not within the size of this column.
+     */
+    public double get(final long index) {
+        Objects.checkIndex(index, size);
+        return conversion.applyAsDouble(chunks[(int) (index / CHUNK_QUANTITIES)].get((int) (index % CHUNK_QUANTITIES)));
+    }
+
+    /**
+     * Gets the quantity at the supplied index as a new Measure instance.
+     * @param index of the quantity.
+     * @return a new Measure with the quantity at the supplied index.
+     * @throws IndexOutOfBoundsException if the index is not within the size of this column.
+     */
+    public Measure getMeasure(final long index) {
+        return new Measure(get(index), getUnit());
+    }
+
+    /**
+     * Sets the quantity at the supplied index.
+     * @param index of the quantity.
+     * @param quantity of {@link #getUnit()} to store.
+     * @throws IndexOutOfBoundsException if the index is not within the size of this column.
+     * @throws UnsupportedOperationException if this column is read only.
+     */
+    public void set(final long index, final double quantity) {
+        if(readOnly) {
+            throw new UnsupportedOperationException("OffHeapMeasureArray is read only.");
+        }
+        Objects.checkIndex(index, size);
+        chunks[(int) (index / CHUNK_QUANTITIES)].put((int) (index % CHUNK_QUANTITIES), quantity);
+    }
+
+    /**
+     * Copies a range of quantities into the supplied array, converting them to {@link #getUnit()}
+     * in bulk.
+     *
+     * @param fromIndex the index of the first quantity to copy.
+     * @param dst the array to copy into.
+     * @param dstOffset the index in dst to copy the first quantity to.
+     * @param length the number of quantities to copy.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public void copyTo(final long fromIndex, final double[] dst, final int dstOffset, final int length) {
+        Objects.checkFromIndexSize(fromIndex, length, size);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        int done = 0;
+        while(done < length) {
+            final long index = fromIndex + done;
+            final DoubleBuffer chunk = chunks[(int) (index / CHUNK_QUANTITIES)].duplicate();
+            final int chunkIndex = (int) (index % CHUNK_QUANTITIES);
+            final int chunkLength = Math.min(length - done, chunk.capacity() - chunkIndex);
+            chunk.position(chunkIndex).limit(chunkIndex + chunkLength);
+            conversion.convert(chunk, DoubleBuffer.wrap(dst, dstOffset + done, chunkLength));
+            done += chunkLength;
+        }
+    }
+
+    /**
+     * Performs the supplied action for each quantity in this column, in order and in {@link #getUnit()}.
+     * @param action to perform for each quantity.
+     */
+    public void forEach(final DoubleConsumer action) {
+        for(final DoubleBuffer chunk : chunks) {
+            for(int i = 0; i < chunk.capacity(); ++i) {
+                action.accept(conversion.applyAsDouble(chunk.get(i)));
+            }
+        }
+    }
+
+    /**
+     * <p>Gets a read only view of this column in another Unit. The view shares the storage of this
+     * column, and converts each quantity as it is read.</p>
+     *
+     * @param newUnit the Unit in which the view returns quantities.
+     * @return a read only view of this column in the supplied Unit.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public OffHeapMeasureArray convertTo(final Unit newUnit) {
+        return new OffHeapMeasureArray(unit, size, chunks, new MappedByteBuffer[0], null, UnitConverter.plan(unit, newUnit), true);
+    }
+
+    /**
+     * Writes any changes to a file backed column to the storage device.
+     */
+    public void force() {
+        for(final MappedByteBuffer mapping : mappings) {
+            if(!readOnly) {
+                mapping.force();
+            }
+        }
+    }
+
+    /**
+     * Closes the file backing this column, if any. Views created using {@link #convertTo(Unit)}
+     * share the mapping of the file, and remain readable after closing.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if(channel != null) {
+            force();
+            channel.close();
+        }
+    }
+
+    private static void checkSize(final long size) {
+        if(size < 0 || size > (long) Integer.MAX_VALUE * CHUNK_QUANTITIES) {
+            throw new IllegalArgumentException("OffHeapMeasureArray size " + size + " is not supported.");
+        }
+    }
+
+    private static int chunkCount(final long size) {
+        return (int) ((size + CHUNK_QUANTITIES - 1) / CHUNK_QUANTITIES);
+    }
+
+    private static int chunkQuantities(final long size, final int chunk) {
+        return (int) Math.min(CHUNK_QUANTITIES, size - (long) chunk * CHUNK_QUANTITIES);
+    }
+
+    private static int headerBytes(final int symbolLength) {
+        return (FIXED_HEADER_BYTES + symbolLength + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file.");
+            }
+        }
+    }
+
+}
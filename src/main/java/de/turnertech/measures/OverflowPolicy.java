@@ -0,0 +1,80 @@
+package de.turnertech.measures;
+
+/**
+ * <p>Defines what happens when converting a finite quantity gives a result too large for a double,
+ * which IEEE-754 arithmetic represents as an infinity. Quantities which are already infinite or NaN
+ * are never treated as overflowing.</p>
+ *
+ * <p>A policy is chosen per {@link UnitConversion} using
+ * {@link UnitConversion#withOverflowPolicy(OverflowPolicy)}, or per {@link BatchConverter}. Plans
+ * returned by the {@link UnitConverter} use {@link #STRICT}.</p>
+ *
+ * <p>Bulk conversions do not check each quantity as it is converted. The quantities are converted
+ * first, and then the output is scanned once for infinities, which is a cheap, predictable loop.
+ * Only an infinity found in the output is compared against its input. Conversions in place are made
+ * in small blocks via a scratch array, which the scan copies back, so that each input is still
+ * available when its result is checked.</p>
+ */
+public enum OverflowPolicy {
+
+    /** Throw an ArithmeticException. This is the default. */
+    STRICT,
+
+    /** Replace the result with {@link Double#MAX_VALUE} of the same sign. */
+    SATURATE,
+
+    /** Return the infinite result, without checking anything. */
+    UNCHECKED;
+
+    /** Applies this policy to a single result converted from the supplied quantity. */
+    double apply(final double quantity, final double result) {
+        if(this == UNCHECKED) {
+            return result;
+        }
+        if(Double.isInfinite(result) && Double.isFinite(quantity)) {
+            return overflow(result);
+        }
+        return result;
+    }
+
+    /**
+     * <p>Applies this policy to a range which has been converted by an affine kernel from a separate
+     * range, in a single pass over the output. Affine conversions map infinite quantities to infinite
+     * results, so an infinite result is an overflow unless its input was infinite.</p>
+     */
+    void applyToArray(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+        if(this == UNCHECKED) {
+            return;
+        }
+        for(int i = 0; i < length; ++i) {
+            final double result = dst[dstOffset + i];
+            if(Double.isInfinite(result) && Double.isFinite(src[srcOffset + i])) {
+                dst[dstOffset + i] = overflow(result);
+            }
+        }
+    }
+
+    /**
+     * <p>Applies this policy to a block of results converted from src, writing them to dst in the same
+     * pass. Used to convert in place, where dst is src, as the input of each result is only
+     * overwritten once it has been checked.</p>
+     */
+    void applyToBlock(final double[] src, final int srcOffset, final double[] results, final double[] dst, final int dstOffset, final int length) {
+        for(int i = 0; i < length; ++i) {
+            final double result = results[i];
+            dst[dstOffset + i] = Double.isInfinite(result) && Double.isFinite(src[srcOffset + i]) ? overflow(result) : result;
+        }
+    }
+
+    private double overflow(final double result) {
+        switch(this) {
+            case STRICT:
+                throw new ArithmeticException("Conversion caused overflow.");
+            case SATURATE:
+                return Math.copySign(Double.MAX_VALUE, result);
+            default:
+                return result;
+        }
+    }
+
+}
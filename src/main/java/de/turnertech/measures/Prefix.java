@@ -0,0 +1,99 @@
+package de.turnertech.measures;
+
+/**
+ * <p>The SI prefixes, used to create decimal multiples and fractions of Units with
+ * {@link Unit#prefixed(Prefix, Unit)}.</p>
+ *
+ * <p>Each prefix stores its power of ten as a numerator and denominator, one of which is always 1.
+ * Powers of ten up to 10^22 are exact doubles, so prefixes of up to that magnitude compose with the
+ * scale of a Unit without any rounding, and a conversion between two prefixed Units is a single
+ * multiplication or division.</p>
+ */
+public enum Prefix {
+
+    /** 10^-24 */
+    YOCTO("y", -24),
+    /** 10^-21 */
+    ZEPTO("z", -21),
+    /** 10^-18 */
+    ATTO("a", -18),
+    /** 10^-15 */
+    FEMTO("f", -15),
+    /** 10^-12 */
+    PICO("p", -12),
+    /** 10^-9 */
+    NANO("n", -9),
+    /** 10^-6, written with the micro sign U+00B5 */
+    MICRO("µ", -6),
+    /** 10^-3 */
+    MILLI("m", -3),
+    /** 10^-2 */
+    CENTI("c", -2),
+    /** 10^-1 */
+    DECI("d", -1),
+    /** 10^1 */
+    DECA("da", 1),
+    /** 10^2 */
+    HECTO("h", 2),
+    /** 10^3 */
+    KILO("k", 3),
+    /** 10^6 */
+    MEGA("M", 6),
+    /** 10^9 */
+    GIGA("G", 9),
+    /** 10^12 */
+    TERA("T", 12),
+    /** 10^15 */
+    PETA("P", 15),
+    /** 10^18 */
+    EXA("E", 18),
+    /** 10^21 */
+    ZETTA("Z", 21),
+    /** 10^24 */
+    YOTTA("Y", 24);
+
+    private final String symbol;
+
+    private final int exponent;
+
+    private final double factor;
+
+    final double scaleNumerator;
+
+    final double scaleDenominator;
+
+    Prefix(final String symbol, final int exponent) {
+        this.symbol = symbol;
+        this.exponent = exponent;
+        this.factor = Double.parseDouble("1e" + exponent);
+        // Parsing gives the correctly rounded power of ten, where Math.pow may not.
+        final double power = Double.parseDouble("1e" + Math.abs(exponent));
+        this.scaleNumerator = exponent > 0 ? power : 1.0;
+        this.scaleDenominator = exponent > 0 ? 1.0 : power;
+    }
+
+    /**
+     * Gets the symbol of this prefix, for example "k".
+     * @return the symbol of this prefix.
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Gets the power of ten of this prefix, for example 3 for {@link #KILO}.
+     * @return the power of ten of this prefix.
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Gets the factor of this prefix, for example 1000 for {@link #KILO}.
+     * @return ten raised to the exponent of this prefix.
+     */
+    public double getFactor() {
+        return factor;
+    }
+
+}
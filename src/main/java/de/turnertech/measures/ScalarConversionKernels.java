@@ -0,0 +1,41 @@
+package de.turnertech.measures;
+
+/**
+ * {@link ConversionKernels} implemented with plain loops, used when the Vector API is not available.
+ */
+final class ScalarConversionKernels implements ConversionKernels {
+
+    @Override
+    public void multiply(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double scalar) {
+        for(int i = 0; i < length; ++i) {
+            dst[dstOffset + i] = src[srcOffset + i] * scalar;
+        }
+    }
+
+    @Override
+    public void divide(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double divisor) {
+        for(int i = 0; i < length; ++i) {
+            dst[dstOffset + i] = src[srcOffset + i] / divisor;
+        }
+    }
+
+    @Override
+    public void multiplyAdd(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double scalar, final double offset) {
+        for(int i = 0; i < length; ++i) {
+            dst[dstOffset + i] = src[srcOffset + i] * scalar + offset;
+        }
+    }
+
+    @Override
+    public void divideAdd(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double divisor, final double offset) {
+        for(int i = 0; i < length; ++i) {
+            dst[dstOffset + i] = src[srcOffset + i] / divisor + offset;
+        }
+    }
+
+    @Override
+    public boolean isVectorised() {
+        return false;
+    }
+
+}
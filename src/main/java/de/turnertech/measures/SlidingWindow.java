@@ -0,0 +1,341 @@
+package de.turnertech.measures;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>Aggregates the quantities of a time series over a sliding window, which covers every quantity
+ * whose timestamp is within the window length of the latest timestamp. Timestamps are longs in any
+ * unit of time chosen by the caller, such as milliseconds, and must be supplied in non-decreasing
+ * order.</p>
+ *
+ * <p>Quantities are converted into the Unit supplied when the window is constructed as they are
+ * added, and stored in primitive ring buffers, which grow as required but never shrink. The count,
+ * sum and mean are kept as running totals, and the minimum and maximum with monotonic deques, so
+ * adding a quantity and reading any result take amortised constant time however large the window
+ * is. The sum is compensated as per {@link MeasureStatistics}.</p>
+ *
+ * <p>NaN quantities are counted, and make the sum and mean NaN while they are in the window, but are
+ * ignored by {@link #getMin()} and {@link #getMax()}. This class is not thread safe.</p>
+ */
+public class SlidingWindow {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Unit unit;
+
+    private final long windowLength;
+
+    private Unit lastUnit;
+
+    private UnitConversion lastConversion;
+
+    /** Ring buffers of the timestamps and quantities in the window. */
+    private long[] timestamps;
+
+    private double[] quantities;
+
+    private int head;
+
+    private int size;
+
+    /** Sequence number of the quantity at head. Sequence numbers are never reused. */
+    private long headSequence;
+
+    private long latestTimestamp = Long.MIN_VALUE;
+
+    /** Compensated sum of the finite quantities in the window. */
+    private double sum;
+
+    private double compensation;
+
+    private int positiveInfinities;
+
+    private int negativeInfinities;
+
+    private int nans;
+
+    /** Sequence numbers of quantities which may still become the minimum, with increasing quantities. */
+    private final SequenceDeque minimums = new SequenceDeque();
+
+    /** Sequence numbers of quantities which may still become the maximum, with decreasing quantities. */
+    private final SequenceDeque maximums = new SequenceDeque();
+
+    /**
+     * Constructs an empty window.
+     * @param unit the Unit which quantities are converted to, and the results are represented in.
+     * @param windowLength the length of the window, in the same unit of time as the timestamps. Must be positive.
+     */
+    public SlidingWindow(final Unit unit, final long windowLength) {
+        if(windowLength <= 0) {
+            throw new IllegalArgumentException("Window length must be positive.");
+        }
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to SlidingWindow constructor may not be null");
+        this.windowLength = windowLength;
+        this.timestamps = new long[DEFAULT_CAPACITY];
+        this.quantities = new double[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a quantity which is already represented in {@link #getUnit()}, and slides the window to
+     * end at its timestamp.
+     *
+     * @param timestamp of the quantity.
+     * @param quantity to add.
+     * @throws IllegalArgumentException if the timestamp is before the latest timestamp.
+     */
+    public void add(final long timestamp, final double quantity) {
+        advanceTo(timestamp);
+        if(size == timestamps.length) {
+            grow();
+        }
+        final long sequence = headSequence + size;
+        final int index = (head + size) & (timestamps.length - 1);
+        timestamps[index] = timestamp;
+        quantities[index] = quantity;
+        size++;
+
+        if(Double.isNaN(quantity)) {
+            nans++;
+            return;
+        }
+        if(quantity == Double.POSITIVE_INFINITY) {
+            positiveInfinities++;
+        } else if(quantity == Double.NEGATIVE_INFINITY) {
+            negativeInfinities++;
+        } else {
+            addToSum(quantity);
+        }
+        while(!minimums.isEmpty() && quantity(minimums.peekLast()) >= quantity) {
+            minimums.removeLast();
+        }
+        minimums.addLast(sequence);
+        while(!maximums.isEmpty() && quantity(maximums.peekLast()) <= quantity) {
+            maximums.removeLast();
+        }
+        maximums.addLast(sequence);
+    }
+
+    /**
+     * Adds a quantity of any Unit which can be converted to {@link #getUnit()}.
+     * @param timestamp of the quantity.
+     * @param quantity to add.
+     * @param unit of the quantity.
+     * @throws IllegalArgumentException if the timestamp is before the latest timestamp.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public void add(final long timestamp, final double quantity, final Unit unit) {
+        if(unit != lastUnit) {
+            lastConversion = UnitConverter.plan(unit, this.unit);
+            lastUnit = unit;
+        }
+        add(timestamp, lastConversion.applyAsDouble(quantity));
+    }
+
+    /**
+     * Adds a Measure, without creating a converted Measure.
+     * @param timestamp of the Measure.
+     * @param measure to add.
+     * @throws IllegalArgumentException if the timestamp is before the latest timestamp.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public void add(final long timestamp, final Measure measure) {
+        add(timestamp, measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Slides the window to end at the supplied timestamp without adding a quantity, removing every
+     * quantity which is no longer within the window.
+     *
+     * @param timestamp the new end of the window.
+     * @throws IllegalArgumentException if the timestamp is before the latest timestamp.
+     */
+    public void advanceTo(final long timestamp) {
+        if(timestamp < latestTimestamp) {
+            throw new IllegalArgumentException("Timestamp " + timestamp + " is before the latest timestamp " + latestTimestamp + ".");
+        }
+        latestTimestamp = timestamp;
+        final long start = timestamp - windowLength;
+        while(size > 0 && timestamps[head] <= start) {
+            removeFirst();
+        }
+    }
+
+    private void removeFirst() {
+        final double quantity = quantities[head];
+        if(Double.isNaN(quantity)) {
+            nans--;
+        } else if(quantity == Double.POSITIVE_INFINITY) {
+            positiveInfinities--;
+        } else if(quantity == Double.NEGATIVE_INFINITY) {
+            negativeInfinities--;
+        } else {
+            addToSum(-quantity);
+        }
+        if(!minimums.isEmpty() && minimums.peekFirst() == headSequence) {
+            minimums.removeFirst();
+        }
+        if(!maximums.isEmpty() && maximums.peekFirst() == headSequence) {
+            maximums.removeFirst();
+        }
+        head = (head + 1) & (timestamps.length - 1);
+        headSequence++;
+        size--;
+        if(size == 0) {
+            // Start again from exactly 0, so that rounding errors cannot accumulate forever.
+            sum = 0.0;
+            compensation = 0.0;
+        }
+    }
+
+    private void addToSum(final double quantity) {
+        final double total = sum + quantity;
+        if(Math.abs(sum) >= Math.abs(quantity)) {
+            compensation += (sum - total) + quantity;
+        } else {
+            compensation += (quantity - total) + sum;
+        }
+        sum = total;
+    }
+
+    private double quantity(final long sequence) {
+        return quantities[(head + (int) (sequence - headSequence)) & (quantities.length - 1)];
+    }
+
+    private void grow() {
+        final long[] newTimestamps = new long[timestamps.length * 2];
+        final double[] newQuantities = new double[quantities.length * 2];
+        for(int i = 0; i < size; ++i) {
+            final int index = (head + i) & (timestamps.length - 1);
+            newTimestamps[i] = timestamps[index];
+            newQuantities[i] = quantities[index];
+        }
+        timestamps = newTimestamps;
+        quantities = newQuantities;
+        head = 0;
+    }
+
+    /**
+     * Gets the Unit which the results are represented in.
+     * @return the Unit which the results are represented in.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the length of the window, in the same unit of time as the timestamps.
+     * @return the length of the window.
+     */
+    public long getWindowLength() {
+        return windowLength;
+    }
+
+    /**
+     * Gets the number of quantities in the window.
+     * @return the number of quantities in the window.
+     */
+    public int getCount() {
+        return size;
+    }
+
+    /**
+     * Gets the compensated sum of the quantities in the window.
+     * @return the sum, which is 0 if the window is empty.
+     */
+    public double getSum() {
+        if(nans > 0 || (positiveInfinities > 0 && negativeInfinities > 0)) {
+            return Double.NaN;
+        } else if(positiveInfinities > 0) {
+            return Double.POSITIVE_INFINITY;
+        } else if(negativeInfinities > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return sum + compensation;
+    }
+
+    /**
+     * Gets the arithmetic mean of the quantities in the window.
+     * @return the mean, or NaN if the window is empty.
+     */
+    public double getMean() {
+        return size == 0 ? Double.NaN : getSum() / size;
+    }
+
+    /**
+     * Gets the smallest quantity in the window.
+     * @return the smallest quantity, or positive infinity if the window is empty.
+     */
+    public double getMin() {
+        return minimums.isEmpty() ? Double.POSITIVE_INFINITY : quantity(minimums.peekFirst());
+    }
+
+    /**
+     * Gets the largest quantity in the window.
+     * @return the largest quantity, or negative infinity if the window is empty.
+     */
+    public double getMax() {
+        return maximums.isEmpty() ? Double.NEGATIVE_INFINITY : quantity(maximums.peekFirst());
+    }
+
+    /**
+     * Gets the quantities in the window, oldest first.
+     * @return a new array of the quantities in the window.
+     */
+    public double[] toArray() {
+        final double[] result = new double[size];
+        for(int i = 0; i < size; ++i) {
+            result[i] = quantities[(head + i) & (quantities.length - 1)];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, sum=%f, min=%f, mean=%f, max=%f, unit=%s}", getClass().getSimpleName(), size, getSum(), getMin(), getMean(), getMax(), unit);
+    }
+
+    /** A double ended queue of sequence numbers, stored in a ring buffer. */
+    private static final class SequenceDeque {
+
+        private long[] sequences = new long[DEFAULT_CAPACITY];
+
+        private int head;
+
+        private int size;
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private long peekFirst() {
+            return sequences[head];
+        }
+
+        private long peekLast() {
+            return sequences[(head + size - 1) & (sequences.length - 1)];
+        }
+
+        private void addLast(final long sequence) {
+            if(size == sequences.length) {
+                final long[] newSequences = Arrays.copyOfRange(sequences, head, head + sequences.length * 2);
+                System.arraycopy(sequences, 0, newSequences, sequences.length - head, head);
+                sequences = newSequences;
+                head = 0;
+            }
+            sequences[(head + size) & (sequences.length - 1)] = sequence;
+            size++;
+        }
+
+        private void removeFirst() {
+            head = (head + 1) & (sequences.length - 1);
+            size--;
+        }
+
+        private void removeLast() {
+            size--;
+        }
+
+    }
+
+}
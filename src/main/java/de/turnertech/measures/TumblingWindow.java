@@ -0,0 +1,147 @@
+package de.turnertech.measures;
+
+import java.util.Objects;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * <p>Aggregates the quantities of a time series over tumbling windows, which are consecutive,
+ * non-overlapping windows of a fixed length. Timestamps are longs in any unit of time chosen by the
+ * caller, such as milliseconds, and the windows start at whole multiples of the window length, so
+ * that a window of 60000 milliseconds covers each minute.</p>
+ *
+ * <p>Each window is accumulated in a {@link MeasureStatistics}, which converts the quantities into
+ * the Unit supplied when the TumblingWindow is constructed as they are added. Adding a quantity
+ * takes constant time, and nothing is stored per quantity. When a quantity with a timestamp after the
+ * current window is added, the statistics of the current window are passed to the listener along with
+ * the start of the window, and a new window is begun. Windows without quantities are never passed to
+ * the listener, and the final window is only passed to it by {@link #flush()}.</p>
+ *
+ * <p>Quantities within a window may be added in any order, but a quantity may not be added to a
+ * window which has already been passed to the listener. This class is not thread safe.</p>
+ */
+public class TumblingWindow {
+
+    private final Unit unit;
+
+    private final long windowLength;
+
+    private final ObjLongConsumer<MeasureStatistics> listener;
+
+    private MeasureStatistics current;
+
+    private long currentStart;
+
+    /** False until the first quantity is added, as there is no current window to be before. */
+    private boolean started;
+
+    /**
+     * Constructs an instance without a current window.
+     * @param unit the Unit which quantities are converted to, and the results are represented in.
+     * @param windowLength the length of each window, in the same unit of time as the timestamps. Must be positive.
+     * @param listener called with the statistics and the start timestamp of every completed window.
+     */
+    public TumblingWindow(final Unit unit, final long windowLength, final ObjLongConsumer<MeasureStatistics> listener) {
+        if(windowLength <= 0) {
+            throw new IllegalArgumentException("Window length must be positive.");
+        }
+        this.unit = Objects.requireNonNull(unit, "Unit instance provided to TumblingWindow constructor may not be null");
+        this.windowLength = windowLength;
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    /**
+     * Adds a quantity which is already represented in {@link #getUnit()}.
+     * @param timestamp of the quantity.
+     * @param quantity to add.
+     * @throws IllegalArgumentException if the timestamp is before the current window.
+     */
+    public void add(final long timestamp, final double quantity) {
+        windowFor(timestamp).accept(quantity);
+    }
+
+    /**
+     * Adds a quantity of any Unit which can be converted to {@link #getUnit()}.
+     * @param timestamp of the quantity.
+     * @param quantity to add.
+     * @param unit of the quantity.
+     * @throws IllegalArgumentException if the timestamp is before the current window.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public void add(final long timestamp, final double quantity, final Unit unit) {
+        windowFor(timestamp).accept(quantity, unit);
+    }
+
+    /**
+     * Adds a Measure, without creating a converted Measure.
+     * @param timestamp of the Measure.
+     * @param measure to add.
+     * @throws IllegalArgumentException if the timestamp is before the current window.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public void add(final long timestamp, final Measure measure) {
+        windowFor(timestamp).accept(measure.getQuantity(), measure.getUnit());
+    }
+
+    /**
+     * Passes the current window to the listener, if it has any quantities, even though it may not
+     * have ended. Quantities added afterwards with timestamps in the same window are rejected.
+     */
+    public void flush() {
+        if(current != null) {
+            final MeasureStatistics completed = current;
+            current = null;
+            currentStart += windowLength;
+            if(completed.getCount() > 0) {
+                listener.accept(completed, currentStart - windowLength);
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of the current window, which are updated as quantities are added.
+     * @return the current window, or null if there is none.
+     */
+    public MeasureStatistics getCurrent() {
+        return current;
+    }
+
+    /**
+     * Gets the start timestamp of the current window.
+     * @return the start of the current window, or of the next window after a flush.
+     */
+    public long getCurrentStart() {
+        return currentStart;
+    }
+
+    /**
+     * Gets the Unit which the results are represented in.
+     * @return the Unit which the results are represented in.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the length of each window, in the same unit of time as the timestamps.
+     * @return the length of each window.
+     */
+    public long getWindowLength() {
+        return windowLength;
+    }
+
+    private MeasureStatistics windowFor(final long timestamp) {
+        final long start = Math.floorDiv(timestamp, windowLength) * windowLength;
+        if(current != null && start == currentStart) {
+            return current;
+        }
+        if(started && start < currentStart) {
+            throw new IllegalArgumentException("Timestamp " + timestamp + " is before the current window, which starts at " + currentStart + ".");
+        }
+        flush();
+        started = true;
+        current = new MeasureStatistics(unit);
+        currentStart = start;
+        return current;
+    }
+
+}
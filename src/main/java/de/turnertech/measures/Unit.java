@@ -1,10 +1,23 @@
 package de.turnertech.measures;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
 
 /**
- * A Unit is a single instance of a Measurement, such as a Metre or a Degree Celsius.
+ * <p>A Unit is a single instance of a Measurement, such as a Metre or a Degree Celsius.</p>
+ *
+ * <p>Units are compared by identity, so every Unit has a canonical instance, see
+ * {@link #getCanonicalUnit()}, which the {@link UnitConverter} uses in place of it. Constructing a
+ * Unit with the same symbol and definition as an existing one, such as
+ * {@code new Unit("ft", Unit.METRE, 0.3048, 0.0)}, therefore converts exactly as the existing Unit
+ * does, including any scalars or functions registered for it.</p>
  */
 public class Unit {
     
@@ -12,34 +25,34 @@ public class Unit {
     public static final Unit KELVIN = new Unit("K");
     
     /** Cel */
-    public static final Unit DEGREES_CELSIUS = new Unit("°C", KELVIN, (celsius) -> celsius + 273.15, (kelvin) -> kelvin - 273.15);
+    public static final Unit DEGREES_CELSIUS = new Unit("°C", KELVIN, 1.0, 273.15);
     
     /** degF */
-    public static final Unit DEGREES_FAHRENHEIT = new Unit("°F", KELVIN, (fahrenheit) -> (fahrenheit - 32) * 5.0/9.0 + 273.15, (kelvin) -> (kelvin - 273.15) * 9/5 + 32);
+    public static final Unit DEGREES_FAHRENHEIT = new Unit("°F", KELVIN, new BigDecimal("-32"), new BigDecimal("5"), new BigDecimal("9"), new BigDecimal("273.15"), null);
     
     /** m */
     public static final Unit METRE = new Unit("m");
     
     /** cm */
-    public static final Unit CENTIMETRE = new Unit("cm", METRE, (centimetre) -> centimetre * 0.01, (metre) -> metre * 100.0);
+    public static final Unit CENTIMETRE = prefixed(Prefix.CENTI, METRE);
     
     /** in_i */
-    public static final Unit INCH = new Unit("in", METRE, (inch) -> inch * 0.0254, (metre) -> metre / 0.0254);
+    public static final Unit INCH = new Unit("in", METRE, 0.0254, 0.0);
     
     /** ft_i */
-    public static final Unit FOOT = new Unit("ft", METRE, (foot) -> foot * 0.3048, (metre) -> metre / 0.3048);
+    public static final Unit FOOT = new Unit("ft", METRE, 0.3048, 0.0);
     
     /** yd_i */
-    public static final Unit YARD = new Unit("yd", METRE, (yard) -> yard * 0.9144, (metre) -> metre / 0.9144);
+    public static final Unit YARD = new Unit("yd", METRE, 0.9144, 0.0);
     
     /** mi_i */
-    public static final Unit MILE = new Unit("mi", METRE, (mile) -> mile * 1609.344, (metre) -> metre / 1609.344);
+    public static final Unit MILE = new Unit("mi", METRE, 1609.344, 0.0);
     
     /** km */
-    public static final Unit KILOMETRE = new Unit("km", METRE, (kilometer) -> kilometer * 1000.0, (metre) -> metre * 0.001);
+    public static final Unit KILOMETRE = prefixed(Prefix.KILO, METRE);
     
     /** nmi_i */
-    public static final Unit NAUTICAL_MILE = new Unit("NM", METRE, (nmi_i) -> nmi_i * 1852.0, (metre) -> metre / 1852.0);
+    public static final Unit NAUTICAL_MILE = new Unit("NM", METRE, 1852.0, 0.0);
     
     /** s */
     public static final Unit SECOND = new Unit("s");
@@ -48,20 +61,52 @@ public class Unit {
     public static final Unit GRAM = new Unit("g");
     
     /** lb_av */
-    public static final Unit POUND = new Unit("lb", Unit.GRAM, (gram) -> gram * 453.59237, (pound) -> pound / 453.59237);
+    public static final Unit POUND = new Unit("lb", Unit.GRAM, 453.59237, 0.0);
         
     /** deg */
     public static final Unit DEGREE = new Unit("°");
     
     /** ' */
-    public static final Unit MINUTE_ANGLE = new Unit("'", Unit.DEGREE, (min) -> min / 60.0, (deg) -> deg * 60.0);
+    public static final Unit MINUTE_ANGLE = new Unit("'", Unit.DEGREE, 1.0, 60.0, 0.0);
     
     /** " */
-    public static final Unit SECOND_ANGLE = new Unit("\"", Unit.DEGREE, (sec) -> sec / 3600.0, (deg) -> deg / 3600.0);
+    public static final Unit SECOND_ANGLE = new Unit("\"", Unit.DEGREE, 1.0, 3600.0, 0.0);
     
     /** rad */
-    public static final Unit RADIAN = new Unit("rad", Unit.DEGREE, (rad) -> rad * 180.0 / Math.PI, (deg) -> deg * Math.PI / 180.0);
+    public static final Unit RADIAN = new Unit("rad", Unit.DEGREE, 180.0, Math.PI, 0.0);
     
+    /** h */
+    public static final Unit HOUR = new Unit("h", Unit.SECOND, 3600.0, 0.0);
+
+    /** m/s */
+    public static final Unit METRE_PER_SECOND = METRE.divide(SECOND);
+
+    /** km/h */
+    public static final Unit KILOMETRE_PER_HOUR = KILOMETRE.divide(HOUR);
+
+    /** [kn_i] */
+    public static final Unit KNOT = intern(new Unit("kn", METRE_PER_SECOND, 1852.0, 3600.0, 0.0));
+
+    /** N */
+    public static final Unit NEWTON = intern(new Unit("N", GRAM.multiply(METRE).divide(SECOND.pow(2)), 1000.0, 0.0));
+
+    /** Pa */
+    public static final Unit PASCAL = intern(new Unit("Pa", NEWTON.getBaseUnit().divide(METRE.pow(2)), 1000.0, 0.0));
+
+    /** All of the above constants. New constants must be appended, as the index is their {@link UnitRegistry} ID. */
+    static final List<Unit> BUILT_IN_UNITS = List.of(KELVIN, DEGREES_CELSIUS, DEGREES_FAHRENHEIT, METRE, CENTIMETRE, INCH, FOOT, YARD, MILE, KILOMETRE, NAUTICAL_MILE, SECOND, GRAM, POUND, DEGREE, MINUTE_ANGLE, SECOND_ANGLE, RADIAN, HOUR, METRE_PER_SECOND, KILOMETRE_PER_HOUR, KNOT, NEWTON, PASCAL);
+
+    static {
+        // The constants are canonical, even if equivalent Units are constructed before they are used.
+        for(final Unit unit : BUILT_IN_UNITS) {
+            unit.getCanonicalUnit();
+            internBaseUnit(unit);
+        }
+    }
+
+    private static final String SCALE_MESSAGE = "Unit scales must be finite and may not be 0.";
+
+    private static final String OFFSET_MESSAGE = "Unit offsets must be finite.";
 
     private final Unit baseUnit;
 
@@ -71,10 +116,82 @@ public class Unit {
 
     private final DoubleUnaryOperator fromBaseUnitFunction;
 
+    private final Dimension dimension;
+
+    /**
+     * Orders the terms of a {@link Dimension} if this is a base unit, or -1 until it is needed, see
+     * {@link Dimension#baseIndex(Unit)}. Only base units which are interned, or combined with other
+     * Units, are given an index, so that base units which are constructed and thrown away do not use
+     * any up.
+     */
+    volatile int baseIndex = -1;
+
+    /** Numerator of the affine scale to the base unit, or NaN if this Unit is not affine. */
+    final double scaleNumerator;
+
+    /** Denominator of the affine scale to the base unit, or NaN if this Unit is not affine. */
+    final double scaleDenominator;
+
+    /** Offset of the affine conversion to the base unit, added after scaling, or NaN if this Unit is not affine. */
+    final double offset;
+
+    /**
+     * Offset of the affine conversion to the base unit, added to the quantity of this Unit before
+     * scaling, or NaN if this Unit is not affine. Only non-zero for {@link Unit#DEGREES_FAHRENHEIT},
+     * which is defined as {@code (quantity - 32) * 5 / 9 + 273.15} so that both offsets are applied
+     * exactly.
+     */
+    final double preOffset;
+
+    /**
+     * The exact decimal definition of an affine Unit, from which the doubles above are rounded, or
+     * null if this Unit is not affine. Scales and offsets supplied as doubles are read as the shortest
+     * decimal which rounds to them, which is the decimal written in the source, and the scales of
+     * prefixed and derived Units are the exact products of the scales they are made from.
+     */
+    final BigDecimal exactScaleNumerator;
+
+    /** See {@link #exactScaleNumerator}. */
+    final BigDecimal exactScaleDenominator;
+
+    /** See {@link #exactScaleNumerator}. */
+    final BigDecimal exactOffset;
+
+    /** See {@link #exactScaleNumerator}. */
+    final BigDecimal exactPreOffset;
+
+    /** The ID given to this Unit by the {@link UnitRegistry}, or -1 if it is not registered. */
+    volatile int registryId = -1;
+
+    /**
+     * Dense index of this Unit, which indexes the conversion table of every canonical Unit, or -1 until
+     * a conversion to this Unit is first cached. Only canonical Units are given an ordinal, so Units
+     * which are constructed and canonicalised away do not use any up.
+     */
+    volatile int ordinal = -1;
+
+    /** The canonical instance of this Unit, or null until it is first needed. */
+    private Unit canonical;
+
+    /**
+     * <p>The row of the conversion table for this Unit, which holds conversions planned by the
+     * {@link UnitConverter} from this Unit, indexed by the ordinal of the output Unit. Only used
+     * on canonical Units.</p>
+     *
+     * <p>The array is replaced when it grows, but entries are written without synchronisation. A write
+     * may therefore be lost when two threads grow the array at once, which only means that a
+     * conversion is planned again. As every field of a UnitConversion is final, a reader which sees an
+     * entry always sees it fully constructed.</p>
+     */
+    private volatile UnitConversion[] conversions = Canonical.NO_CONVERSIONS;
+
+    /** The row of the table of exact conversions, maintained in the same way as the conversions. */
+    private volatile ExactConversion[] exactConversions = Canonical.NO_EXACT_CONVERSIONS;
+
     /**
      * Constructs a "Base Unit", where its own base unit is iteself, and 
      * conversions to and from its base unit will alway return the same value
-     * as input ({@link DoubleUnaryOperator#identity()}).
+     * as input (an affine Unit with a scale of 1 and an offset of 0).
      */
     public Unit() {
         this("");
@@ -83,12 +200,12 @@ public class Unit {
     /**
      * Constructs a "Base Unit", where its own base unit is iteself, and 
      * conversions to and from its base unit will alway return the same value
-     * as input ({@link DoubleUnaryOperator#identity()}).
+     * as input (an affine Unit with a scale of 1 and an offset of 0).
      * 
      * @param symbol may not be null.
      */
     public Unit(final String symbol) {
-        this(symbol, null, DoubleUnaryOperator.identity(), DoubleUnaryOperator.identity());
+        this(symbol, null, 1.0, 1.0, 0.0);
     }
     
     /**
@@ -106,8 +223,104 @@ public class Unit {
         this.symbol = Objects.requireNonNull(symbol);
         this.toBaseUnitFunction = Objects.requireNonNull(toBaseUnitFunction);
         this.fromBaseUnitFunction = Objects.requireNonNull(fromBaseUnitFunction);
+        this.dimension = baseUnit == null ? Dimension.base(this) : baseUnit.dimension;
+        this.scaleNumerator = Double.NaN;
+        this.scaleDenominator = Double.NaN;
+        this.offset = Double.NaN;
+        this.preOffset = Double.NaN;
+        this.exactScaleNumerator = null;
+        this.exactScaleDenominator = null;
+        this.exactOffset = null;
+        this.exactPreOffset = null;
+    }
+
+    /**
+     * <p>Constructs an affine Unit, where a quantity of this Unit is converted
+     * to its base unit as {@code quantity * scale + offset}. For example, a 
+     * {@link Unit#FOOT} has the scale 0.3048 and the offset 0.</p>
+     * 
+     * <p>Affine Units should be preferred over Units defined with conversion
+     * functions, as the {@link UnitConverter} is able to combine the scales 
+     * and offsets of two Units into a single conversion.</p>
+     * 
+     * @param symbol may not be null.
+     * @param baseUnit the unit to which the scale and offset will convert. 
+     * Supplying null will make the base unit the unit itself (this).
+     * @param scale the number of base units in one of this Unit. May not be 0.
+     * @param offset the quantity of the base unit which is added after scaling.
+     */
+    public Unit(final String symbol, final Unit baseUnit, final double scale, final double offset) {
+        this(symbol, baseUnit, scale, 1.0, offset);
+    }
+
+    /**
+     * <p>Constructs an affine Unit, where a quantity of this Unit is converted
+     * to its base unit as {@code quantity * scaleNumerator / scaleDenominator + offset}.</p>
+     * 
+     * <p>The scale is supplied as a ratio so that Units which are a fraction 
+     * of their base unit can be defined without first rounding the fraction. 
+     * For example, the {@link Unit#MINUTE_ANGLE} is defined with the ratio 
+     * 1 / 60 and will divide by 60, instead of multiplying by 0.01666.</p>
+     * 
+     * @param symbol may not be null.
+     * @param baseUnit the unit to which the scale and offset will convert. 
+     * Supplying null will make the base unit the unit itself (this).
+     * @param scaleNumerator numerator of the scale ratio. May not be 0.
+     * @param scaleDenominator denominator of the scale ratio. May not be 0.
+     * @param offset the quantity of the base unit which is added after scaling.
+     */
+    public Unit(final String symbol, final Unit baseUnit, final double scaleNumerator, final double scaleDenominator, final double offset) {
+        this(symbol, baseUnit, BigDecimal.ZERO, decimal(scaleNumerator, SCALE_MESSAGE), decimal(scaleDenominator, SCALE_MESSAGE), decimal(offset, OFFSET_MESSAGE), null);
+    }
+
+    /** Constructs the coherent Unit of a derived Dimension, which is its own base unit. */
+    private Unit(final String symbol, final Dimension dimension) {
+        this(symbol, null, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ZERO, dimension);
+    }
+
+    private Unit(final String symbol, final Unit baseUnit, final BigDecimal exactPreOffset, final BigDecimal exactScaleNumerator, final BigDecimal exactScaleDenominator, final BigDecimal exactOffset, final Dimension dimension) {
+        final double preOffset = exactPreOffset.doubleValue();
+        final double scaleNumerator = exactScaleNumerator.doubleValue();
+        final double scaleDenominator = exactScaleDenominator.doubleValue();
+        final double offset = exactOffset.doubleValue();
+        if(scaleNumerator == 0.0 || scaleDenominator == 0.0 || !Double.isFinite(scaleNumerator) || !Double.isFinite(scaleDenominator)) {
+            throw new ArithmeticException(SCALE_MESSAGE);
+        }
+        if(!Double.isFinite(offset) || !Double.isFinite(preOffset)) {
+            throw new ArithmeticException(OFFSET_MESSAGE);
+        }
+        this.baseUnit = Objects.requireNonNullElse(baseUnit, this);
+        this.symbol = Objects.requireNonNull(symbol);
+        this.scaleNumerator = scaleNumerator;
+        this.scaleDenominator = scaleDenominator;
+        this.offset = offset;
+        this.preOffset = preOffset;
+        this.exactScaleNumerator = exactScaleNumerator;
+        this.exactScaleDenominator = exactScaleDenominator;
+        this.exactOffset = exactOffset;
+        this.exactPreOffset = exactPreOffset;
+        if(dimension != null) {
+            this.dimension = dimension;
+        } else {
+            this.dimension = baseUnit == null ? Dimension.base(this) : baseUnit.dimension;
+        }
+        if(preOffset == 0.0) {
+            this.toBaseUnitFunction = (quantity) -> quantity * scaleNumerator / scaleDenominator + offset;
+            this.fromBaseUnitFunction = (quantity) -> (quantity - offset) * scaleDenominator / scaleNumerator;
+        } else {
+            this.toBaseUnitFunction = (quantity) -> (quantity + preOffset) * scaleNumerator / scaleDenominator + offset;
+            this.fromBaseUnitFunction = (quantity) -> (quantity - offset) * scaleDenominator / scaleNumerator - preOffset;
+        }
     }
     
+    /** Reads a scale or offset supplied as a double as the shortest decimal which rounds to it. */
+    private static BigDecimal decimal(final double value, final String message) {
+        if(!Double.isFinite(value)) {
+            throw new ArithmeticException(message);
+        }
+        return BigDecimal.valueOf(value);
+    }
+
     /**
      * Helper function for creating measures with a Unit.
      * 
@@ -129,6 +342,280 @@ public class Unit {
         return baseUnit;
     }
 
+    /**
+     * Gets the Dimension of this Unit, which it shares with its base unit and all other Units of the
+     * same family. For example, {@link Unit#KNOT} has the Dimension m·s⁻¹.
+     *
+     * @return the Dimension of this Unit.
+     */
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * <p>Gets the Unit of the product of a quantity of this Unit and a quantity of another, for
+     * example Newton metres. The scale of the result is the product of the scales of both Units
+     * relative to their base units, so conversions of the result are as accurate as those of the
+     * operands.</p>
+     *
+     * <p>Derived Units are interned. Deriving a Unit with the same Dimension and scale as an existing
+     * derived Unit returns the existing instance, and deriving a Unit with a scale of 1 returns the
+     * coherent Unit of the Dimension, which is the base unit of all Units of that Dimension.</p>
+     *
+     * @param other the Unit to multiply by.
+     * @return the product of both Units.
+     * @throws UnsupportedOperationException if either Unit is not affine, or has an offset.
+     */
+    public Unit multiply(final Unit other) {
+        final BigDecimal[] scale = coherentScale();
+        final BigDecimal[] otherScale = other.coherentScale();
+        return derive(dimension.multiply(other.dimension), scale[0].multiply(otherScale[0]), scale[1].multiply(otherScale[1]),
+                () -> parenthesise(this, "/") + "·" + parenthesise(other, "/"));
+    }
+
+    /**
+     * Gets the Unit of the quotient of a quantity of this Unit and a quantity of another, for
+     * example {@link Unit#METRE_PER_SECOND}. Derived Units are interned as per
+     * {@link #multiply(Unit)}.
+     *
+     * @param other the Unit to divide by.
+     * @return the quotient of both Units.
+     * @throws UnsupportedOperationException if either Unit is not affine, or has an offset.
+     */
+    public Unit divide(final Unit other) {
+        final BigDecimal[] scale = coherentScale();
+        final BigDecimal[] otherScale = other.coherentScale();
+        return derive(dimension.divide(other.dimension), scale[0].multiply(otherScale[1]), scale[1].multiply(otherScale[0]),
+                () -> parenthesise(this, "/") + "/" + parenthesise(other, "/·"));
+    }
+
+    /**
+     * Gets the Unit of a quantity of this Unit raised to a power, for example square metres.
+     * Derived Units are interned as per {@link #multiply(Unit)}.
+     *
+     * @param exponent the power, which may be negative.
+     * @return this Unit raised to the power.
+     * @throws UnsupportedOperationException if this Unit is not affine, or has an offset.
+     */
+    public Unit pow(final int exponent) {
+        final BigDecimal[] scale = coherentScale();
+        if(exponent == 1) {
+            return this;
+        }
+        final BigDecimal numerator = scale[0].pow(Math.abs(exponent));
+        final BigDecimal denominator = scale[1].pow(Math.abs(exponent));
+        return derive(dimension.pow(exponent), exponent < 0 ? denominator : numerator, exponent < 0 ? numerator : denominator, () -> {
+            final StringBuilder builder = new StringBuilder(parenthesise(this, "/·"));
+            Dimension.appendSuperscript(exponent, builder);
+            return builder.toString();
+        });
+    }
+
+    /**
+     * <p>Gets a decimal multiple or fraction of a Unit, for example
+     * {@code Unit.prefixed(Prefix.MILLI, Unit.METRE)}. The result shares the base unit of the supplied
+     * Unit, and its scale is the exact product of the prefix and the scale of the Unit, so that
+     * converting between two prefixed Units, such as kilometres to millimetres, is a single
+     * multiplication.</p>
+     *
+     * <p>Prefixed Units are interned, so the same instance is returned for the same prefix and Unit,
+     * and {@link Unit#KILOMETRE} and {@link Unit#CENTIMETRE} are returned for metres. Identical Units
+     * are converted without any arithmetic at all.</p>
+     *
+     * @param prefix to apply.
+     * @param unit to apply the prefix to.
+     * @return the prefixed Unit.
+     * @throws UnsupportedOperationException if the Unit is not affine, or has an offset.
+     */
+    public static Unit prefixed(final Prefix prefix, final Unit unit) {
+        Objects.requireNonNull(prefix);
+        if(!unit.isAffine() || unit.hasOffset()) {
+            throw new UnsupportedOperationException("Unit " + unit + " is not a simple scale of its base unit, and cannot be prefixed.");
+        }
+        return DerivedUnits.PREFIXED.computeIfAbsent(List.of(prefix, unit), (key) -> new Unit(prefix.getSymbol() + parenthesise(unit, "/·"), unit.baseUnit,
+                BigDecimal.ZERO, BigDecimal.valueOf(prefix.scaleNumerator).multiply(unit.exactScaleNumerator),
+                BigDecimal.valueOf(prefix.scaleDenominator).multiply(unit.exactScaleDenominator), BigDecimal.ZERO, null));
+    }
+
+    /**
+     * Gets the scale of this Unit relative to the coherent Unit of its Dimension as a numerator and
+     * denominator, following the chain of base units.
+     */
+    private BigDecimal[] coherentScale() {
+        BigDecimal numerator = BigDecimal.ONE;
+        BigDecimal denominator = BigDecimal.ONE;
+        for(Unit unit = this; unit.baseUnit != unit; unit = unit.baseUnit) {
+            if(!unit.isAffine() || unit.hasOffset()) {
+                throw new UnsupportedOperationException("Unit " + unit + " is not a simple scale of its base unit, and cannot be combined with other Units.");
+            }
+            numerator = numerator.multiply(unit.exactScaleNumerator);
+            denominator = denominator.multiply(unit.exactScaleDenominator);
+        }
+        return new BigDecimal[] {numerator, denominator};
+    }
+
+    private static String parenthesise(final Unit unit, final String operators) {
+        for(int i = 0; i < operators.length(); ++i) {
+            if(unit.symbol.indexOf(operators.charAt(i)) >= 0) {
+                return "(" + unit.symbol + ")";
+            }
+        }
+        return unit.symbol;
+    }
+
+    private static Unit derive(final Dimension dimension, final BigDecimal scaleNumerator, final BigDecimal scaleDenominator, final Supplier<String> symbol) {
+        final Unit coherent = coherentUnit(dimension);
+        if(scaleNumerator.compareTo(scaleDenominator) == 0) {
+            return coherent;
+        }
+        return DerivedUnits.BY_SCALE.computeIfAbsent(scaleKey(coherent, scaleNumerator, scaleDenominator),
+                (key) -> new Unit(symbol.get(), coherent, BigDecimal.ZERO, scaleNumerator, scaleDenominator, BigDecimal.ZERO, null));
+    }
+
+    /**
+     * Gets the key of a derived Unit in {@link DerivedUnits#BY_SCALE}, with the scale reduced to a ratio
+     * of coprime integers, so that equal scales such as 2 / 4 and 1 / 2 have equal keys.
+     */
+    private static List<Object> scaleKey(final Unit coherent, final BigDecimal scaleNumerator, final BigDecimal scaleDenominator) {
+        final int scale = Math.max(scaleNumerator.scale(), scaleDenominator.scale());
+        BigInteger numerator = scaleNumerator.movePointRight(scale).toBigIntegerExact();
+        BigInteger denominator = scaleDenominator.movePointRight(scale).toBigIntegerExact();
+        final BigInteger divisor = numerator.gcd(denominator);
+        numerator = numerator.divide(divisor);
+        denominator = denominator.divide(divisor);
+        if(denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        return List.of(coherent, numerator, denominator);
+    }
+
+    private static Unit coherentUnit(final Dimension dimension) {
+        final Unit base = dimension.getBaseUnit();
+        if(base != null) {
+            return base;
+        }
+        return DerivedUnits.COHERENT.computeIfAbsent(dimension, (key) -> new Unit(key.symbol(), key));
+    }
+
+    /** Makes a Unit the interned result of deriving a Unit with its Dimension and scale. */
+    private static Unit intern(final Unit unit) {
+        final BigDecimal[] scale = unit.coherentScale();
+        final Unit existing = DerivedUnits.BY_SCALE.putIfAbsent(scaleKey(coherentUnit(unit.dimension), scale[0], scale[1]), unit);
+        if(existing != null) {
+            throw new IllegalStateException("Unit " + unit + " is already derived as " + existing + ".");
+        }
+        return unit;
+    }
+
+    /**
+     * <p>Gets the canonical instance of this Unit, which is the first Unit with the same symbol and
+     * definition to be canonicalised, with the constants of this class canonicalised first. The {@link UnitConverter} plans conversions between canonical Units, so a
+     * Unit which is not canonical still takes every fast path, and uses every scalar and function
+     * registered for its canonical Unit.</p>
+     *
+     * <p>Affine Units share a definition if they have the same symbol, the same canonical base unit,
+     * and the same scale and offset. Base units define their own {@link Dimension}, so a base unit is
+     * only replaced by a constant of this class or a Unit registered with the {@link UnitRegistry}
+     * with the same symbol. Units defined with conversion functions cannot be compared, and are
+     * always their own canonical instance.</p>
+     *
+     * @return the canonical instance, which may be this Unit.
+     */
+    public Unit getCanonicalUnit() {
+        Unit result = canonical;
+        if(result == null) {
+            // Racing threads find the same instance, so the field needs no synchronisation.
+            result = Canonical.of(this);
+            canonical = result;
+        }
+        return result;
+    }
+
+    /** Gets the conversion to a Unit from the conversion table, or null if none has been planned. */
+    UnitConversion getCachedConversion(final Unit unitOut) {
+        final UnitConversion[] row = conversions;
+        final int index = unitOut.ordinal;
+        return index >= 0 && index < row.length ? row[index] : null;
+    }
+
+    /** Stores a planned conversion to a Unit in the conversion table. */
+    void cacheConversion(final Unit unitOut, final UnitConversion conversion) {
+        final int index = Canonical.ordinal(unitOut);
+        UnitConversion[] row = conversions;
+        if(index >= row.length) {
+            row = Arrays.copyOf(row, Canonical.rowLength(index, row.length));
+        }
+        row[index] = conversion;
+        conversions = row;
+    }
+
+    /** Gets the exact conversion to a Unit from the table of exact conversions, or null if none has been planned. */
+    ExactConversion getCachedExactConversion(final Unit unitOut) {
+        final ExactConversion[] row = exactConversions;
+        final int index = unitOut.ordinal;
+        return index >= 0 && index < row.length ? row[index] : null;
+    }
+
+    /** Stores a planned exact conversion to a Unit in the table of exact conversions. */
+    void cacheExactConversion(final Unit unitOut, final ExactConversion conversion) {
+        final int index = Canonical.ordinal(unitOut);
+        ExactConversion[] row = exactConversions;
+        if(index >= row.length) {
+            row = Arrays.copyOf(row, Canonical.rowLength(index, row.length));
+        }
+        row[index] = conversion;
+        exactConversions = row;
+    }
+
+    /** Makes a base unit the canonical instance of its symbol, if no other is. Used by the {@link UnitRegistry}. */
+    static void internBaseUnit(final Unit unit) {
+        if(unit.baseUnit == unit && unit.isAffine()) {
+            Canonical.UNITS.putIfAbsent(List.of(unit.symbol), unit);
+            if(unit.dimension.getBaseUnit() == unit) {
+                Dimension.baseIndex(unit);
+            }
+        }
+    }
+
+    /**
+     * Checks if this Unit was defined using a scale and offset, as opposed to 
+     * conversion functions. Base units are always affine.
+     * 
+     * @return true if this Unit is affine.
+     */
+    public boolean isAffine() {
+        return !Double.isNaN(scaleNumerator);
+    }
+
+    /** Checks if an affine Unit has an offset before or after scaling. */
+    boolean hasOffset() {
+        return offset != 0.0 || preOffset != 0.0;
+    }
+
+    /**
+     * Gets the number of base units in one of this Unit. For example, 
+     * {@link Unit#KILOMETRE} has a scale of 1000.
+     * 
+     * @return the scale of this Unit, or NaN if this Unit is not affine.
+     */
+    public double getScale() {
+        return scaleNumerator / scaleDenominator;
+    }
+
+    /**
+     * Gets the quantity of the base unit which is added after scaling when 
+     * converting to the base unit. For example, {@link Unit#DEGREES_CELSIUS}
+     * has an offset of 273.15. A Unit which is converted with an offset
+     * before scaling, such as {@link Unit#DEGREES_FAHRENHEIT}, returns the 
+     * equivalent offset after scaling, which may be rounded.
+     * 
+     * @return the offset of this Unit, or NaN if this Unit is not affine.
+     */
+    public double getOffset() {
+        return preOffset == 0.0 ? offset : preOffset * scaleNumerator / scaleDenominator + offset;
+    }
+
     /**
      * Converts a supplied quantity of this Unit to a quantity of its base unit.
      * For example supplying a quantity of 1 to this function on an instance of 
@@ -136,13 +623,10 @@ public class Unit {
      * 
      * @param quantity of this Unit to convert to the base unit.
      * @return the quantity of the Base Unit which the supplied quantity represents.
+     * @throws ArithmeticException if the conversion overflows a double.
      */
     public Measure convertToBaseUnit(final double quantity) {
-        final Measure resultingValue = new Measure(toBaseUnitFunction.applyAsDouble(quantity), this.baseUnit);
-        if(quantity != Double.POSITIVE_INFINITY && quantity != Double.POSITIVE_INFINITY && (resultingValue.getQuantity() == Double.NEGATIVE_INFINITY || resultingValue.getQuantity() == Double.POSITIVE_INFINITY)) {
-            throw new ArithmeticException("Conversion caused overflow.");
-        }
-        return resultingValue;
+        return new Measure(OverflowPolicy.STRICT.apply(quantity, toBase(quantity)), this.baseUnit);
     }
 
     /**
@@ -151,13 +635,34 @@ public class Unit {
      * 
      * @param quantity of this Unit base unit to convert to this unit.
      * @return a measure with this Unit.
+     * @throws ArithmeticException if the conversion overflows a double.
      */
     public Measure convertFromBaseUnit(final double quantity) {
-        final Measure resultingValue = new Measure(fromBaseUnitFunction.applyAsDouble(quantity), this);
-        if(quantity != Double.POSITIVE_INFINITY && quantity != Double.POSITIVE_INFINITY && (resultingValue.getQuantity() == Double.NEGATIVE_INFINITY || resultingValue.getQuantity() == Double.POSITIVE_INFINITY)) {
-            throw new ArithmeticException("Conversion caused overflow.");
-        }
-        return resultingValue;
+        return new Measure(OverflowPolicy.STRICT.apply(quantity, fromBase(quantity)), this);
+    }
+
+    /**
+     * <p>Converts a quantity of this Unit to a quantity of its base unit, as per
+     * {@link #convertToBaseUnit(double)}, but without creating a Measure or checking for overflow.
+     * A finite quantity which overflows returns an infinity, which may be checked for with an
+     * {@link OverflowPolicy}.</p>
+     *
+     * @param quantity of this Unit to convert to the base unit.
+     * @return the quantity of the base unit which the supplied quantity represents.
+     */
+    public double toBase(final double quantity) {
+        return toBaseUnitFunction.applyAsDouble(quantity);
+    }
+
+    /**
+     * <p>Converts a quantity of the base unit of this Unit to a quantity of this Unit, as per
+     * {@link #convertFromBaseUnit(double)}, but without creating a Measure or checking for overflow.</p>
+     *
+     * @param quantity of the base unit to convert to this Unit.
+     * @return the quantity of this Unit which the supplied quantity represents.
+     */
+    public double fromBase(final double quantity) {
+        return fromBaseUnitFunction.applyAsDouble(quantity);
     }
     
     @Override
@@ -165,4 +670,63 @@ public class Unit {
         return this.symbol;
     }
 
+    /**
+     * Holds the canonical Units, keyed by their definition. Units are interned weakly, so a canonical
+     * Unit which is no longer used can be collected, and an equivalent Unit constructed later becomes
+     * canonical in its place.
+     */
+    private static final class Canonical {
+
+        private static final UnitConversion[] NO_CONVERSIONS = new UnitConversion[0];
+
+        private static final ExactConversion[] NO_EXACT_CONVERSIONS = new ExactConversion[0];
+
+        private static final AtomicInteger nextOrdinal = new AtomicInteger();
+
+        private static final AtomicIntegerFieldUpdater<Unit> ORDINAL = AtomicIntegerFieldUpdater.newUpdater(Unit.class, "ordinal");
+
+        private static final UnitInterner<List<Object>> UNITS = new UnitInterner<>();
+
+        private static Unit of(final Unit unit) {
+            if(!unit.isAffine()) {
+                return unit;
+            }
+            if(unit.baseUnit == unit) {
+                final Unit interned = UNITS.get(List.of(unit.symbol));
+                return interned == null ? unit : interned;
+            }
+            return UNITS.computeIfAbsent(List.of(unit.symbol, unit.baseUnit.getCanonicalUnit(), unit.preOffset, unit.scaleNumerator, unit.scaleDenominator, unit.offset), (key) -> unit);
+        }
+
+        /** Gets the ordinal of a canonical Unit, giving it the next ordinal when it is first needed. */
+        private static int ordinal(final Unit unit) {
+            final int ordinal = unit.ordinal;
+            if(ordinal >= 0) {
+                return ordinal;
+            }
+            ORDINAL.compareAndSet(unit, -1, nextOrdinal.getAndIncrement());
+            return unit.ordinal;
+        }
+
+        /** Gets the length of a row which is grown to hold an index, which is never more than the number of ordinals given. */
+        private static int rowLength(final int index, final int length) {
+            return Math.min(Math.max(index + 1, length * 2), nextOrdinal.get());
+        }
+
+    }
+
+    /** Holds the weakly interned derived Units, so that they are initialised on first use. */
+    private static final class DerivedUnits {
+
+        /** Coherent Units of derived Dimensions. */
+        private static final UnitInterner<Dimension> COHERENT = new UnitInterner<>();
+
+        /** Derived Units keyed by their coherent Unit and reduced scale, see {@link Unit#scaleKey}. */
+        private static final UnitInterner<List<Object>> BY_SCALE = new UnitInterner<>();
+
+        /** Prefixed Units keyed by their prefix and Unit. */
+        private static final UnitInterner<List<Object>> PREFIXED = new UnitInterner<>();
+
+    }
+
 }
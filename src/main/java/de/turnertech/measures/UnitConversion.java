@@ -0,0 +1,690 @@
+package de.turnertech.measures;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * <p>A UnitConversion is a conversion from one {@link Unit} to another which has already been
+ * resolved by the {@link UnitConverter}. The priority chain documented on
+ * {@link UnitConverter#convert(double, Unit, Unit)} is walked once when the conversion is planned,
+ * so applying the conversion is a single function call or arithmetic operation, with no lookups
+ * and no allocations.</p>
+ *
+ * <p>Instances are immutable and may be shared between threads. Obtain them using
+ * {@link UnitConverter#plan(Unit, Unit)}. Overflow is handled as per {@link OverflowPolicy#STRICT},
+ * unless another policy is chosen with {@link #withOverflowPolicy(OverflowPolicy)}.</p>
+ */
+public abstract class UnitConversion implements DoubleUnaryOperator {
+
+    /** Number of elements copied per chunk when converting buffers which are not backed by an array. */
+    private static final int BUFFER_CHUNK_SIZE = 1024;
+
+    private final Unit unitIn;
+
+    private final Unit unitOut;
+
+    /** The UnitConverter generation this conversion was planned in. Used to invalidate caches. */
+    final int generation;
+
+    final OverflowPolicy overflowPolicy;
+
+    /**
+     * Counts the quantities converted between this pair of Units. Null until this conversion first
+     * counts any, so that the many conversions which are only planned, or which are disabled by
+     * {@link ConversionMetrics}, never create one. Racing threads find the same counter.
+     */
+    LongAdder pairCounter;
+
+    UnitConversion(final Unit unitIn, final Unit unitOut, final int generation, final OverflowPolicy overflowPolicy) {
+        this.unitIn = Objects.requireNonNull(unitIn);
+        this.unitOut = Objects.requireNonNull(unitOut);
+        this.generation = generation;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+    }
+
+    /**
+     * Gets the Unit which quantities supplied to this conversion are expected in.
+     * @return the Unit which quantities supplied to this conversion are expected in.
+     */
+    public Unit getUnitIn() {
+        return unitIn;
+    }
+
+    /**
+     * Gets the Unit which quantities returned from this conversion are represented in.
+     * @return the Unit which quantities returned from this conversion are represented in.
+     */
+    public Unit getUnitOut() {
+        return unitOut;
+    }
+
+    /**
+     * Gets the policy applied when a quantity overflows a double during this conversion.
+     * @return the OverflowPolicy of this conversion.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Gets an otherwise identical conversion which applies a different OverflowPolicy.
+     * @param overflowPolicy the policy to apply.
+     * @return this conversion if it already applies the policy, otherwise a new conversion.
+     */
+    public UnitConversion withOverflowPolicy(final OverflowPolicy overflowPolicy) {
+        if(this.overflowPolicy == Objects.requireNonNull(overflowPolicy)) {
+            return this;
+        }
+        return copy(overflowPolicy);
+    }
+
+    /** Creates a copy of this conversion with a different OverflowPolicy. */
+    abstract UnitConversion copy(OverflowPolicy overflowPolicy);
+
+    /** The path through the {@link UnitConverter} priority chain which this conversion takes. */
+    abstract ConversionMetrics.Path path();
+
+    /**
+     * Converts a quantity of {@link #getUnitIn()} to a quantity of {@link #getUnitOut()}.
+     *
+     * @param quantity of {@link #getUnitIn()} to convert.
+     * @return the quantity of {@link #getUnitOut()} which the supplied quantity represents.
+     * @throws ArithmeticException if the conversion overflows a double, and the policy is
+     * {@link OverflowPolicy#STRICT}.
+     */
+    @Override
+    public abstract double applyAsDouble(double quantity);
+
+    /**
+     * Converts a quantity of {@link #getUnitIn()} to a new Measure in {@link #getUnitOut()}.
+     *
+     * @param quantity of {@link #getUnitIn()} to convert.
+     * @return a new Measure in {@link #getUnitOut()}.
+     */
+    public Measure convert(final double quantity) {
+        if(ConversionMetrics.ENABLED) {
+            ConversionMetrics.record(this, 1);
+        }
+        return new Measure(applyAsDouble(quantity), unitOut);
+    }
+
+    /**
+     * <p>Converts length quantities of {@link #getUnitIn()} from the src array, writing the quantities
+     * of {@link #getUnitOut()} into the dst array. The src and dst may be the same array, in which case
+     * the conversion happens in place. Overlapping ranges are handled as per
+     * {@link System#arraycopy(Object, int, Object, int, int)}.</p>
+     *
+     * @param src the quantities to convert.
+     * @param srcOffset the index of the first quantity in src to convert.
+     * @param dst the array to write the converted quantities to.
+     * @param dstOffset the index in dst to write the first converted quantity to.
+     * @param length the number of quantities to convert.
+     * @throws IndexOutOfBoundsException if either range is out of the bounds of its array.
+     * @throws ArithmeticException if the conversion overflows a double, and the policy is
+     * {@link OverflowPolicy#STRICT}. The contents of dst are then undefined.
+     */
+    public void convert(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        if(ConversionMetrics.ENABLED) {
+            ConversionMetrics.record(this, length);
+        }
+        convertRange(src, srcOffset, dst, dstOffset, length);
+    }
+
+    /** Converts a checked range, copying it first if it partially overlaps. */
+    private void convertRange(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+        if(src == dst && srcOffset != dstOffset && Math.abs(srcOffset - dstOffset) < length) {
+            System.arraycopy(src, srcOffset, dst, dstOffset, length);
+            convertArray(dst, dstOffset, dst, dstOffset, length);
+        } else {
+            convertArray(src, srcOffset, dst, dstOffset, length);
+        }
+    }
+
+    /**
+     * <p>Converts all remaining quantities of {@link #getUnitIn()} in the src buffer, writing the
+     * quantities of {@link #getUnitOut()} into the dst buffer. Both buffers have their position
+     * advanced by the number of quantities converted, as with {@link DoubleBuffer#put(DoubleBuffer)}.
+     * The src and dst may be the same buffer, or views sharing content, as long as the remaining
+     * regions do not partially overlap.</p>
+     *
+     * <p>Array backed buffers are converted directly in their backing array. If only dst is array
+     * backed, the quantities are copied into it and converted in place. Otherwise, such as between two
+     * direct buffers, the quantities are converted in chunks via a small intermediate array.</p>
+     *
+     * @param src the quantities to convert.
+     * @param dst the buffer to write the converted quantities to.
+     * @throws BufferOverflowException if dst has less remaining space than src.
+     * @throws ReadOnlyBufferException if dst is read only.
+     * @throws ArithmeticException if the conversion overflows a double, and the policy is
+     * {@link OverflowPolicy#STRICT}. The contents of dst are then undefined.
+     */
+    public void convert(final DoubleBuffer src, final DoubleBuffer dst) {
+        final int length = src.remaining();
+        if(dst.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if(dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+
+        if(ConversionMetrics.ENABLED) {
+            ConversionMetrics.record(this, length);
+        }
+
+        final int srcPosition = src.position();
+        final int dstPosition = dst.position();
+        if(src.hasArray() && dst.hasArray()) {
+            convertRange(src.array(), src.arrayOffset() + srcPosition, dst.array(), dst.arrayOffset() + dstPosition, length);
+        } else if(dst.hasArray()) {
+            src.get(srcPosition, dst.array(), dst.arrayOffset() + dstPosition, length);
+            convertArray(dst.array(), dst.arrayOffset() + dstPosition, dst.array(), dst.arrayOffset() + dstPosition, length);
+        } else {
+            final double[] chunk = new double[Math.min(length, BUFFER_CHUNK_SIZE)];
+            for(int done = 0; done < length; done += chunk.length) {
+                final int chunkLength = Math.min(chunk.length, length - done);
+                src.get(srcPosition + done, chunk, 0, chunkLength);
+                convertArray(chunk, 0, chunk, 0, chunkLength);
+                dst.put(dstPosition + done, chunk, 0, chunkLength);
+            }
+        }
+        src.position(srcPosition + length);
+        dst.position(dstPosition + length);
+    }
+
+    /**
+     * Bulk conversion loop, overridden by subclasses with the {@link ConversionKernels}. The ranges
+     * have been checked by the caller and are either identical or do not overlap.
+     */
+    void convertArray(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+        for(int i = 0; i < length; ++i) {
+            dst[dstOffset + i] = applyAsDouble(src[srcOffset + i]);
+        }
+    }
+
+    /** Checks if this is the entry cached for a pair of Units which cannot be converted, see {@link #unsupported}. */
+    boolean isUnsupported() {
+        return false;
+    }
+
+    /**
+     * Relative cost of this conversion, used to find the most accurate chain of conversions. Scalars
+     * cost least, as they round once and are exact for whole numbers, and conversions via the base
+     * unit with conversion functions cost most.
+     */
+    int cost() {
+        return 3;
+    }
+
+    @Override
+    public String toString() {
+        return unitIn.toString() + " -> " + unitOut.toString();
+    }
+
+    static UnitConversion identity(final Unit unit, final int generation) {
+        return new Identity(unit, generation, OverflowPolicy.STRICT);
+    }
+
+    static UnitConversion function(final Unit unitIn, final Unit unitOut, final DoubleUnaryOperator function, final int generation) {
+        return new Function(unitIn, unitOut, function, generation, OverflowPolicy.STRICT);
+    }
+
+    static UnitConversion scalar(final Unit unitIn, final Unit unitOut, final double scalar, final int generation) {
+        return new Scalar(unitIn, unitOut, scalar, generation, OverflowPolicy.STRICT);
+    }
+
+    static UnitConversion divisor(final Unit unitIn, final Unit unitOut, final double divisor, final int generation) {
+        return new Divisor(unitIn, unitOut, divisor, generation, OverflowPolicy.STRICT);
+    }
+
+    static UnitConversion baseUnit(final Unit unitIn, final Unit unitOut, final int generation) {
+        if(unitIn.isAffine() && unitOut.isAffine()) {
+            return affine(unitIn, unitOut, generation);
+        }
+        return new BaseUnit(unitIn, unitOut, generation, OverflowPolicy.STRICT);
+    }
+
+    static UnitConversion chain(final List<UnitConversion> steps, final int generation) {
+        return new Chain(steps.toArray(new UnitConversion[0]), generation, OverflowPolicy.STRICT);
+    }
+
+    /**
+     * Creates the entry cached by the {@link UnitConverter} for a pair of Units which cannot be
+     * converted, so that the search for a chain is not repeated until the generation changes. It is
+     * never returned to callers.
+     */
+    static UnitConversion unsupported(final Unit unitIn, final Unit unitOut, final int generation) {
+        return new Unsupported(unitIn, unitOut, generation, OverflowPolicy.STRICT);
+    }
+
+    /**
+     * <p>Combines the scales and offsets of two affine Units sharing a base unit into a single
+     * conversion. The combined coefficients are calculated exactly from the decimal definitions of
+     * both Units, so that for example the offsets of {@link Unit#DEGREES_CELSIUS} and
+     * {@link Unit#DEGREES_FAHRENHEIT} cancel to exactly 32. Where the combined scale is only exact as a
+     * divisor, for example when converting from a {@link Unit#SECOND_ANGLE} to a
+     * {@link Unit#MINUTE_ANGLE}, a division is used so that the result is rounded exactly once.</p>
+     *
+     * <p>The conversion is only combined when the combined offset is an exact decimal, and a scale
+     * which is not an exact decimal either way is only rounded when there is no offset. Otherwise
+     * rounding the combined coefficients would lose results which converting via the base unit
+     * gets exactly right, such as 212 °F being 100 °C, so each Unit is applied in turn.</p>
+     */
+    private static UnitConversion affine(final Unit unitIn, final Unit unitOut, final int generation) {
+        final BigDecimal numeratorIn = unitIn.exactScaleNumerator;
+        final BigDecimal denominatorIn = unitIn.exactScaleDenominator;
+        final BigDecimal numeratorOut = unitOut.exactScaleNumerator;
+        final BigDecimal denominatorOut = unitOut.exactScaleDenominator;
+        // The conversion is (quantity * numerator + offsetNumerator) / denominator.
+        final BigDecimal numerator = numeratorIn.multiply(denominatorOut);
+        final BigDecimal denominator = denominatorIn.multiply(numeratorOut);
+        final BigDecimal offsetNumerator = unitIn.exactPreOffset.multiply(numeratorIn)
+                .add(unitIn.exactOffset.subtract(unitOut.exactOffset).multiply(denominatorIn))
+                .multiply(denominatorOut)
+                .subtract(unitOut.exactPreOffset.multiply(denominator));
+
+        final BigDecimal offset = exactQuotient(offsetNumerator, denominator);
+        if(offset == null) {
+            return new BaseUnit(unitIn, unitOut, generation, OverflowPolicy.STRICT);
+        }
+        final BigDecimal scalar = exactQuotient(numerator, denominator);
+        if(scalar != null) {
+            return new ScaledBaseUnit(unitIn, unitOut, scalar.doubleValue(), offset.doubleValue(), generation, OverflowPolicy.STRICT);
+        }
+        final BigDecimal divisor = exactQuotient(denominator, numerator);
+        if(divisor != null) {
+            return new DividedBaseUnit(unitIn, unitOut, divisor.doubleValue(), offset.doubleValue(), generation, OverflowPolicy.STRICT);
+        }
+        if(offset.signum() != 0) {
+            return new BaseUnit(unitIn, unitOut, generation, OverflowPolicy.STRICT);
+        }
+        return new ScaledBaseUnit(unitIn, unitOut, numerator.divide(denominator, MathContext.DECIMAL128).doubleValue(), 0.0, generation, OverflowPolicy.STRICT);
+    }
+
+    /** Divides exactly, or returns null if the quotient is not a terminating decimal. */
+    private static BigDecimal exactQuotient(final BigDecimal dividend, final BigDecimal divisor) {
+        try {
+            return dividend.divide(divisor);
+        } catch(ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>A conversion which maps infinite quantities to infinite results, and is applied to arrays by
+     * one of the {@link ConversionKernels}. The overflow policy is applied in a single pass over the
+     * output, after the kernel has run.</p>
+     *
+     * <p>Converting in place would overwrite the inputs needed to tell overflow apart from infinite
+     * inputs, so the range is converted in blocks into a scratch array, small enough to stay in the L1
+     * cache, and the pass over each block checks the results and copies them back.</p>
+     */
+    private abstract static class Affine extends UnitConversion {
+
+        /** Number of quantities converted per block when converting in place. */
+        private static final int IN_PLACE_BLOCK_SIZE = 256;
+
+        private Affine(final Unit unitIn, final Unit unitOut, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+        }
+
+        /** Converts a range without applying the overflow policy. */
+        abstract void convertKernel(double[] src, int srcOffset, double[] dst, int dstOffset, int length);
+
+        @Override
+        final void convertArray(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            if(overflowPolicy == OverflowPolicy.UNCHECKED || src != dst || srcOffset != dstOffset) {
+                convertKernel(src, srcOffset, dst, dstOffset, length);
+                overflowPolicy.applyToArray(src, srcOffset, dst, dstOffset, length);
+                return;
+            }
+            final double[] block = new double[Math.min(length, IN_PLACE_BLOCK_SIZE)];
+            for(int done = 0; done < length; done += block.length) {
+                final int blockLength = Math.min(block.length, length - done);
+                convertKernel(src, srcOffset + done, block, 0, blockLength);
+                overflowPolicy.applyToBlock(src, srcOffset + done, block, dst, dstOffset + done, blockLength);
+            }
+        }
+
+    }
+
+    private static final class Identity extends UnitConversion {
+
+        private Identity(final Unit unit, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unit, unit, generation, overflowPolicy);
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new Identity(getUnitIn(), generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.IDENTITY;
+        }
+
+        @Override
+        int cost() {
+            return 0;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            return quantity;
+        }
+
+        @Override
+        void convertArray(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            if(src != dst || srcOffset != dstOffset) {
+                System.arraycopy(src, srcOffset, dst, dstOffset, length);
+            }
+        }
+
+    }
+
+    private static final class Function extends UnitConversion {
+
+        private final DoubleUnaryOperator function;
+
+        private Function(final Unit unitIn, final Unit unitOut, final DoubleUnaryOperator function, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+            this.function = Objects.requireNonNull(function);
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new Function(getUnitIn(), getUnitOut(), function, generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.FUNCTION;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            return overflowPolicy.apply(quantity, function.applyAsDouble(quantity));
+        }
+
+    }
+
+    private static final class Scalar extends Affine {
+
+        private final double scalar;
+
+        private Scalar(final Unit unitIn, final Unit unitOut, final double scalar, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+            this.scalar = scalar;
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new Scalar(getUnitIn(), getUnitOut(), scalar, generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.SCALAR;
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            return overflowPolicy.apply(quantity, quantity * scalar);
+        }
+
+        @Override
+        void convertKernel(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            ConversionKernels.INSTANCE.multiply(src, srcOffset, dst, dstOffset, length, scalar);
+        }
+
+    }
+
+    private static final class Divisor extends Affine {
+
+        private final double divisor;
+
+        private Divisor(final Unit unitIn, final Unit unitOut, final double divisor, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+            this.divisor = divisor;
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new Divisor(getUnitIn(), getUnitOut(), divisor, generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.DIVISOR;
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            return overflowPolicy.apply(quantity, quantity / divisor);
+        }
+
+        @Override
+        void convertKernel(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            ConversionKernels.INSTANCE.divide(src, srcOffset, dst, dstOffset, length, divisor);
+        }
+
+    }
+
+    private static final class BaseUnit extends UnitConversion {
+
+        private BaseUnit(final Unit unitIn, final Unit unitOut, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new BaseUnit(getUnitIn(), getUnitOut(), generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.BASE_UNIT;
+        }
+
+        @Override
+        int cost() {
+            return 4;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            // Checked once, as a saturated base quantity would be converted to a finite, wrong result.
+            return overflowPolicy.apply(quantity, getUnitOut().fromBase(getUnitIn().toBase(quantity)));
+        }
+
+    }
+
+    private static final class ScaledBaseUnit extends Affine {
+
+        private final double scalar;
+
+        private final double offset;
+
+        private ScaledBaseUnit(final Unit unitIn, final Unit unitOut, final double scalar, final double offset, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+            this.scalar = scalar;
+            this.offset = offset;
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new ScaledBaseUnit(getUnitIn(), getUnitOut(), scalar, offset, generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.AFFINE;
+        }
+
+        @Override
+        int cost() {
+            return 2;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            return overflowPolicy.apply(quantity, quantity * scalar + offset);
+        }
+
+        @Override
+        void convertKernel(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            ConversionKernels.INSTANCE.multiplyAdd(src, srcOffset, dst, dstOffset, length, scalar, offset);
+        }
+
+    }
+
+    private static final class DividedBaseUnit extends Affine {
+
+        private final double divisor;
+
+        private final double offset;
+
+        private DividedBaseUnit(final Unit unitIn, final Unit unitOut, final double divisor, final double offset, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+            this.divisor = divisor;
+            this.offset = offset;
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new DividedBaseUnit(getUnitIn(), getUnitOut(), divisor, offset, generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.AFFINE;
+        }
+
+        @Override
+        int cost() {
+            return 2;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            return overflowPolicy.apply(quantity, quantity / divisor + offset);
+        }
+
+        @Override
+        void convertKernel(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            ConversionKernels.INSTANCE.divideAdd(src, srcOffset, dst, dstOffset, length, divisor, offset);
+        }
+
+    }
+
+    private static final class Unsupported extends UnitConversion {
+
+        private Unsupported(final Unit unitIn, final Unit unitOut, final int generation, final OverflowPolicy overflowPolicy) {
+            super(unitIn, unitOut, generation, overflowPolicy);
+        }
+
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            return new Unsupported(getUnitIn(), getUnitOut(), generation, overflowPolicy);
+        }
+
+        /** Never counted, as it is never returned by the UnitConverter. */
+        @Override
+        ConversionMetrics.Path path() {
+            return null;
+        }
+
+        @Override
+        boolean isUnsupported() {
+            return true;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            throw new UnsupportedOperationException("Conversion from " + getUnitIn().toString() + " to " + getUnitOut().toString() + " is not supported.");
+        }
+
+    }
+
+    /** Applies several conversions in turn, as found by the {@link UnitConverter} conversion graph. */
+    private static final class Chain extends UnitConversion {
+
+        private final UnitConversion[] steps;
+
+        private Chain(final UnitConversion[] steps, final int generation, final OverflowPolicy overflowPolicy) {
+            super(steps[0].getUnitIn(), steps[steps.length - 1].getUnitOut(), generation, overflowPolicy);
+            this.steps = steps;
+        }
+
+        /** Every step applies the policy of the chain. */
+        @Override
+        UnitConversion copy(final OverflowPolicy overflowPolicy) {
+            final UnitConversion[] newSteps = new UnitConversion[steps.length];
+            for(int i = 0; i < steps.length; ++i) {
+                newSteps[i] = steps[i].withOverflowPolicy(overflowPolicy);
+            }
+            return new Chain(newSteps, generation, overflowPolicy);
+        }
+
+        @Override
+        ConversionMetrics.Path path() {
+            return ConversionMetrics.Path.CHAIN;
+        }
+
+        @Override
+        int cost() {
+            int cost = 0;
+            for(final UnitConversion step : steps) {
+                cost += step.cost();
+            }
+            return cost;
+        }
+
+        @Override
+        public double applyAsDouble(final double quantity) {
+            double result = quantity;
+            for(final UnitConversion step : steps) {
+                result = step.applyAsDouble(result);
+            }
+            return result;
+        }
+
+        @Override
+        void convertArray(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length) {
+            steps[0].convertArray(src, srcOffset, dst, dstOffset, length);
+            for(int i = 1; i < steps.length; ++i) {
+                steps[i].convertArray(dst, dstOffset, dst, dstOffset, length);
+            }
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder(getUnitIn().toString());
+            for(final UnitConversion step : steps) {
+                builder.append(" -> ").append(step.getUnitOut().toString());
+            }
+            return builder.toString();
+        }
+
+    }
+
+}
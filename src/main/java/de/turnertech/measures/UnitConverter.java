@@ -1,9 +1,17 @@
 package de.turnertech.measures;
 
-import java.util.AbstractMap;
-import java.util.HashMap;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToIntFunction;
 
 /**
  * The UnitConverter handles specialist conversions with more accuracy than would be possible
@@ -15,22 +23,25 @@ import java.util.function.DoubleUnaryOperator;
  * 2. Scalars
  * 3. Divisors (Scalar)
  * 4. Unit Base Unit
+ * 5. A chain of the above, through Units with registered scalars or functions
+ * 
+ * Exact conversions of BigDecimal quantities follow the same priority, without
+ * functions, see {@link #planExact(Unit, Unit)}.
+ * 
+ * The UnitConverter is thread safe. Conversions are read without locking, and
+ * registering a scalar or function publishes a new, complete set of 
+ * conversions in a single atomic step.
  */
 public class UnitConverter {
     
-    private static final HashMap<AbstractMap.SimpleImmutableEntry<Unit, Unit>, Double> scalarMap = new HashMap<>();
-    private static final HashMap<AbstractMap.SimpleImmutableEntry<Unit, Unit>, DoubleUnaryOperator> functionMap = new HashMap<>();
-
-    static {
-        scalarMap.put(new AbstractMap.SimpleImmutableEntry<>(Unit.NAUTICAL_MILE, Unit.CENTIMETRE), 185200.0);
-        scalarMap.put(new AbstractMap.SimpleImmutableEntry<>(Unit.NAUTICAL_MILE, Unit.METRE), 1852.0);
-        scalarMap.put(new AbstractMap.SimpleImmutableEntry<>(Unit.NAUTICAL_MILE, Unit.KILOMETRE), 1.852);
-        scalarMap.put(new AbstractMap.SimpleImmutableEntry<>(Unit.KILOMETRE, Unit.METRE), 1000.0);
-        scalarMap.put(new AbstractMap.SimpleImmutableEntry<>(Unit.KILOMETRE, Unit.CENTIMETRE), 100000.0);
-        
-        // Placeholder. This is a bad example of using functions to optimise. REplace in the future with something like KNOT -> METRE_PER_SECOND (knots) - > (knots / 3.6) * 1.852
-        functionMap.put(new AbstractMap.SimpleImmutableEntry<>(Unit.NAUTICAL_MILE, Unit.KILOMETRE), (nmi_i) -> nmi_i * 1.852);
-    }
+    /** The current registered conversions. Replaced, never modified, when a conversion is put. */
+    private static final AtomicReference<ConversionRegistry> registry = new AtomicReference<>(new ConversionRegistry()
+            .withScalar(Unit.NAUTICAL_MILE, Unit.CENTIMETRE, 185200.0)
+            .withScalar(Unit.NAUTICAL_MILE, Unit.METRE, 1852.0)
+            .withScalar(Unit.NAUTICAL_MILE, Unit.KILOMETRE, 1.852)
+            .withScalar(Unit.KILOMETRE, Unit.METRE, 1000.0)
+            .withScalar(Unit.KILOMETRE, Unit.CENTIMETRE, 100000.0)
+            .withFunction(Unit.NAUTICAL_MILE, Unit.KILOMETRE, (nmi_i) -> nmi_i * 1.852));
 
     /**
      * <p>Adds a scalar function for transitioning from the unitIn, to the 
@@ -40,13 +51,19 @@ public class UnitConverter {
      * @param unitIn the Unit in which the in parameter is represented.
      * @param unitOut the desired Unit which should be present in the returned.
      * @param scalar the scalar.
-     * @return the result of Map.put(...)
+     * @return the previously registered scalar, or null if there was none.
      */
     public static Double putScalar(final Unit unitIn, final Unit unitOut, final double scalar) {
         if(scalar == 0.0) {
             throw new ArithmeticException("scalar values of 0 are not accepted in the UnitConverter.");
         }
-        return scalarMap.put(new AbstractMap.SimpleImmutableEntry<>(Objects.requireNonNull(unitIn), Objects.requireNonNull(unitOut)), scalar);
+        final Unit canonicalIn = unitIn.getCanonicalUnit();
+        final Unit canonicalOut = unitOut.getCanonicalUnit();
+        ConversionRegistry current;
+        do {
+            current = registry.get();
+        } while(!registry.compareAndSet(current, current.withScalar(canonicalIn, canonicalOut, scalar)));
+        return current.getScalar(canonicalIn, canonicalOut);
     }
 
     /**
@@ -57,10 +74,17 @@ public class UnitConverter {
      * @param unitIn the Unit in which the in parameter is represented.
      * @param unitOut the desired Unit which should be present in the returned.
      * @param function the conversion function.
-     * @return the response to Map.put(...)
+     * @return the previously registered function, or null if there was none.
      */
     public static DoubleUnaryOperator putFunction(final Unit unitIn, final Unit unitOut, final DoubleUnaryOperator function) {
-        return functionMap.put(new AbstractMap.SimpleImmutableEntry<>(Objects.requireNonNull(unitIn), Objects.requireNonNull(unitOut)), Objects.requireNonNull(function));
+        final Unit canonicalIn = unitIn.getCanonicalUnit();
+        final Unit canonicalOut = unitOut.getCanonicalUnit();
+        Objects.requireNonNull(function);
+        ConversionRegistry current;
+        do {
+            current = registry.get();
+        } while(!registry.compareAndSet(current, current.withFunction(canonicalIn, canonicalOut, function)));
+        return current.getFunction(canonicalIn, canonicalOut);
     }
 
     /**
@@ -86,6 +110,7 @@ public class UnitConverter {
      * <li>Conversion Scalar stored in this class</li>
      * <li>Conversion Divisor using the Scalar stored in this class</li>
      * <li>Conversion to/from the base Units stored in the Unit class</li>
+     * <li>The cheapest chain of the above conversions through other Units, preferring scalars</li>
      * </ol>
      * 
      * @param in value to convert between Units.
@@ -96,39 +121,317 @@ public class UnitConverter {
      * @throws UnsupportedOperationException if conversion is not supported
      */
     public static Measure convert(final double in, final Unit unitIn, final Unit unitOut) {
-        Objects.requireNonNull(unitIn);
-        Objects.requireNonNull(unitOut);
+        return new Measure(convertQuantity(in, unitIn, unitOut), unitOut);
+    }
+
+    /**
+     * <p>Converts between Units as per {@link #convert(double, Unit, Unit)}, 
+     * returning only the resulting quantity. No Measure is allocated, making 
+     * this the preferred function in hot paths.</p>
+     * 
+     * @param in value to convert between Units.
+     * @param unitIn the Unit in which the in parameter is represented.
+     * @param unitOut the desired Unit of the returned quantity.
+     * @return the in parameter represented in the unitOut.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public static double convertQuantity(final double in, final Unit unitIn, final Unit unitOut) {
+        final UnitConversion conversion = plan(unitIn, unitOut);
+        if(ConversionMetrics.ENABLED) {
+            ConversionMetrics.record(conversion, 1);
+        }
+        return conversion.applyAsDouble(in);
+    }
+
+    /**
+     * <p>Converts a range of quantities between Units as per 
+     * {@link #convert(double, Unit, Unit)}. The conversion is resolved once 
+     * for the whole range, see {@link UnitConversion#convert(double[], int, double[], int, int)}.</p>
+     * 
+     * <p>The converted quantities are written to the same range in the dst 
+     * array. The src and dst may be the same array to convert in place.</p>
+     * 
+     * @param src the quantities to convert.
+     * @param offset the index of the first quantity to convert.
+     * @param length the number of quantities to convert.
+     * @param unitIn the Unit in which the src quantities are represented.
+     * @param unitOut the desired Unit of the dst quantities.
+     * @param dst the array to write the converted quantities to.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public static void convert(final double[] src, final int offset, final int length, final Unit unitIn, final Unit unitOut, final double[] dst) {
+        plan(unitIn, unitOut).convert(src, offset, dst, offset, length);
+    }
+
+    /**
+     * <p>Converts the remaining quantities of a buffer between Units as per 
+     * {@link #convert(double, Unit, Unit)}. The conversion is resolved once 
+     * for the whole buffer, see {@link UnitConversion#convert(DoubleBuffer, DoubleBuffer)}.</p>
+     * 
+     * @param src the quantities to convert.
+     * @param unitIn the Unit in which the src quantities are represented.
+     * @param unitOut the desired Unit of the dst quantities.
+     * @param dst the buffer to write the converted quantities to.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public static void convert(final DoubleBuffer src, final Unit unitIn, final Unit unitOut, final DoubleBuffer dst) {
+        plan(unitIn, unitOut).convert(src, dst);
+    }
+
+    /**
+     * <p>Resolves the conversion between two Units once, returning a reusable
+     * {@link UnitConversion}. The conversion chosen follows the same priority 
+     * as {@link #convert(double, Unit, Unit)}.</p>
+     * 
+     * <p>Plans are cached per pair of Units and are all invalidated at once 
+     * whenever a function or scalar is put into this class. Holding on to the
+     * returned instance will therefore not observe later registrations.</p>
+     * 
+     * <p>Plans are made between the canonical instances of both Units, see
+     * {@link Unit#getCanonicalUnit()}, which are the Units of the returned 
+     * conversion. The cache is a table indexed by the ordinals of the 
+     * canonical Units, so finding a cached plan needs no hashing. Pairs which
+     * cannot be converted are cached in the same way, so that repeatedly 
+     * requesting them throws without searching for a chain again.</p>
+     * 
+     * @param unitIn the Unit in which quantities will be supplied.
+     * @param unitOut the desired Unit of the converted quantities.
+     * @return a conversion from unitIn to unitOut.
+     * @throws UnsupportedOperationException if conversion is not supported
+     */
+    public static UnitConversion plan(final Unit unitIn, final Unit unitOut) {
+        final Unit canonicalIn = unitIn.getCanonicalUnit();
+        final Unit canonicalOut = unitOut.getCanonicalUnit();
+
+        final ConversionRegistry conversions = registry.get();
+        final UnitConversion cached = canonicalIn.getCachedConversion(canonicalOut);
+        if(cached != null && cached.generation == conversions.getGeneration()) {
+            if(cached.isUnsupported()) {
+                throw unsupported(unitIn, unitOut);
+            }
+            return cached;
+        }
+
+        final UnitConversion conversion = createPlan(canonicalIn, canonicalOut, conversions);
+        if(conversion == null) {
+            canonicalIn.cacheConversion(canonicalOut, UnitConversion.unsupported(canonicalIn, canonicalOut, conversions.getGeneration()));
+            throw unsupported(unitIn, unitOut);
+        }
+        if(ConversionMetrics.ENABLED) {
+            ConversionMetrics.recordPlan();
+        }
+        canonicalIn.cacheConversion(canonicalOut, conversion);
+        return conversion;
+    }
+
+    /**
+     * <p>Converts a quantity between Units exactly, as per {@link ExactConversion}, rounding the
+     * result once to the supplied precision.</p>
+     * 
+     * @param in value to convert between Units.
+     * @param unitIn the Unit in which the in parameter is represented.
+     * @param unitOut the desired Unit of the returned quantity.
+     * @param mathContext the precision and rounding of the result.
+     * @return the in parameter represented in the unitOut.
+     * @throws UnsupportedOperationException if exact conversion is not supported
+     */
+    public static BigDecimal convertExact(final BigDecimal in, final Unit unitIn, final Unit unitOut, final MathContext mathContext) {
+        return planExact(unitIn, unitOut).convert(in, mathContext);
+    }
+
+    /**
+     * <p>Resolves the exact conversion between two Units once, returning a reusable
+     * {@link ExactConversion}. The conversion chosen follows the same priority as
+     * {@link #convert(double, Unit, Unit)}, except that registered functions only operate on
+     * doubles, so are skipped in favour of the next conversion in the priority. For the same
+     * reason, Units defined with conversion functions can only be converted exactly via registered
+     * scalars.</p>
+     * 
+     * <p>Exact plans are cached and invalidated in the same way as {@link #plan(Unit, Unit)}.</p>
+     * 
+     * @param unitIn the Unit in which quantities will be supplied.
+     * @param unitOut the desired Unit of the converted quantities.
+     * @return an exact conversion from unitIn to unitOut.
+     * @throws UnsupportedOperationException if exact conversion is not supported
+     */
+    public static ExactConversion planExact(final Unit unitIn, final Unit unitOut) {
+        final Unit canonicalIn = unitIn.getCanonicalUnit();
+        final Unit canonicalOut = unitOut.getCanonicalUnit();
+
+        final ConversionRegistry conversions = registry.get();
+        final ExactConversion cached = canonicalIn.getCachedExactConversion(canonicalOut);
+        if(cached != null && cached.generation == conversions.getGeneration()) {
+            if(cached.isUnsupported()) {
+                throw unsupportedExact(unitIn, unitOut);
+            }
+            return cached;
+        }
+
+        ExactConversion conversion = createDirectExactPlan(canonicalIn, canonicalOut, conversions);
+        if(conversion == null) {
+            final List<ExactConversion> chain = findChain(canonicalIn, canonicalOut, conversions, (stepIn, stepOut) -> createDirectExactPlan(stepIn, stepOut, conversions), ExactConversion::cost);
+            if(chain == null) {
+                canonicalIn.cacheExactConversion(canonicalOut, ExactConversion.unsupported(canonicalIn, canonicalOut, conversions.getGeneration()));
+                throw unsupportedExact(unitIn, unitOut);
+            }
+            conversion = chain.get(0);
+            for(int i = 1; i < chain.size(); ++i) {
+                conversion = conversion.andThen(chain.get(i));
+            }
+        }
+        canonicalIn.cacheExactConversion(canonicalOut, conversion);
+        return conversion;
+    }
+
+    /** Plans a conversion, or returns null if the conversion is not supported. */
+    private static UnitConversion createPlan(final Unit unitIn, final Unit unitOut, final ConversionRegistry conversions) {
+        final UnitConversion direct = createDirectPlan(unitIn, unitOut, conversions);
+        if(direct != null) {
+            return direct;
+        }
+        return createChainPlan(unitIn, unitOut, conversions);
+    }
+
+    private static UnsupportedOperationException unsupported(final Unit unitIn, final Unit unitOut) {
+        if(ConversionMetrics.ENABLED) {
+            ConversionMetrics.recordUnsupported();
+        }
+        return new UnsupportedOperationException("Conversion from " + unitIn.toString() + " to " + unitOut.toString() + " is not supported.");
+    }
+
+    private static UnsupportedOperationException unsupportedExact(final Unit unitIn, final Unit unitOut) {
+        return new UnsupportedOperationException("Exact conversion from " + unitIn.toString() + " to " + unitOut.toString() + " is not supported.");
+    }
+
+    /** Plans a conversion which does not need any intermediate Units, or returns null if there is none. */
+    private static UnitConversion createDirectPlan(final Unit unitIn, final Unit unitOut, final ConversionRegistry conversions) {
+        final int generation = conversions.getGeneration();
 
         // Same Unit case
         if(unitIn == unitOut) {
-            return new Measure(in, unitOut);
+            return UnitConversion.identity(unitOut, generation);
         }
 
         // Function case
-        final DoubleUnaryOperator conversionFunction = functionMap.getOrDefault(new AbstractMap.SimpleImmutableEntry<>(unitIn, unitOut), null);
+        final DoubleUnaryOperator conversionFunction = conversions.getFunction(unitIn, unitOut);
         if(conversionFunction != null) {
-            return new Measure(conversionFunction.applyAsDouble(in), unitOut);
+            return UnitConversion.function(unitIn, unitOut, conversionFunction, generation);
         }
 
         // Scalar case
-        Double variable = scalarMap.getOrDefault(new AbstractMap.SimpleImmutableEntry<>(unitIn, unitOut), null);
+        Double variable = conversions.getScalar(unitIn, unitOut);
         if(variable != null) {
-            return new Measure(in * variable, unitOut);
+            return UnitConversion.scalar(unitIn, unitOut, variable, generation);
         }
 
         // Divisor case
-        variable = scalarMap.getOrDefault(new AbstractMap.SimpleImmutableEntry<>(unitOut, unitIn), null);
+        variable = conversions.getScalar(unitOut, unitIn);
         if(variable != null) {
-            return new Measure(in / variable, unitOut);
+            return UnitConversion.divisor(unitIn, unitOut, variable, generation);
         }
 
         // Convert to shared base unit
         if(unitIn.getBaseUnit() == unitOut.getBaseUnit()) {
-            final Measure inInBaseUnit = unitIn.convertToBaseUnit(in);
-            return unitOut.convertFromBaseUnit(inInBaseUnit.getQuantity());
+            return UnitConversion.baseUnit(unitIn, unitOut, generation);
+        }
+
+        return null;
+    }
+
+    /** Plans an exact conversion which does not need any intermediate Units, or returns null if there is none. */
+    private static ExactConversion createDirectExactPlan(final Unit unitIn, final Unit unitOut, final ConversionRegistry conversions) {
+        final int generation = conversions.getGeneration();
+
+        // Same Unit case
+        if(unitIn == unitOut) {
+            return ExactConversion.identity(unitOut, generation);
         }
 
-        throw new UnsupportedOperationException("Conversion from " + unitIn.toString() + " to " + unitOut.toString() + " is not supported.");
+        // Functions cannot be applied exactly, so the next case is used instead
+
+        // Scalar case
+        Double variable = conversions.getScalar(unitIn, unitOut);
+        if(variable != null) {
+            return ExactConversion.scalar(unitIn, unitOut, variable, generation);
+        }
+
+        // Divisor case
+        variable = conversions.getScalar(unitOut, unitIn);
+        if(variable != null) {
+            return ExactConversion.divisor(unitIn, unitOut, variable, generation);
+        }
+
+        // Convert to shared base unit
+        if(unitIn.getBaseUnit() == unitOut.getBaseUnit() && unitIn.isAffine() && unitOut.isAffine()) {
+            return ExactConversion.baseUnit(unitIn, unitOut, generation);
+        }
+
+        return null;
+    }
+
+    /** Plans a chain of conversions, see {@link #findChain}. */
+    private static UnitConversion createChainPlan(final Unit unitIn, final Unit unitOut, final ConversionRegistry conversions) {
+        final List<UnitConversion> chain = findChain(unitIn, unitOut, conversions, (stepIn, stepOut) -> createDirectPlan(stepIn, stepOut, conversions), UnitConversion::cost);
+        return chain == null ? null : UnitConversion.chain(chain, conversions.getGeneration());
+    }
+
+    /**
+     * Finds the cheapest chain of direct conversions through the Units with registered scalars or
+     * functions, using Dijkstra's algorithm. The cost of each step is supplied, for example
+     * {@link UnitConversion#cost()}, so chains of scalars are preferred. Returns null if there is no
+     * chain.
+     */
+    private static <T> List<T> findChain(final Unit unitIn, final Unit unitOut, final ConversionRegistry conversions, final BiFunction<Unit, Unit, T> directPlanner, final ToIntFunction<T> coster) {
+        final List<Unit> nodes = new ArrayList<>(conversions.getUnits().size() + 2);
+        nodes.add(unitIn);
+        for(final Unit unit : conversions.getUnits()) {
+            if(unit != unitIn && unit != unitOut) {
+                nodes.add(unit);
+            }
+        }
+        nodes.add(unitOut);
+
+        final int target = nodes.size() - 1;
+        final int[] costs = new int[nodes.size()];
+        final List<T> steps = new ArrayList<>(Collections.nCopies(nodes.size(), null));
+        final int[] previous = new int[nodes.size()];
+        final boolean[] visited = new boolean[nodes.size()];
+        Arrays.fill(costs, Integer.MAX_VALUE);
+        costs[0] = 0;
+
+        while(true) {
+            int current = -1;
+            for(int i = 0; i < nodes.size(); ++i) {
+                if(!visited[i] && costs[i] != Integer.MAX_VALUE && (current < 0 || costs[i] < costs[current])) {
+                    current = i;
+                }
+            }
+            if(current < 0) {
+                return null;
+            }
+            if(current == target) {
+                break;
+            }
+            visited[current] = true;
+            for(int next = 1; next < nodes.size(); ++next) {
+                if(visited[next]) {
+                    continue;
+                }
+                final T step = directPlanner.apply(nodes.get(current), nodes.get(next));
+                if(step != null && costs[current] + coster.applyAsInt(step) < costs[next]) {
+                    costs[next] = costs[current] + coster.applyAsInt(step);
+                    steps.set(next, step);
+                    previous[next] = current;
+                }
+            }
+        }
+
+        final ArrayList<T> chain = new ArrayList<>();
+        for(int node = target; node != 0; node = previous[node]) {
+            chain.add(steps.get(node));
+        }
+        Collections.reverse(chain);
+        return chain;
     }
 
 }
@@ -0,0 +1,95 @@
+package de.turnertech.measures;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>Interns Units by a key, holding them weakly so that an interned Unit which is no longer used
+ * anywhere else can be garbage collected. Constants and Units registered with the
+ * {@link UnitRegistry} are always reachable, so they stay interned.</p>
+ *
+ * <p>Entries of collected Units are removed whenever the interner is used, so the table only grows
+ * with the number of interned Units in use, not with the number ever interned.</p>
+ *
+ * @param <K> the type of key, which must implement equals and hashCode.
+ */
+final class UnitInterner<K> {
+
+    private final ConcurrentHashMap<K, Entry<K>> entries = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<Unit> collected = new ReferenceQueue<>();
+
+    /**
+     * Gets the Unit interned for a key.
+     * @param key of the Unit.
+     * @return the interned Unit, or null if there is none.
+     */
+    Unit get(final K key) {
+        expunge();
+        final Entry<K> entry = entries.get(key);
+        return entry == null ? null : entry.get();
+    }
+
+    /**
+     * Gets the Unit interned for a key, interning a new Unit if there is none. As with
+     * {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}, the same Unit is returned to
+     * every thread, but the factory may be called by more than one of them.
+     *
+     * @param key of the Unit.
+     * @param factory creates the Unit for the key.
+     * @return the interned Unit.
+     */
+    Unit computeIfAbsent(final K key, final Function<? super K, Unit> factory) {
+        expunge();
+        while(true) {
+            final Entry<K> entry = entries.get(key);
+            final Unit existing = entry == null ? null : entry.get();
+            if(existing != null) {
+                return existing;
+            }
+            final Unit unit = factory.apply(key);
+            if(replace(key, entry, unit)) {
+                return unit;
+            }
+        }
+    }
+
+    /**
+     * Interns a Unit for a key, unless another is already interned.
+     * @param key of the Unit.
+     * @param unit to intern.
+     * @return the Unit which was already interned, or null if the supplied Unit was interned.
+     */
+    Unit putIfAbsent(final K key, final Unit unit) {
+        final Unit interned = computeIfAbsent(key, (k) -> unit);
+        return interned == unit ? null : interned;
+    }
+
+    /** Replaces an entry which is missing or has been collected. */
+    private boolean replace(final K key, final Entry<K> entry, final Unit unit) {
+        final Entry<K> newEntry = new Entry<>(key, unit, collected);
+        return entry == null ? entries.putIfAbsent(key, newEntry) == null : entries.replace(key, entry, newEntry);
+    }
+
+    private void expunge() {
+        for(Reference<? extends Unit> reference = collected.poll(); reference != null; reference = collected.poll()) {
+            final Entry<?> entry = (Entry<?>) reference;
+            entries.remove(entry.key, entry);
+        }
+    }
+
+    private static final class Entry<K> extends WeakReference<Unit> {
+
+        private final K key;
+
+        private Entry(final K key, final Unit unit, final ReferenceQueue<Unit> queue) {
+            super(unit, queue);
+            this.key = key;
+        }
+
+    }
+
+}
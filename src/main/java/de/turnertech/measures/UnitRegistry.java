@@ -0,0 +1,163 @@
+package de.turnertech.measures;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>The UnitRegistry identifies Units by their symbol and by a small, stable integer ID, so that
+ * Units can be written to and read from compact wire and storage formats.</p>
+ *
+ * <p>All of the constants in {@link Unit} are registered automatically, with the IDs 0 to
+ * {@link #BUILT_IN_COUNT} - 1. These IDs never change between releases, new constants are only ever
+ * given the next free ID. Other Units must be registered with {@link #register(Unit)}, and are given
+ * IDs in the order in which they are registered. Applications exchanging such Units must therefore
+ * register them in the same order.</p>
+ *
+ * <p>Registering a base unit also makes it the canonical instance of its symbol, see
+ * {@link Unit#getCanonicalUnit()}.</p>
+ *
+ * <p>Looking up a Unit by ID is an array access, and looking up the ID of a registered Unit reads a
+ * field of the Unit, so neither requires hashing. The UnitRegistry is thread safe. Lookups are read
+ * without locking, and registering a Unit publishes a new, complete index in a single atomic step.</p>
+ */
+public final class UnitRegistry {
+
+    /** The number of constants in {@link Unit}, which occupy the IDs below this number. */
+    public static final int BUILT_IN_COUNT = Unit.BUILT_IN_UNITS.size();
+
+    /** The current index. Replaced, never modified, when a Unit is registered. */
+    private static final AtomicReference<Index> index = new AtomicReference<>(new Index(Unit.BUILT_IN_UNITS));
+
+    private UnitRegistry() {
+
+    }
+
+    /**
+     * <p>Registers a Unit, giving it the next free ID. Registering a Unit which is already registered
+     * does nothing.</p>
+     *
+     * @param unit to register.
+     * @return the ID of the Unit.
+     * @throws IllegalArgumentException if a different Unit with the same symbol is already registered.
+     */
+    public static int register(final Unit unit) {
+        Objects.requireNonNull(unit, "Unit instance provided to UnitRegistry may not be null");
+        Index current;
+        Index next;
+        do {
+            current = index.get();
+            final int id = current.getId(unit);
+            if(id >= 0) {
+                return id;
+            }
+            if(current.idsBySymbol.containsKey(unit.toString())) {
+                throw new IllegalArgumentException("A different Unit with the symbol \"" + unit + "\" is already registered.");
+            }
+            next = current.with(unit);
+        } while(!index.compareAndSet(current, next));
+        final int id = next.units.length - 1;
+        unit.registryId = id;
+        Unit.internBaseUnit(unit);
+        return id;
+    }
+
+    /**
+     * Gets the ID of a registered Unit.
+     * @param unit whose ID should be returned.
+     * @return the ID of the Unit, or -1 if it is not registered.
+     */
+    public static int getId(final Unit unit) {
+        final int id = unit.registryId;
+        if(id >= 0) {
+            return id;
+        }
+        // The Unit may have been registered by another thread which has not yet written its ID.
+        return index.get().getId(unit);
+    }
+
+    /**
+     * Gets a registered Unit by its ID.
+     * @param id of the Unit.
+     * @return the Unit with the supplied ID.
+     * @throws IllegalArgumentException if no Unit is registered with the ID.
+     */
+    public static Unit getUnit(final int id) {
+        final Unit[] units = index.get().units;
+        if(id < 0 || id >= units.length) {
+            throw new IllegalArgumentException("No Unit is registered with the ID " + id + ".");
+        }
+        return units[id];
+    }
+
+    /**
+     * Gets a registered Unit by its symbol.
+     * @param symbol of the Unit.
+     * @return the Unit with the supplied symbol, or null if none is registered.
+     */
+    public static Unit getUnit(final String symbol) {
+        final Index current = index.get();
+        final Integer id = current.idsBySymbol.get(symbol);
+        return id == null ? null : current.units[id];
+    }
+
+    /**
+     * Gets all of the registered Units, ordered by ID.
+     * @return an unmodifiable snapshot of the registered Units.
+     */
+    public static List<Unit> getUnits() {
+        return List.of(index.get().units);
+    }
+
+    /**
+     * Gets the number of registered Units, which is also the next free ID.
+     * @return the number of registered Units.
+     */
+    public static int size() {
+        return index.get().units.length;
+    }
+
+    /** An immutable snapshot of the registered Units. */
+    private static final class Index {
+
+        private final Unit[] units;
+
+        private final Map<String, Integer> idsBySymbol;
+
+        private Index(final List<Unit> builtInUnits) {
+            this.units = builtInUnits.toArray(new Unit[0]);
+            final HashMap<String, Integer> ids = new HashMap<>();
+            for(int i = 0; i < units.length; ++i) {
+                if(ids.putIfAbsent(units[i].toString(), i) != null) {
+                    throw new IllegalStateException("Built in Unit symbol " + units[i] + " is not unique.");
+                }
+                units[i].registryId = i;
+            }
+            this.idsBySymbol = Collections.unmodifiableMap(ids);
+        }
+
+        private Index(final Unit[] units, final Map<String, Integer> idsBySymbol) {
+            this.units = units;
+            this.idsBySymbol = idsBySymbol;
+        }
+
+        private int getId(final Unit unit) {
+            final Integer id = idsBySymbol.get(unit.toString());
+            return id != null && units[id] == unit ? id : -1;
+        }
+
+        private Index with(final Unit unit) {
+            final Unit[] newUnits = Arrays.copyOf(units, units.length + 1);
+            newUnits[units.length] = unit;
+            final HashMap<String, Integer> newIds = new HashMap<>(idsBySymbol);
+            newIds.put(unit.toString(), units.length);
+            return new Index(newUnits, Collections.unmodifiableMap(newIds));
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package de.turnertech.measures;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ConversionKernels} implemented with the Vector API, using the preferred vector size of the
+ * CPU. Quantities which do not fill a whole vector are converted with the plain loops.
+ */
+final class VectorConversionKernels implements ConversionKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarConversionKernels tail = new ScalarConversionKernels();
+
+    @Override
+    public void multiply(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double scalar) {
+        final int bound = SPECIES.loopBound(length);
+        for(int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, src, srcOffset + i).mul(scalar).intoArray(dst, dstOffset + i);
+        }
+        tail.multiply(src, srcOffset + bound, dst, dstOffset + bound, length - bound, scalar);
+    }
+
+    @Override
+    public void divide(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double divisor) {
+        final int bound = SPECIES.loopBound(length);
+        for(int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, src, srcOffset + i).div(divisor).intoArray(dst, dstOffset + i);
+        }
+        tail.divide(src, srcOffset + bound, dst, dstOffset + bound, length - bound, divisor);
+    }
+
+    @Override
+    public void multiplyAdd(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double scalar, final double offset) {
+        final int bound = SPECIES.loopBound(length);
+        for(int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, src, srcOffset + i).mul(scalar).add(offset).intoArray(dst, dstOffset + i);
+        }
+        tail.multiplyAdd(src, srcOffset + bound, dst, dstOffset + bound, length - bound, scalar, offset);
+    }
+
+    @Override
+    public void divideAdd(final double[] src, final int srcOffset, final double[] dst, final int dstOffset, final int length, final double divisor, final double offset) {
+        final int bound = SPECIES.loopBound(length);
+        for(int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, src, srcOffset + i).div(divisor).add(offset).intoArray(dst, dstOffset + i);
+        }
+        tail.divideAdd(src, srcOffset + bound, dst, dstOffset + bound, length - bound, divisor, offset);
+    }
+
+    @Override
+    public boolean isVectorised() {
+        return true;
+    }
+
+}
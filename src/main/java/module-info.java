@@ -5,4 +5,10 @@ module de.turnertech.measures {
 
     exports de.turnertech.measures;
 
+    // Used to publish ConversionMetrics, when they are enabled.
+    requires java.management;
+
+    // Optional, used for bulk conversions when present at runtime.
+    requires static jdk.incubator.vector;
+
 }
@@ -4,5 +4,6 @@ open module test.de.turnertech.measures {
     requires transitive org.junit.jupiter.engine;
     requires transitive org.junit.jupiter.api;
     requires biz.aQute.bnd;
+    requires java.management;
 
 }
@@ -0,0 +1,93 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Angles;
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class AnglesTests {
+
+    @Test
+    void normalizeTests() {
+        assertEquals(10.0, Angles.normalizePositive(370.0, Unit.DEGREE));
+        assertEquals(350.0, Angles.normalizePositive(-10.0, Unit.DEGREE));
+        assertEquals(0.0, Angles.normalizePositive(-720.0, Unit.DEGREE));
+        assertEquals(0.0, Angles.normalizePositive(-0.0, Unit.DEGREE));
+        assertEquals(0.0, Angles.normalizePositive(-1e-300, Unit.DEGREE));
+        assertEquals(Math.PI, Angles.normalizePositive(-Math.PI, Unit.RADIAN), 1e-15);
+        assertEquals(60.0, Angles.normalizePositive(21660.0, Unit.MINUTE_ANGLE));
+        assertEquals(1.0, Angles.normalizePositive(1296001.0, Unit.SECOND_ANGLE));
+        assertEquals(Double.NaN, Angles.normalizePositive(Double.POSITIVE_INFINITY, Unit.DEGREE));
+
+        assertEquals(-180.0, Angles.normalizeSigned(180.0, Unit.DEGREE));
+        assertEquals(179.0, Angles.normalizeSigned(-181.0, Unit.DEGREE));
+        assertEquals(-90.0, Angles.normalizeSigned(270.0, Unit.DEGREE));
+        assertEquals(0.5, Angles.normalizeSigned(3600000.5, Unit.DEGREE));
+
+        final double[] quantities = {0.0, 370.0, -10.0, 540.0};
+        Angles.normalizePositive(quantities, 1, 3, Unit.DEGREE);
+        assertArrayEquals(new double[] {0.0, 10.0, 350.0, 180.0}, quantities);
+        Angles.normalizeSigned(quantities, 0, 4, Unit.DEGREE);
+        assertArrayEquals(new double[] {0.0, 10.0, -10.0, -180.0}, quantities);
+
+        assertThrows(IllegalArgumentException.class, () -> Angles.normalizePositive(1.0, Unit.METRE));
+    }
+
+    @Test
+    void degreesMinutesSecondsTests() {
+        assertArrayEquals(new double[] {10.0, 30.0, 45.0}, Angles.toDegreesMinutesSeconds(10.5125, Unit.DEGREE), 1e-9);
+        assertArrayEquals(new double[] {-10.0, -30.0, -45.0}, Angles.toDegreesMinutesSeconds(-10.5125, Unit.DEGREE), 1e-9);
+        assertArrayEquals(new double[] {0.0, 1.0, 30.0}, Angles.toDegreesMinutesSeconds(90.0, Unit.SECOND_ANGLE), 1e-9);
+        assertArrayEquals(new double[] {180.0, 0.0, 0.0}, Angles.toDegreesMinutesSeconds(Math.PI, Unit.RADIAN), 1e-9);
+
+        assertEquals(10.5125, Angles.fromDegreesMinutesSeconds(10.0, 30.0, 45.0, Unit.DEGREE), 1e-12);
+        assertEquals(-10.5125, Angles.fromDegreesMinutesSeconds(-10.0, -30.0, -45.0, Unit.DEGREE), 1e-12);
+        assertEquals(630.75, Angles.fromDegreesMinutesSeconds(10.0, 30.0, 45.0, Unit.MINUTE_ANGLE), 1e-9);
+        assertEquals(Math.PI / 2.0, Angles.fromDegreesMinutesSeconds(90.0, 0.0, 0.0, Unit.RADIAN), 1e-15);
+    }
+
+    @Test
+    void secondAngleTests() {
+        assertEquals(3600.0, Unit.SECOND_ANGLE.convertFromBaseUnit(1.0).getQuantity());
+        assertEquals(1.0, Unit.SECOND_ANGLE.convertToBaseUnit(3600.0).getQuantity());
+        assertEquals(60.0, new Measure(1.0, Unit.MINUTE_ANGLE).convertTo(Unit.SECOND_ANGLE).getQuantity(), 1e-12);
+    }
+
+    @Test
+    void trigonometryTests() {
+        assertEquals(0.5, Angles.sin(30.0, Unit.DEGREE), 1e-15);
+        assertEquals(0.5, Angles.sin(3600030.0, Unit.DEGREE), 1e-15);
+        assertEquals(0.5, Angles.sin(1800.0, Unit.MINUTE_ANGLE), 1e-15);
+        assertEquals(0.5, Angles.cos(new Measure(60.0, Unit.DEGREE)), 1e-15);
+        assertEquals(Math.sin(1.0), Angles.sin(new Measure(1.0, Unit.RADIAN)), 1e-15);
+        assertEquals(-1.0, Angles.cos(Math.PI, Unit.RADIAN), 1e-15);
+        assertEquals(45.0, Angles.atan2(1.0, 1.0, Unit.DEGREE), 1e-12);
+        assertEquals(-90.0 * 60.0, Angles.atan2(-1.0, 0.0, Unit.MINUTE_ANGLE), 1e-9);
+
+        final double[] angles = {0.0, 90.0, 180.0, 270.0, 390.0};
+        final double[] sines = new double[6];
+        Angles.sin(angles, 0, sines, 1, 5, Unit.DEGREE);
+        assertArrayEquals(new double[] {0.0, 0.0, 1.0, 0.0, -1.0, 0.5}, sines, 1e-15);
+        final double[] cosines = angles.clone();
+        Angles.cos(cosines, 0, cosines, 0, 5, Unit.DEGREE);
+        assertArrayEquals(new double[] {1.0, 0.0, -1.0, 0.0, Math.sqrt(3.0) / 2.0}, cosines, 1e-15);
+        assertArrayEquals(new double[] {1.0, 0.0, -1.0, 0.0, Math.sqrt(3.0) / 2.0}, new double[] {
+            Angles.cos(0.0, Unit.DEGREE), Angles.cos(90.0, Unit.DEGREE), Angles.cos(180.0, Unit.DEGREE), Angles.cos(270.0, Unit.DEGREE), Angles.cos(390.0, Unit.DEGREE)}, 1e-15);
+
+        final double[] y = {0.0, 1.0, 0.0, -1.0};
+        final double[] x = {1.0, 0.0, -1.0, 0.0};
+        final double[] headings = new double[4];
+        Angles.atan2(y, 0, x, 0, headings, 0, 4, Unit.DEGREE);
+        assertArrayEquals(new double[] {0.0, 90.0, 180.0, -90.0}, headings, 1e-12);
+        Angles.atan2(y, 0, x, 0, y, 0, 4, Unit.RADIAN);
+        assertArrayEquals(new double[] {0.0, Math.PI / 2.0, Math.PI, -Math.PI / 2.0}, y, 1e-15);
+
+        assertThrows(IllegalArgumentException.class, () -> Angles.sin(1.0, Unit.METRE));
+        assertThrows(IndexOutOfBoundsException.class, () -> Angles.sin(angles, 1, sines, 0, 5, Unit.DEGREE));
+    }
+
+}
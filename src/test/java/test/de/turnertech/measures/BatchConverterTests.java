@@ -0,0 +1,96 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.BatchConverter;
+import de.turnertech.measures.Prefix;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConversion;
+import de.turnertech.measures.UnitConverter;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchConverterTests {
+
+    private static double[] randomQuantities(final int length) {
+        final Random random = new Random(1);
+        final double[] quantities = new double[length];
+        for(int i = 0; i < length; ++i) {
+            quantities[i] = random.nextGaussian() * Math.pow(10.0, random.nextInt(20) - 10);
+        }
+        quantities[0] = -0.0;
+        quantities[1] = Double.NaN;
+        quantities[2] = Double.NEGATIVE_INFINITY;
+        return quantities;
+    }
+
+    @Test
+    void vectorTests() {
+        // The unit tests are run with the Vector API module added, unless it is switched off
+        assertEquals(Boolean.parseBoolean(System.getProperty("de.turnertech.measures.vector", "true")), BatchConverter.isVectorised());
+    }
+
+    @Test
+    void bitIdenticalTests() {
+        final BatchConverter converter = new BatchConverter(ForkJoinPool.commonPool(), 1000);
+        final double[] src = randomQuantities(100003);
+        final Unit[][] pairs = {
+            {Unit.FOOT, Unit.METRE},
+            {Unit.METRE, Unit.FOOT},
+            {Unit.DEGREES_CELSIUS, Unit.DEGREES_FAHRENHEIT},
+            {Unit.SECOND_ANGLE, Unit.MINUTE_ANGLE},
+            {Unit.KILOMETRE, Unit.NAUTICAL_MILE},
+            {Unit.NAUTICAL_MILE, Unit.METRE},
+            {Unit.KILOMETRE, Unit.prefixed(Prefix.MILLI, Unit.METRE)},
+            {Unit.KNOT, Unit.KILOMETRE_PER_HOUR},
+            {Unit.METRE, Unit.METRE}
+        };
+        for(final Unit[] pair : pairs) {
+            final double[] dst = new double[src.length];
+            converter.convert(src, 0, src.length, pair[0], pair[1], dst);
+            for(int i = 0; i < src.length; ++i) {
+                final double expected = UnitConverter.convertQuantity(src[i], pair[0], pair[1]);
+                assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(dst[i]), pair[0] + " -> " + pair[1] + " at " + i);
+            }
+        }
+    }
+
+    @Test
+    void inPlaceTests() {
+        final BatchConverter converter = new BatchConverter(new ForkJoinPool(3), 7);
+        final double[] quantities = new double[100];
+        for(int i = 0; i < quantities.length; ++i) {
+            quantities[i] = i;
+        }
+        final UnitConversion kilometresToMetres = UnitConverter.plan(Unit.KILOMETRE, Unit.METRE);
+        converter.convert(kilometresToMetres, quantities, 0, quantities, 10, 90);
+        assertEquals(9.0, quantities[9]);
+        assertEquals(0.0, quantities[10]);
+        assertEquals(89000.0, quantities[99]);
+
+        final double[] expected = new double[50];
+        final double[] actual = new double[50];
+        for(int i = 0; i < 50; ++i) {
+            expected[i] = i * 1000.0;
+            actual[i] = i;
+        }
+        converter.convert(actual, 0, actual.length, Unit.KILOMETRE, Unit.METRE, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void failTests() {
+        final BatchConverter converter = new BatchConverter(ForkJoinPool.commonPool(), 16);
+        final double[] quantities = new double[1000];
+        quantities[777] = Double.MAX_VALUE;
+        assertThrows(ArithmeticException.class, () -> converter.convert(quantities, 0, quantities.length, Unit.KILOMETRE, Unit.FOOT, new double[1000]));
+        assertThrows(IndexOutOfBoundsException.class, () -> converter.convert(quantities, 1, quantities.length, Unit.KILOMETRE, Unit.FOOT, new double[1000]));
+        assertThrows(UnsupportedOperationException.class, () -> converter.convert(quantities, 0, quantities.length, Unit.KILOMETRE, Unit.KELVIN, new double[1000]));
+        assertThrows(IllegalArgumentException.class, () -> new BatchConverter(ForkJoinPool.commonPool(), 0));
+    }
+
+}
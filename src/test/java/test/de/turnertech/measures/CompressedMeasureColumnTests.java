@@ -0,0 +1,141 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.CompressedMeasureColumn;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompressedMeasureColumnTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripTests() {
+        final double[] quantities = {1.5, 1.5, -0.0, 0.0, Double.NaN, Double.longBitsToDouble(0x7ff8000000000123L),
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE, 20.25, 20.5, 20.5};
+        final CompressedMeasureColumn column = new CompressedMeasureColumn(Unit.METRE);
+        for(final double quantity : quantities) {
+            column.add(quantity);
+        }
+        assertEquals(quantities.length, column.size());
+        assertEquals(Unit.METRE, column.getUnit());
+
+        final CompressedMeasureColumn.Cursor cursor = column.cursor();
+        for(final double quantity : quantities) {
+            assertTrue(cursor.hasNext());
+            assertEquals(Double.doubleToRawLongBits(quantity), Double.doubleToRawLongBits(cursor.nextDouble()));
+        }
+        assertFalse(cursor.hasNext());
+        assertThrows(NoSuchElementException.class, cursor::nextDouble);
+        assertEquals(-1, cursor.read(new double[1], 0, 1));
+    }
+
+    @Test
+    void randomTests() {
+        final Random random = new Random(1);
+        final double[] quantities = new double[10000];
+        final CompressedMeasureColumn column = new CompressedMeasureColumn(Unit.KELVIN);
+        for(int i = 0; i < quantities.length; ++i) {
+            quantities[i] = random.nextInt(4) == 0 ? random.nextDouble() * 1e6 : Double.longBitsToDouble(random.nextLong());
+            column.add(quantities[i]);
+        }
+        final double[] decoded = new double[quantities.length];
+        final CompressedMeasureColumn.Cursor cursor = column.cursor();
+        int read = 0;
+        while(read < decoded.length) {
+            read += cursor.read(decoded, read, Math.min(777, decoded.length - read));
+        }
+        for(int i = 0; i < quantities.length; ++i) {
+            assertEquals(Double.doubleToRawLongBits(quantities[i]), Double.doubleToRawLongBits(decoded[i]));
+        }
+    }
+
+    @Test
+    void compressionTests() {
+        // A slowly varying sensor reading, rounded to the resolution of the sensor.
+        final CompressedMeasureColumn column = new CompressedMeasureColumn(Unit.DEGREES_CELSIUS);
+        for(int i = 0; i < 10000; ++i) {
+            column.add(Math.round((20.0 + Math.sin(i / 1000.0)) * 4.0) / 4.0);
+        }
+        assertTrue(column.getCompressedBytes() * 10 < column.size() * (long) Double.BYTES, "Compressed to " + column.getCompressedBytes() + " bytes");
+    }
+
+    @Test
+    void conversionTests() {
+        final CompressedMeasureColumn column = new CompressedMeasureColumn(Unit.METRE);
+        column.add(1.0, Unit.KILOMETRE);
+        column.add(250.0);
+        column.addAll(new MeasureArray(Unit.CENTIMETRE, 50.0, 100.0));
+        assertArrayEquals(new double[] {1000.0, 250.0, 0.5, 1.0}, column.toMeasureArray().toArray(), 0.0000001);
+
+        final MeasureArray kilometres = column.toMeasureArray(Unit.KILOMETRE);
+        assertEquals(Unit.KILOMETRE, kilometres.getUnit());
+        assertArrayEquals(new double[] {1.0, 0.25, 0.0005, 0.001}, kilometres.toArray(), 0.0000001);
+
+        final CompressedMeasureColumn.Cursor cursor = column.cursor(Unit.CENTIMETRE);
+        assertEquals(100000.0, cursor.nextDouble(), 0.0000001);
+        final double[] dst = new double[4];
+        assertEquals(3, cursor.read(dst, 1, 3));
+        assertArrayEquals(new double[] {0.0, 25000.0, 50.0, 100.0}, dst, 0.0000001);
+
+        final double[] sum = new double[1];
+        column.forEach(quantity -> sum[0] += quantity);
+        assertEquals(1251.5, sum[0], 0.0000001);
+
+        assertThrows(UnsupportedOperationException.class, () -> column.cursor(Unit.KELVIN));
+    }
+
+    @Test
+    void fileTests() throws IOException {
+        final Path path = tempDir.resolve("metres.msrc");
+        final CompressedMeasureColumn column = new CompressedMeasureColumn(Unit.METRE);
+        for(int i = 0; i < 1000; ++i) {
+            column.add(i * 0.5);
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            column.writeTo(channel);
+        }
+        assertEquals("MSRC", new String(Files.readAllBytes(path), 0, 4, "US-ASCII"));
+
+        final CompressedMeasureColumn read;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            read = CompressedMeasureColumn.readFrom(channel);
+        }
+        assertEquals(Unit.METRE, read.getUnit());
+        assertEquals(column.size(), read.size());
+        assertEquals(column.getCompressedBytes(), read.getCompressedBytes());
+        assertArrayEquals(column.toMeasureArray().toArray(), read.toMeasureArray().toArray(), 0.0);
+
+        // Appending continues the encoding where it stopped.
+        read.add(499.5);
+        read.add(-3.0);
+        assertEquals(-3.0, read.toMeasureArray().get(1001));
+        assertEquals(499.5, read.toMeasureArray().get(1000));
+
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            assertThrows(IOException.class, () -> CompressedMeasureColumn.readFrom(channel, Unit.KILOMETRE));
+        }
+        final Path notAColumn = tempDir.resolve("bad.msrc");
+        Files.write(notAColumn, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20});
+        try(FileChannel channel = FileChannel.open(notAColumn, StandardOpenOption.READ)) {
+            assertThrows(IOException.class, () -> CompressedMeasureColumn.readFrom(channel));
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.BatchConverter;
+import de.turnertech.measures.ConversionMetrics;
+import de.turnertech.measures.OverflowPolicy;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConverter;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+public class ConversionMetricsTests {
+
+    @Test
+    void disabledTests() throws Exception {
+        // The default, metrics are only enabled for the metrics-test surefire execution
+        assumeFalse(ConversionMetrics.ENABLED);
+        UnitConverter.convertQuantity(1.0, Unit.KILOMETRE, Unit.FOOT);
+        UnitConverter.convert(new double[10], 0, 10, Unit.KILOMETRE, Unit.FOOT, new double[10]);
+        assertThrows(UnsupportedOperationException.class, () -> UnitConverter.convertQuantity(1.0, new Unit("disabledMetricWidget"), Unit.METRE));
+
+        final ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+        assertEquals(0, snapshot.getTotalCount());
+        assertEquals(0, snapshot.getUnsupported());
+        assertTrue(snapshot.getPairCounts().isEmpty());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(ConversionMetrics.OBJECT_NAME)));
+    }
+
+    @Test
+    void countTests() {
+        assumeTrue(ConversionMetrics.ENABLED);
+        ConversionMetrics.reset();
+
+        final Unit widget = new Unit("metricWidget");
+        assertThrows(UnsupportedOperationException.class, () -> UnitConverter.convertQuantity(1.0, widget, Unit.METRE));
+        UnitConverter.convertQuantity(1.0, Unit.KILOMETRE, Unit.FOOT);
+        UnitConverter.convert(new double[10], 0, 10, Unit.KILOMETRE, Unit.FOOT, new double[10]);
+        UnitConverter.convert(2.0, Unit.METRE, Unit.METRE);
+        new BatchConverter(ForkJoinPool.commonPool(), 10).convert(new double[100], 0, 100, Unit.KELVIN, Unit.DEGREES_CELSIUS, new double[100]);
+
+        final ConversionMetrics.Snapshot snapshot = ConversionMetrics.snapshot();
+        assertEquals(1, snapshot.getUnsupported());
+        assertEquals(11, snapshot.getPairCounts().get("km -> ft"));
+        assertEquals(100, snapshot.getPairCounts().get("K -> °C"));
+        assertEquals(111, snapshot.getCount(ConversionMetrics.Path.AFFINE));
+        assertEquals(1, snapshot.getCount(ConversionMetrics.Path.IDENTITY));
+        assertEquals(112, snapshot.getTotalCount());
+
+        ConversionMetrics.reset();
+        assertEquals(0, ConversionMetrics.snapshot().getTotalCount());
+        assertTrue(ConversionMetrics.snapshot().getPairCounts().isEmpty());
+
+        // Copies and equally named Units share the counter of their pair
+        UnitConverter.plan(Unit.KILOMETRE, Unit.FOOT).withOverflowPolicy(OverflowPolicy.STRICT).convert(1.0);
+        UnitConverter.plan(Unit.KILOMETRE, Unit.FOOT).convert(1.0);
+        UnitConverter.plan(new Unit("km", new Unit("m"), 1000.0, 0.0), Unit.FOOT).convert(1.0);
+        assertEquals(3, ConversionMetrics.snapshot().getPairCounts().get("km -> ft"));
+    }
+
+    @Test
+    void mxBeanTests() throws Exception {
+        assumeTrue(ConversionMetrics.ENABLED);
+        final ObjectName name = new ObjectName(ConversionMetrics.OBJECT_NAME);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        ConversionMetrics.reset();
+        UnitConverter.convertQuantity(1.0, Unit.KILOMETRE, Unit.METRE);
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "TotalCount"));
+    }
+
+}
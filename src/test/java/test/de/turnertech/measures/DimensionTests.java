@@ -0,0 +1,81 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Dimension;
+import de.turnertech.measures.ImmutableMeasure;
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureFormat;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class DimensionTests {
+
+    @Test
+    void dimensionTests() {
+        final Dimension speed = Unit.METRE.getDimension().divide(Unit.SECOND.getDimension());
+        assertEquals(speed, Unit.KNOT.getDimension());
+        assertEquals(speed, Unit.KILOMETRE_PER_HOUR.getDimension());
+        assertEquals(1, speed.getExponent(Unit.METRE));
+        assertEquals(-1, speed.getExponent(Unit.SECOND));
+        assertEquals(0, speed.getExponent(Unit.GRAM));
+        assertEquals("m·s⁻¹", speed.toString());
+        assertEquals(Unit.FOOT.getDimension(), Unit.METRE.getDimension());
+        assertNotEquals(Unit.METRE.getDimension(), Unit.SECOND.getDimension());
+        assertTrue(speed.divide(speed).isDimensionless());
+        assertSame(Dimension.NONE, speed.pow(0));
+        assertEquals(Unit.PASCAL.getDimension(), Unit.NEWTON.getDimension().divide(Unit.METRE.getDimension().pow(2)));
+    }
+
+    @Test
+    void deriveTests() {
+        assertSame(Unit.METRE_PER_SECOND, Unit.METRE.divide(Unit.SECOND));
+        assertSame(Unit.METRE_PER_SECOND, Unit.KNOT.getBaseUnit());
+        assertSame(Unit.KILOMETRE_PER_HOUR, Unit.KILOMETRE.divide(Unit.HOUR));
+        assertSame(Unit.KNOT, Unit.NAUTICAL_MILE.divide(Unit.HOUR));
+        assertSame(Unit.PASCAL, Unit.NEWTON.divide(Unit.METRE.pow(2)));
+        assertSame(Unit.METRE, Unit.METRE_PER_SECOND.multiply(Unit.SECOND));
+        assertSame(Unit.FOOT.multiply(Unit.FOOT), Unit.FOOT.pow(2));
+        // Equal scales are interned as the same Unit, however the ratio is written
+        assertSame(new Unit("halfA", Unit.METRE, 2.0, 4.0, 0.0).divide(Unit.SECOND), new Unit("halfB", Unit.METRE, 1.0, 2.0, 0.0).divide(Unit.SECOND));
+        assertSame(Unit.CENTIMETRE.multiply(Unit.METRE), new Unit("dm", Unit.METRE, 0.1, 0.0).pow(2));
+        assertEquals("m/s", Unit.METRE_PER_SECOND.toString());
+        assertEquals("km/h", Unit.KILOMETRE_PER_HOUR.toString());
+        assertEquals("ft²", Unit.FOOT.pow(2).toString());
+        assertEquals("1/s", Unit.SECOND.pow(-1).toString());
+        assertEquals("h⁻¹", Unit.HOUR.pow(-1).toString());
+        assertEquals("N·(km/h)", Unit.NEWTON.multiply(Unit.KILOMETRE_PER_HOUR).toString());
+
+        assertThrows(UnsupportedOperationException.class, () -> Unit.DEGREES_CELSIUS.divide(Unit.SECOND));
+        final Unit functionUnit = new Unit("fn", Unit.METRE, (q) -> q, (q) -> q);
+        assertThrows(UnsupportedOperationException.class, () -> functionUnit.multiply(Unit.METRE));
+    }
+
+    @Test
+    void conversionTests() {
+        assertEquals(1.852, new Measure(1.0, Unit.KNOT).convertTo(Unit.KILOMETRE_PER_HOUR).getQuantity(), 1e-12);
+        assertEquals(10.0, new Measure(36.0, Unit.KILOMETRE_PER_HOUR).convertTo(Unit.METRE_PER_SECOND).getQuantity(), 1e-12);
+        assertEquals(1.0, new Measure(1000.0, Unit.PASCAL).convertTo(Unit.NEWTON.divide(Unit.CENTIMETRE.pow(2))).getQuantity() * 10.0, 1e-12);
+        assertEquals(0.09290304, new Measure(1.0, Unit.FOOT.pow(2)).convertTo(Unit.METRE.pow(2)).getQuantity(), 1e-15);
+        assertThrows(UnsupportedOperationException.class, () -> new Measure(1.0, Unit.KNOT).convertTo(Unit.NEWTON));
+    }
+
+    @Test
+    void arithmeticTests() {
+        final ImmutableMeasure distance = new ImmutableMeasure(100.0, Unit.KILOMETRE);
+        final ImmutableMeasure time = new ImmutableMeasure(2.0, Unit.HOUR);
+        final ImmutableMeasure speed = distance.dividedBy(time);
+        assertEquals(new ImmutableMeasure(50.0, Unit.KILOMETRE_PER_HOUR), speed);
+        assertEquals(100.0, speed.times(time).getQuantity(Unit.KILOMETRE), 1e-12);
+
+        final ImmutableMeasure force = new ImmutableMeasure(10.0, Unit.NEWTON);
+        final ImmutableMeasure area = new ImmutableMeasure(2.0, Unit.METRE).times(new ImmutableMeasure(1.0, Unit.METRE));
+        assertEquals(5.0, force.dividedBy(area).getQuantity(Unit.PASCAL), 1e-12);
+        assertEquals(new Measure(3.5, Unit.KNOT), new MeasureFormat().parse("3.5 kn"));
+    }
+
+}
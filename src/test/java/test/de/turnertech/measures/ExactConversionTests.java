@@ -0,0 +1,84 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.ExactConversion;
+import de.turnertech.measures.Prefix;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConverter;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.Test;
+
+public class ExactConversionTests {
+
+    private static void assertDecimal(final String expected, final BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "Expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void affineTests() {
+        final ExactConversion footToInch = UnitConverter.planExact(Unit.FOOT, Unit.INCH);
+        assertTrue(footToInch.isTerminating());
+        assertDecimal("12", footToInch.convert(BigDecimal.ONE));
+        assertDecimal("0.3048", UnitConverter.planExact(Unit.FOOT, Unit.METRE).convert(BigDecimal.ONE));
+        assertDecimal("0.3048", UnitConverter.planExact(Unit.INCH, Unit.METRE).convert(footToInch.convert(BigDecimal.ONE)));
+        assertDecimal("453.59237", UnitConverter.planExact(Unit.POUND, Unit.GRAM).convert(BigDecimal.ONE));
+        assertDecimal("1.609344", UnitConverter.planExact(Unit.MILE, Unit.KILOMETRE).convert(BigDecimal.ONE));
+        assertDecimal("273.15", UnitConverter.planExact(Unit.DEGREES_CELSIUS, Unit.KELVIN).convert(BigDecimal.ZERO));
+        assertDecimal("-273.15", UnitConverter.planExact(Unit.KELVIN, Unit.DEGREES_CELSIUS).convert(BigDecimal.ZERO));
+        assertDecimal("0.5", UnitConverter.planExact(Unit.MINUTE_ANGLE, Unit.DEGREE).convert(new BigDecimal("30")));
+        assertDecimal("1", UnitConverter.planExact(Unit.METRE, Unit.METRE).convert(BigDecimal.ONE));
+
+        // Non-terminating quotients are rounded once.
+        final ExactConversion metreToFoot = UnitConverter.planExact(Unit.METRE, Unit.FOOT);
+        assertFalse(metreToFoot.isTerminating());
+        assertThrows(ArithmeticException.class, () -> metreToFoot.convert(BigDecimal.ONE));
+        assertDecimal("3.280839895013123", metreToFoot.convert(BigDecimal.ONE, MathContext.DECIMAL64));
+        assertDecimal("3.28", metreToFoot.convert(BigDecimal.ONE, 2, RoundingMode.HALF_EVEN));
+        assertDecimal("32", UnitConverter.convertExact(new BigDecimal("0"), Unit.DEGREES_CELSIUS, Unit.DEGREES_FAHRENHEIT, MathContext.DECIMAL64));
+        assertDecimal("212", UnitConverter.convertExact(new BigDecimal("100"), Unit.DEGREES_CELSIUS, Unit.DEGREES_FAHRENHEIT, MathContext.DECIMAL64));
+        assertDecimal("0", UnitConverter.convertExact(new BigDecimal("32"), Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS, MathContext.DECIMAL64));
+        assertDecimal("100", UnitConverter.convertExact(new BigDecimal("212"), Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS, MathContext.DECIMAL64));
+        assertDecimal("-459.67", UnitConverter.planExact(Unit.KELVIN, Unit.DEGREES_FAHRENHEIT).convert(BigDecimal.ZERO));
+        assertDecimal("0.000001", UnitConverter.planExact(Unit.prefixed(Prefix.MILLI, Unit.METRE).pow(2), Unit.METRE.pow(2)).convert(BigDecimal.ONE));
+
+        // Round trips through a non-terminating conversion are exact to the precision used.
+        final BigDecimal distance = new BigDecimal("1234.5678");
+        final BigDecimal feet = metreToFoot.convert(distance, MathContext.DECIMAL128);
+        assertDecimal("1234.5678", UnitConverter.planExact(Unit.FOOT, Unit.METRE).convert(feet, MathContext.DECIMAL64));
+    }
+
+    @Test
+    void priorityTests() {
+        // Scalars and divisors registered with the UnitConverter are used.
+        assertDecimal("1000", UnitConverter.planExact(Unit.KILOMETRE, Unit.METRE).convert(BigDecimal.ONE));
+        assertDecimal("0.001", UnitConverter.planExact(Unit.METRE, Unit.KILOMETRE).convert(BigDecimal.ONE));
+        // The registered NM -> km function is skipped in favour of the scalar.
+        assertDecimal("1.852", UnitConverter.planExact(Unit.NAUTICAL_MILE, Unit.KILOMETRE).convert(BigDecimal.ONE));
+        assertEquals("NM -> km", UnitConverter.planExact(Unit.NAUTICAL_MILE, Unit.KILOMETRE).toString());
+
+        final Unit widget = new Unit("exactWidget");
+        UnitConverter.putScalar(Unit.KILOMETRE, widget, 2.0);
+        final ExactConversion metreToWidget = UnitConverter.planExact(Unit.METRE, widget);
+        assertEquals("m -> exactWidget", metreToWidget.toString());
+        assertDecimal("0.002", metreToWidget.convert(BigDecimal.ONE));
+        assertDecimal("0.0006096", UnitConverter.planExact(Unit.FOOT, widget).convert(BigDecimal.ONE));
+        assertSame(metreToWidget, UnitConverter.planExact(Unit.METRE, widget));
+
+        // Plans are invalidated by new registrations.
+        UnitConverter.putScalar(Unit.METRE, widget, 0.004);
+        assertDecimal("0.004", UnitConverter.planExact(Unit.METRE, widget).convert(BigDecimal.ONE));
+
+        final Unit functionUnit = new Unit("exactFn", Unit.METRE, (fn) -> fn * 2.0, (metre) -> metre / 2.0);
+        assertThrows(UnsupportedOperationException.class, () -> UnitConverter.planExact(functionUnit, Unit.METRE));
+        assertThrows(UnsupportedOperationException.class, () -> UnitConverter.planExact(Unit.METRE, Unit.SECOND));
+    }
+
+}
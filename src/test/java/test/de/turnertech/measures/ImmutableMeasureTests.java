@@ -0,0 +1,78 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.ImmutableMeasure;
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ImmutableMeasureTests {
+
+    private static final ImmutableMeasure ONE_KILOMETRE = new ImmutableMeasure(1.0, Unit.KILOMETRE);
+
+    private static final ImmutableMeasure FIVE_HUNDRED_METRES = new ImmutableMeasure(500.0, Unit.METRE);
+
+    @Test
+    void arithmeticTests() {
+        assertEquals(new ImmutableMeasure(1.5, Unit.KILOMETRE), ONE_KILOMETRE.plus(FIVE_HUNDRED_METRES));
+        assertEquals(new ImmutableMeasure(-500.0, Unit.METRE), FIVE_HUNDRED_METRES.minus(ONE_KILOMETRE));
+        assertEquals(new ImmutableMeasure(3.0, Unit.KILOMETRE), ONE_KILOMETRE.times(3.0));
+        assertEquals(new ImmutableMeasure(250.0, Unit.METRE), FIVE_HUNDRED_METRES.dividedBy(2.0));
+        assertThrows(UnsupportedOperationException.class, () -> ONE_KILOMETRE.plus(new ImmutableMeasure(1.0, Unit.KELVIN)));
+    }
+
+    @Test
+    void asDoubleTests() {
+        assertEquals(150000.0, ONE_KILOMETRE.plusAsDouble(FIVE_HUNDRED_METRES, Unit.CENTIMETRE));
+        assertEquals(0.5, ONE_KILOMETRE.minusAsDouble(FIVE_HUNDRED_METRES, Unit.KILOMETRE));
+        assertEquals(1000.0, ONE_KILOMETRE.getQuantity(Unit.METRE));
+    }
+
+    @Test
+    void comparisonTests() {
+        assertTrue(ONE_KILOMETRE.compareTo(FIVE_HUNDRED_METRES) > 0);
+        assertTrue(FIVE_HUNDRED_METRES.compareTo(ONE_KILOMETRE) < 0);
+        assertEquals(0, ONE_KILOMETRE.compareTo(new ImmutableMeasure(1000.0, Unit.METRE)));
+        assertSame(FIVE_HUNDRED_METRES, ONE_KILOMETRE.min(FIVE_HUNDRED_METRES));
+        assertSame(ONE_KILOMETRE, ONE_KILOMETRE.max(FIVE_HUNDRED_METRES));
+
+        // Antisymmetric, even where converting either Measure to the Unit of the other rounds
+        final Random random = new Random(7);
+        final Unit[] units = {Unit.METRE, Unit.KILOMETRE, Unit.FOOT, Unit.INCH, Unit.MILE, Unit.NAUTICAL_MILE};
+        for(int i = 0; i < 10000; ++i) {
+            final ImmutableMeasure a = new ImmutableMeasure(random.nextDouble() * 1000.0, units[random.nextInt(units.length)]);
+            final ImmutableMeasure b = new ImmutableMeasure(a.getQuantity(units[random.nextInt(units.length)]), units[random.nextInt(units.length)]);
+            assertEquals(Integer.signum(a.compareTo(b)), -Integer.signum(b.compareTo(a)), a + " and " + b);
+            if(a.compareTo(b) != 0) {
+                assertSame(a.min(b), b.min(a));
+                assertSame(a.max(b), b.max(a));
+            }
+        }
+        assertTrue(ONE_KILOMETRE.equalsWithTolerance(new ImmutableMeasure(1000.4, Unit.METRE), 0.0005));
+        assertFalse(ONE_KILOMETRE.equalsWithTolerance(new ImmutableMeasure(1000.6, Unit.METRE), 0.0005));
+    }
+
+    @Test
+    void conversionTests() {
+        assertSame(ONE_KILOMETRE, ONE_KILOMETRE.convertTo(Unit.KILOMETRE));
+        assertEquals(new ImmutableMeasure(1000.0, Unit.METRE), ONE_KILOMETRE.convertTo(Unit.METRE));
+        assertEquals(new Measure(1.0, Unit.KILOMETRE), ONE_KILOMETRE.toMeasure());
+        assertEquals(ONE_KILOMETRE, ImmutableMeasure.of(new Measure(1.0, Unit.KILOMETRE)));
+    }
+
+    @Test
+    void equalityTests() {
+        assertEquals(new ImmutableMeasure(1.0, Unit.KILOMETRE).hashCode(), ONE_KILOMETRE.hashCode());
+        assertNotEquals(new ImmutableMeasure(1000.0, Unit.METRE), ONE_KILOMETRE);
+        assertEquals(ONE_KILOMETRE.toMeasure().toString(), ONE_KILOMETRE.toString());
+    }
+
+}
@@ -0,0 +1,89 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureArrayTests {
+
+    @Test
+    void addTests() {
+        final MeasureArray metres = new MeasureArray(Unit.METRE, 1);
+        assertTrue(metres.isEmpty());
+        for(int i = 0; i < 100; ++i) {
+            metres.add(i);
+        }
+        metres.add(Unit.KILOMETRE.createMeasure(1.0));
+        assertEquals(101, metres.size());
+        assertEquals(42.0, metres.get(42));
+        assertEquals(1000.0, metres.get(100));
+        assertEquals(new Measure(1000.0, Unit.METRE), metres.getMeasure(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> metres.get(101));
+    }
+
+    @Test
+    void addAllTests() {
+        final MeasureArray metres = new MeasureArray(Unit.METRE, 1.0);
+        metres.addAll(new double[] {1.0, 2.0, 3.0}, 1, 2, Unit.KILOMETRE);
+        assertArrayEquals(new double[] {1.0, 2000.0, 3000.0}, metres.toArray());
+
+        metres.addAll(metres);
+        assertArrayEquals(new double[] {1.0, 2000.0, 3000.0, 1.0, 2000.0, 3000.0}, metres.toArray());
+    }
+
+    @Test
+    void convertToTests() {
+        final MeasureArray kilometres = new MeasureArray(Unit.KILOMETRE, 1.0, 2.0, 3.0);
+        final MeasureArray metres = kilometres.convertTo(Unit.METRE);
+        assertSame(Unit.METRE, metres.getUnit());
+        assertArrayEquals(new double[] {1000.0, 2000.0, 3000.0}, metres.toArray());
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0}, kilometres.toArray());
+        assertThrows(UnsupportedOperationException.class, () -> kilometres.convertTo(Unit.KELVIN));
+    }
+
+    @Test
+    void sliceTests() {
+        final MeasureArray metres = new MeasureArray(Unit.METRE, 0.0, 1.0, 2.0, 3.0, 4.0);
+        final MeasureArray slice = metres.slice(1, 4);
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0}, slice.toArray());
+        assertArrayEquals(new double[] {2.0}, slice.slice(1, 2).toArray());
+        assertArrayEquals(new double[] {200.0, 300.0}, slice.slice(1, 3).convertTo(Unit.CENTIMETRE).toArray());
+
+        // Appending to a slice must not overwrite the original
+        slice.add(99.0);
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0, 99.0}, slice.toArray());
+        assertArrayEquals(new double[] {0.0, 1.0, 2.0, 3.0, 4.0}, metres.toArray());
+
+        // Appending to the original does not change the slice
+        final MeasureArray otherSlice = metres.slice(0, 2);
+        metres.add(5.0);
+        assertArrayEquals(new double[] {0.0, 1.0}, otherSlice.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> metres.slice(3, 7));
+    }
+
+    @Test
+    void streamTests() {
+        final MeasureArray metres = new MeasureArray(Unit.METRE, 1.0, 2.0, 3.0, 4.0).slice(1, 3);
+        assertEquals(5.0, metres.stream().sum());
+        final double[] sum = {0.0};
+        metres.forEach((quantity) -> sum[0] += quantity);
+        assertEquals(5.0, sum[0]);
+    }
+
+    @Test
+    void equalityTests() {
+        final MeasureArray metres = new MeasureArray(Unit.METRE, 0.0, 1.0, 2.0);
+        assertEquals(new MeasureArray(Unit.METRE, 1.0, 2.0), metres.slice(1, 3));
+        assertEquals(new MeasureArray(Unit.METRE, 1.0, 2.0).hashCode(), metres.slice(1, 3).hashCode());
+        assertNotEquals(new MeasureArray(Unit.KILOMETRE, 0.0, 1.0, 2.0), metres);
+    }
+
+}
@@ -0,0 +1,58 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.MeasureDecoder;
+import de.turnertech.measures.MeasureEncoder;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureDecoderTests {
+
+    @Test
+    void emptyTests() throws IOException {
+        final MeasureDecoder decoder = new MeasureDecoder(ByteBuffer.allocate(0));
+        assertNull(decoder.getUnit());
+        assertTrue(Double.isNaN(decoder.getQuantity()));
+        assertThrows(IllegalStateException.class, () -> decoder.getMeasure());
+        assertFalse(decoder.next());
+        assertEquals(0, decoder.read(new double[1], 0, 0));
+        assertEquals(-1, decoder.read(new double[1], 0, 1));
+    }
+
+    @Test
+    void truncatedTests() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        final MeasureEncoder encoder = new MeasureEncoder(buffer);
+        encoder.write(1.0, Unit.METRE);
+        encoder.write(2.0, Unit.METRE);
+        encoder.flush();
+        buffer.flip();
+
+        final MeasureDecoder withinRun = new MeasureDecoder(buffer.duplicate().limit(12));
+        assertTrue(withinRun.next());
+        assertThrows(EOFException.class, () -> withinRun.next());
+
+        final MeasureDecoder withinHeader = new MeasureDecoder(buffer.duplicate().limit(2));
+        assertThrows(EOFException.class, () -> withinHeader.next());
+    }
+
+    @Test
+    void corruptTests() {
+        final ByteBuffer unflushed = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putShort((short) 3).putShort((short) 0).putDouble(1.0).flip();
+        assertThrows(IOException.class, () -> new MeasureDecoder(unflushed).next());
+
+        final ByteBuffer unknownUnit = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN).putShort((short) 0xFFFF).putShort((short) 1).putDouble(1.0).flip();
+        assertThrows(IOException.class, () -> new MeasureDecoder(unknownUnit).next());
+    }
+
+}
@@ -0,0 +1,113 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.MeasureDecoder;
+import de.turnertech.measures.MeasureEncoder;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureEncoderTests {
+
+    @Test
+    void bufferTests() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        final MeasureEncoder encoder = new MeasureEncoder(buffer);
+        encoder.write(new Measure(1.5, Unit.METRE));
+        encoder.write(2.5, Unit.METRE);
+        encoder.write(-40.0, Unit.DEGREES_CELSIUS);
+        encoder.flush();
+        // One run of two metres, then one run of one degree Celsius
+        assertEquals(4 + 2 * 8 + 4 + 8, buffer.position());
+        assertEquals(3, buffer.getShort(0));
+        assertEquals(2, buffer.getShort(2));
+
+        buffer.flip();
+        final MeasureDecoder decoder = new MeasureDecoder(buffer);
+        assertTrue(decoder.next());
+        assertEquals(new Measure(1.5, Unit.METRE), decoder.getMeasure());
+        assertTrue(decoder.next());
+        assertEquals(2.5, decoder.getQuantity());
+        assertSame(Unit.METRE, decoder.getUnit());
+        assertTrue(decoder.next());
+        assertEquals(new Measure(-40.0, Unit.DEGREES_CELSIUS), decoder.getMeasure());
+        assertFalse(decoder.next());
+    }
+
+    @Test
+    void overflowTests() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(20);
+        final MeasureEncoder encoder = new MeasureEncoder(buffer);
+        encoder.write(1.0, Unit.FOOT);
+        encoder.write(2.0, Unit.FOOT);
+        assertThrows(BufferOverflowException.class, () -> encoder.write(3.0, Unit.FOOT));
+        assertThrows(IllegalArgumentException.class, () -> encoder.write(1.0, new Unit("unregistered")));
+        encoder.flush();
+
+        buffer.flip();
+        final double[] quantities = new double[4];
+        assertEquals(2, new MeasureDecoder(buffer).read(quantities, 0, 4));
+        assertArrayEquals(new double[] {1.0, 2.0, 0.0, 0.0}, quantities);
+    }
+
+    @Test
+    void channelTests() throws IOException {
+        final MeasureArray feet = new MeasureArray(Unit.FOOT);
+        for(int i = 0; i < 100000; ++i) {
+            feet.add(i * 0.5);
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(MeasureEncoder encoder = new MeasureEncoder(Channels.newChannel(bytes), 1000)) {
+            encoder.write(new Measure(1.0, Unit.KILOMETRE));
+            encoder.write(feet.slice(1, feet.size()));
+            encoder.write(new double[] {1.0, 2.0, 3.0}, 1, 2, Unit.SECOND);
+        }
+
+        try(MeasureDecoder decoder = new MeasureDecoder(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), 100)) {
+            assertTrue(decoder.next());
+            assertEquals(new Measure(1.0, Unit.KILOMETRE), decoder.getMeasure());
+
+            final MeasureArray decoded = new MeasureArray(Unit.FOOT);
+            final double[] chunk = new double[777];
+            int read;
+            while((read = decoder.read(chunk, 0, chunk.length)) > 0 && decoder.getUnit() == Unit.FOOT) {
+                decoded.addAll(chunk, 0, read, Unit.FOOT);
+            }
+            assertEquals(feet.slice(1, feet.size()), decoded);
+            assertSame(Unit.SECOND, decoder.getUnit());
+            assertEquals(2, read);
+            assertArrayEquals(new double[] {2.0, 3.0}, new double[] {chunk[0], chunk[1]});
+            assertEquals(-1, decoder.read(chunk, 0, chunk.length));
+        }
+    }
+
+    @Test
+    void specialValueTests() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(128);
+        final MeasureEncoder encoder = new MeasureEncoder(buffer);
+        final double[] quantities = {Double.NaN, Double.NEGATIVE_INFINITY, -0.0, Double.MIN_VALUE, Double.MAX_VALUE};
+        encoder.write(quantities, 0, quantities.length, Unit.RADIAN);
+        encoder.flush();
+
+        buffer.flip();
+        final double[] decoded = new double[quantities.length];
+        assertEquals(quantities.length, new MeasureDecoder(buffer).read(decoded, 0, decoded.length));
+        assertArrayEquals(quantities, decoded);
+    }
+
+}
@@ -0,0 +1,109 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureFormat;
+import de.turnertech.measures.Prefix;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureFormatTests {
+
+    @Test
+    void formatTests() {
+        final MeasureFormat format = new MeasureFormat(2);
+        assertEquals("12.50 km", format.format(new Measure(12.5, Unit.KILOMETRE)));
+        assertEquals("45.00°", format.format(new Measure(45.0, Unit.DEGREE)));
+        assertEquals("45.00°", format.format(new Measure(45.0, new Unit("°"))));
+        assertEquals("3.00'", format.format(new Measure(3.0, Unit.MINUTE_ANGLE)));
+        assertEquals("-0.01 m", format.format(new Measure(-0.005, Unit.METRE)));
+        assertEquals("-0.00 m", format.format(new Measure(-0.0, Unit.METRE)));
+        assertEquals("NaN K", format.format(new Measure(Double.NaN, Unit.KELVIN)));
+        assertEquals("-Infinity K", format.format(new Measure(Double.NEGATIVE_INFINITY, Unit.KELVIN)));
+        assertEquals("1 m", new MeasureFormat(0).format(new Measure(0.5, Unit.METRE)));
+        assertEquals("1.5 m", new MeasureFormat(MeasureFormat.SHORTEST).format(new Measure(1.5, Unit.METRE)));
+        assertEquals("12.500000 km", new Measure(12.5, Unit.KILOMETRE).toString());
+        assertThrows(IllegalArgumentException.class, () -> new MeasureFormat(-2));
+    }
+
+    @Test
+    void matchesStringFormatTests() {
+        final Random random = new Random(42);
+        for(int precision = 0; precision < 20; ++precision) {
+            final MeasureFormat format = new MeasureFormat(precision);
+            for(int i = 0; i < 2000; ++i) {
+                final double quantity = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(40) - 10);
+                assertEquals(String.format(Locale.ROOT, "%." + precision + "f m", quantity), format.format(new Measure(quantity, Unit.METRE)));
+            }
+        }
+        // Ties, and values either side of a tie
+        final MeasureFormat format = new MeasureFormat(2);
+        for(final double quantity : new double[] {0.125, 0.375, 1.005, 2.675, 0.285, 1e22, Double.MAX_VALUE, Double.MIN_VALUE}) {
+            assertEquals(String.format(Locale.ROOT, "%.2f m", quantity), format.format(new Measure(quantity, Unit.METRE)));
+        }
+    }
+
+    @Test
+    void appendTests() throws IOException {
+        final MeasureFormat format = new MeasureFormat(1);
+        final StringBuilder builder = new StringBuilder("Distance: ");
+        assertSame(builder, format.format(new Measure(1.25, Unit.MILE), builder));
+        assertEquals("Distance: 1.3 mi", builder.toString());
+        assertEquals("Temperature: 20.0 °C", format.format(new Measure(20.0, Unit.DEGREES_CELSIUS), new StringWriter().append("Temperature: ")).toString());
+    }
+
+    @Test
+    void parseTests() {
+        final MeasureFormat format = new MeasureFormat();
+        assertEquals(new Measure(12.5, Unit.KILOMETRE), format.parse("12.5 km"));
+        assertEquals(new Measure(12.5, Unit.KILOMETRE), format.parse("  12.5km "));
+        assertEquals(new Measure(45.0, Unit.DEGREE), format.parse("45°"));
+        assertEquals(new Measure(3.0, Unit.MINUTE_ANGLE), format.parse("3'"));
+        assertEquals(new Measure(-1500.0, Unit.METRE), format.parse("-1.5e3 m"));
+        assertEquals(new Measure(0.5, Unit.SECOND_ANGLE), format.parse(".5\""));
+        assertEquals(new Measure(Double.NEGATIVE_INFINITY, Unit.KELVIN), format.parse("-Infinity K"));
+        assertThrows(IllegalArgumentException.class, () -> format.parse("km"));
+        assertThrows(IllegalArgumentException.class, () -> format.parse(". km"));
+        assertThrows(IllegalArgumentException.class, () -> format.parse("12.5 furlongs"));
+
+        // Prefixed symbols which are not registered
+        assertSame(Unit.prefixed(Prefix.MILLI, Unit.METRE), format.parse("3 mm").getUnit());
+        assertSame(Unit.prefixed(Prefix.DECA, Unit.METRE), format.getUnit("dam"));
+        assertSame(Unit.prefixed(Prefix.HECTO, Unit.PASCAL), format.getUnit("hPa"));
+        assertSame(Unit.prefixed(Prefix.KILO, Unit.METRE_PER_SECOND), format.getUnit("k(m/s)"));
+        assertNull(format.getUnit("k°C"));
+        assertNull(format.getUnit("k"));
+        assertThrows(IllegalArgumentException.class, () -> format.parse("12.5"));
+    }
+
+    @Test
+    void roundTripTests() {
+        final MeasureFormat format = new MeasureFormat(MeasureFormat.SHORTEST);
+        final Random random = new Random(7);
+        for(int i = 0; i < 1000; ++i) {
+            final Measure measure = new Measure(random.nextGaussian() * 1e6, Unit.FOOT);
+            assertEquals(measure, format.parse(format.format(measure)));
+        }
+        assertEquals(new Measure(1e10, Unit.METRE), format.parse(format.format(new Measure(1e10, Unit.METRE))));
+    }
+
+    @Test
+    void customUnitTests() {
+        final Unit furlong = new Unit("fur", Unit.METRE, 201.168, 0.0);
+        final MeasureFormat format = new MeasureFormat(3, List.of(furlong, Unit.METRE));
+        assertSame(furlong, format.parse("8 fur").getUnit());
+        assertSame(furlong, format.getUnit("fur"));
+        assertNull(format.getUnit("km"));
+    }
+
+}
@@ -0,0 +1,68 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.ImmutableMeasure;
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureKey;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureKeyTests {
+
+    @Test
+    void canonicalTests() {
+        final MeasureKey kilometre = MeasureKey.of(new Measure(1.0, Unit.KILOMETRE), 0.001);
+        final MeasureKey metres = MeasureKey.of(1000.0, Unit.METRE, 0.001);
+        assertEquals(kilometre, metres);
+        assertEquals(kilometre.hashCode(), metres.hashCode());
+        assertSame(Unit.METRE, kilometre.getUnit());
+        assertEquals(1000000, kilometre.getCell());
+        assertEquals(1000.0, kilometre.getQuantity());
+
+        // Equivalent Units constructed by the caller
+        final MeasureKey metre = MeasureKey.of(1000.0, new Unit("m"), 0.001);
+        assertEquals(kilometre, metre);
+        assertSame(Unit.METRE, metre.getUnit());
+        assertEquals(kilometre, MeasureKey.of(1.0, new Unit("km", new Unit("m"), 1000.0, 0.0), 0.001));
+
+        // Rounding errors disappear
+        assertEquals(MeasureKey.of(0.1 + 0.2, Unit.METRE, 1e-9), MeasureKey.of(new ImmutableMeasure(0.3, Unit.METRE), 1e-9));
+        assertEquals(MeasureKey.of(1.0, Unit.KNOT, 0.01), MeasureKey.of(1.852, Unit.KILOMETRE_PER_HOUR, 0.01));
+
+        assertNotEquals(metres, MeasureKey.of(1000.0, Unit.METRE, 0.01));
+        assertNotEquals(metres, MeasureKey.of(1000.0, Unit.SECOND, 0.001));
+        assertEquals(metres.adjacent(1), MeasureKey.of(1000.001, Unit.METRE, 0.001));
+        assertEquals(metres, metres.adjacent(1).adjacent(-1));
+    }
+
+    @Test
+    void groupingTests() {
+        final Map<MeasureKey, Integer> counts = new HashMap<>();
+        for(final Measure measure : new Measure[] {new Measure(1.0, Unit.KILOMETRE), new Measure(1000.0, Unit.METRE), new Measure(100000.0, Unit.CENTIMETRE), new Measure(1.0, Unit.MILE)}) {
+            counts.merge(MeasureKey.of(measure, 0.01), 1, Integer::sum);
+        }
+        assertEquals(2, counts.size());
+        assertEquals(3, counts.get(MeasureKey.of(1.0, Unit.KILOMETRE, 0.01)));
+    }
+
+    @Test
+    void failTests() {
+        assertThrows(IllegalArgumentException.class, () -> MeasureKey.of(Double.NaN, Unit.METRE, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> MeasureKey.of(1.0, Unit.METRE, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> MeasureKey.of(1.0, Unit.METRE, Double.NaN));
+
+        // Cells beyond the range of a long
+        assertThrows(IllegalArgumentException.class, () -> MeasureKey.of(1e10, Unit.METRE, 1e-10));
+        assertThrows(IllegalArgumentException.class, () -> MeasureKey.of(-1e10, Unit.KILOMETRE, 1e-6));
+        assertThrows(IllegalArgumentException.class, () -> MeasureKey.of(1.0, Unit.METRE, Double.MIN_VALUE));
+        assertEquals(-(1L << 62), MeasureKey.of(-0x1p62, Unit.METRE, 1.0).getCell());
+    }
+
+}
@@ -0,0 +1,138 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.MeasureProcessor;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureProcessorTests {
+
+    @Test
+    void batchingTests() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final MeasureProcessor processor = new MeasureProcessor(Unit.METRE, 4, Duration.ofMinutes(1), executor, 8);
+            final List<MeasureArray> batches = new ArrayList<>();
+            final CompletableFuture<Void> done = processor.consume(batches::add);
+            try(SubmissionPublisher<Measure> publisher = new SubmissionPublisher<>(executor, 2)) {
+                publisher.subscribe(processor);
+                publisher.submit(new Measure(1.0, Unit.KILOMETRE));
+                publisher.submit(new Measure(2.0, Unit.METRE));
+                publisher.submit(new Measure(300.0, Unit.CENTIMETRE));
+                publisher.submit(new Measure(4.0, Unit.METRE));
+                publisher.submit(new Measure(0.5, Unit.KILOMETRE));
+            }
+            done.get(10, TimeUnit.SECONDS);
+
+            assertEquals(2, batches.size());
+            assertEquals(Unit.METRE, batches.get(0).getUnit());
+            assertArrayEquals(new double[] {1000.0, 2.0, 3.0, 4.0}, batches.get(0).toArray(), 0.0000001);
+            assertArrayEquals(new double[] {500.0}, batches.get(1).toArray(), 0.0000001);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void latencyTests() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final MeasureProcessor processor = new MeasureProcessor(Unit.METRE, 1000, Duration.ofMillis(20), executor, 8);
+            final CompletableFuture<MeasureArray> first = new CompletableFuture<>();
+            processor.consume(first::complete);
+            final SubmissionPublisher<Measure> publisher = new SubmissionPublisher<>(executor, 8);
+            publisher.subscribe(processor);
+            publisher.submit(new Measure(1.0, Unit.KILOMETRE));
+            publisher.submit(new Measure(2.0, Unit.KILOMETRE));
+
+            // Published by the latency bound, long before the batch is full.
+            assertArrayEquals(new double[] {1000.0, 2000.0}, first.get(10, TimeUnit.SECONDS).toArray(), 0.0000001);
+            publisher.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void backpressureTests() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final MeasureProcessor processor = new MeasureProcessor(Unit.METRE, 10, Duration.ofMinutes(1), executor, 1);
+            final List<MeasureArray> batches = new ArrayList<>();
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            processor.subscribe(new Flow.Subscriber<MeasureArray>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    // Never requests, so the processor must stop requesting from upstream.
+                }
+                @Override
+                public void onNext(MeasureArray item) {
+                    batches.add(item);
+                }
+                @Override
+                public void onError(Throwable throwable) {
+                    done.completeExceptionally(throwable);
+                }
+                @Override
+                public void onComplete() {
+                    done.complete(null);
+                }
+            });
+            final SubmissionPublisher<Measure> publisher = new SubmissionPublisher<>(executor, 4);
+            publisher.subscribe(processor);
+            int accepted = 0;
+            for(int i = 0; i < 1000; ++i) {
+                if(publisher.offer(new Measure(i, Unit.METRE), null) < 0) {
+                    break;
+                }
+                accepted++;
+                Thread.sleep(1);
+            }
+            assertTrue(accepted < 1000, "Accepted " + accepted);
+            assertEquals(0, batches.size());
+            publisher.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void unsupportedTests() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final MeasureProcessor processor = new MeasureProcessor(Unit.METRE, 4, Duration.ofMinutes(1), executor, 8);
+            final CompletableFuture<Void> done = processor.consume(batch -> { });
+            try(SubmissionPublisher<Measure> publisher = new SubmissionPublisher<>(executor, 8)) {
+                publisher.subscribe(processor);
+                publisher.submit(new Measure(1.0, Unit.METRE));
+                publisher.submit(new Measure(1.0, Unit.KELVIN));
+            }
+            final ExecutionException e = assertThrows(ExecutionException.class, () -> done.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(UnsupportedOperationException.class, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new MeasureProcessor(Unit.METRE, 0, Duration.ofMillis(1), Runnable::run, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MeasureProcessor(Unit.METRE, 1, Duration.ZERO, Runnable::run, 1));
+    }
+
+}
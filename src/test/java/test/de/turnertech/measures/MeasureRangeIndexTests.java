@@ -0,0 +1,65 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.MeasureRangeIndex;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureRangeIndexTests {
+
+    @Test
+    void simpleTests() {
+        final MeasureRangeIndex index = new MeasureRangeIndex(Unit.METRE);
+        assertEquals(0, index.add(new Measure(1.0, Unit.KILOMETRE)));
+        assertEquals(1, index.add(5.0, Unit.METRE));
+        assertEquals(2, index.add(Double.NaN, Unit.METRE));
+        assertEquals(3, index.addAll(new MeasureArray(Unit.CENTIMETRE, 100000.5, 499.0)));
+        assertEquals(5, index.size());
+
+        assertArrayEquals(new int[] {4, 1}, index.findWithin(5.0, Unit.METRE, 0.01));
+        assertArrayEquals(new int[] {0, 3}, index.findWithin(new Measure(1.0, Unit.KILOMETRE), 0.00001));
+        assertArrayEquals(new int[] {0}, index.findWithin(new Measure(1.0, Unit.KILOMETRE), 0.0));
+        assertEquals(0, index.countWithin(Double.NaN, Unit.METRE, 1.0));
+        assertEquals(0, index.countWithin(100.0, Unit.METRE, 1.0));
+
+        // Added after searching, and merged
+        index.add(1000.0, Unit.METRE);
+        assertArrayEquals(new int[] {0, 5, 3}, index.findWithin(1000.0, Unit.METRE, 0.01));
+    }
+
+    @Test
+    void bruteForceTests() {
+        final Random random = new Random(1);
+        final MeasureRangeIndex index = new MeasureRangeIndex(Unit.METRE);
+        final double[] quantities = new double[2000];
+        for(int i = 0; i < quantities.length; ++i) {
+            quantities[i] = Math.floor(random.nextDouble() * 1000.0);
+            index.add(quantities[i], Unit.METRE);
+            if(i % 500 == 0) {
+                index.countWithin(0.0, Unit.METRE, 1.0);
+            }
+        }
+        for(int search = 0; search < 100; ++search) {
+            final double target = random.nextDouble() * 1000.0;
+            final double tolerance = random.nextDouble() * 10.0;
+            int expected = 0;
+            for(final double quantity : quantities) {
+                if(new Measure(target, Unit.METRE).equalsWithTolerance(new Measure(quantity, Unit.METRE), tolerance)) {
+                    expected++;
+                }
+            }
+            final int[] ids = index.findWithin(target, Unit.METRE, tolerance);
+            assertEquals(expected, ids.length);
+            for(int i = 1; i < ids.length; ++i) {
+                assertEquals(true, quantities[ids[i - 1]] <= quantities[ids[i]]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.ImmutableMeasure;
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.MeasureStatistics;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class MeasureStatisticsTests {
+
+    @Test
+    void mixedUnitTests() {
+        final MeasureStatistics statistics = new MeasureStatistics(Unit.METRE);
+        statistics.accept(new Measure(1.0, Unit.NAUTICAL_MILE));
+        statistics.accept(new ImmutableMeasure(1000.0, Unit.FOOT));
+        statistics.accept(200.0, Unit.METRE);
+        statistics.accept(new MeasureArray(Unit.KILOMETRE, 1.0, 2.0));
+
+        assertEquals(Unit.METRE, statistics.getUnit());
+        assertEquals(5, statistics.getCount());
+        assertEquals(1852.0 + 304.8 + 200.0 + 1000.0 + 2000.0, statistics.getSum(), 1e-9);
+        assertEquals(200.0, statistics.getMin());
+        assertEquals(2000.0, statistics.getMax());
+        assertEquals(statistics.getSum() / 5, statistics.getMean(), 1e-9);
+
+        final double[] values = {1852.0, 304.8, 200.0, 1000.0, 2000.0};
+        final double mean = statistics.getMean();
+        double squares = 0.0;
+        for(final double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        assertEquals(squares / 5, statistics.getVariance(), 1e-6);
+        assertEquals(squares / 4, statistics.getSampleVariance(), 1e-6);
+        assertEquals(Math.sqrt(squares / 5), statistics.getStandardDeviation(), 1e-9);
+    }
+
+    @Test
+    void emptyTests() {
+        final MeasureStatistics statistics = new MeasureStatistics(Unit.METRE);
+        assertEquals(0, statistics.getCount());
+        assertEquals(0.0, statistics.getSum());
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getMin());
+        assertEquals(Double.NEGATIVE_INFINITY, statistics.getMax());
+        assertTrue(Double.isNaN(statistics.getMean()));
+        assertTrue(Double.isNaN(statistics.getVariance()));
+        assertTrue(Double.isNaN(statistics.getSampleVariance()));
+    }
+
+    @Test
+    void compensationTests() {
+        final MeasureStatistics statistics = new MeasureStatistics(Unit.METRE);
+        statistics.accept(1.0);
+        statistics.accept(1e100);
+        statistics.accept(1.0);
+        statistics.accept(-1e100);
+        assertEquals(2.0, statistics.getSum());
+
+        statistics.accept(Double.POSITIVE_INFINITY);
+        assertEquals(Double.POSITIVE_INFINITY, statistics.getSum());
+    }
+
+    @Test
+    void collectorTests() {
+        final Random random = new Random(1);
+        final Unit[] units = {Unit.FOOT, Unit.METRE, Unit.NAUTICAL_MILE};
+        final List<Measure> measures = new ArrayList<>();
+        final MeasureStatistics sequential = new MeasureStatistics(Unit.METRE);
+        for(int i = 0; i < 10000; ++i) {
+            final Measure measure = new Measure(random.nextDouble() * 100.0, units[random.nextInt(units.length)]);
+            measures.add(measure);
+            sequential.accept(measure);
+        }
+
+        final MeasureStatistics parallel = measures.parallelStream().collect(MeasureStatistics.collector(Unit.METRE));
+        assertEquals(sequential.getCount(), parallel.getCount());
+        assertEquals(sequential.getSum(), parallel.getSum(), 1e-9);
+        assertEquals(sequential.getMin(), parallel.getMin());
+        assertEquals(sequential.getMax(), parallel.getMax());
+        assertEquals(sequential.getVariance(), parallel.getVariance(), sequential.getVariance() * 1e-12);
+
+        final MeasureStatistics immutable = IntStream.range(1, 5).mapToObj(i -> new ImmutableMeasure(i, Unit.KILOMETRE)).collect(MeasureStatistics.immutableCollector(Unit.METRE));
+        assertEquals(2500.0, immutable.getMean());
+
+        assertThrows(IllegalArgumentException.class, () -> sequential.combine(new MeasureStatistics(Unit.FOOT)));
+        assertThrows(UnsupportedOperationException.class, () -> sequential.accept(1.0, Unit.KELVIN));
+    }
+
+}
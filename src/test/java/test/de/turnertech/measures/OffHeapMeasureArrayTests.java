@@ -0,0 +1,110 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureArray;
+import de.turnertech.measures.OffHeapMeasureArray;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OffHeapMeasureArrayTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void allocateTests() {
+        final OffHeapMeasureArray metres = OffHeapMeasureArray.allocate(Unit.METRE, 3);
+        assertEquals(3, metres.size());
+        assertFalse(metres.isReadOnly());
+        metres.set(1, 1500.0);
+        assertEquals(0.0, metres.get(0));
+        assertEquals(1500.0, metres.get(1));
+        assertEquals(new Measure(1500.0, Unit.METRE), metres.getMeasure(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> metres.get(3));
+    }
+
+    @Test
+    void fileTests() throws IOException {
+        final Path path = tempDir.resolve("feet.msra");
+        try(OffHeapMeasureArray feet = OffHeapMeasureArray.create(path, Unit.FOOT, 1000)) {
+            for(int i = 0; i < feet.size(); ++i) {
+                feet.set(i, i);
+            }
+        }
+
+        try(OffHeapMeasureArray feet = OffHeapMeasureArray.open(path, Unit.FOOT)) {
+            assertTrue(feet.isReadOnly());
+            assertEquals(1000, feet.size());
+            assertEquals(999.0, feet.get(999));
+            assertThrows(UnsupportedOperationException.class, () -> feet.set(0, 1.0));
+
+            final OffHeapMeasureArray metres = feet.convertTo(Unit.METRE);
+            assertSame(Unit.METRE, metres.getUnit());
+            assertEquals(0.3048, metres.get(1));
+            assertEquals(new Measure(0.6096, Unit.METRE), metres.getMeasure(2));
+
+            final double[] copy = new double[3];
+            metres.copyTo(10, copy, 0, 3);
+            assertArrayEquals(new double[] {10 * 0.3048, 11 * 0.3048, 12 * 0.3048}, copy, 0.0000000001);
+
+            final double[] sum = {0.0};
+            feet.forEach((quantity) -> sum[0] += quantity);
+            assertEquals(999.0 * 1000.0 / 2.0, sum[0]);
+        }
+    }
+
+    @Test
+    void measureArrayTests() throws IOException {
+        final Path path = tempDir.resolve("metres.msra");
+        OffHeapMeasureArray.create(path, new MeasureArray(Unit.METRE, 1.0, 2.0, 3.0)).close();
+        try(OffHeapMeasureArray metres = OffHeapMeasureArray.open(path, Unit.METRE)) {
+            final double[] copy = new double[3];
+            metres.copyTo(0, copy, 0, 3);
+            assertArrayEquals(new double[] {1.0, 2.0, 3.0}, copy);
+        }
+    }
+
+    @Test
+    void headerTests() throws IOException {
+        final Path path = tempDir.resolve("kelvin.msra");
+        OffHeapMeasureArray.create(path, Unit.KELVIN, 1).close();
+        assertEquals("MSRA", new String(Files.readAllBytes(path), 0, 4, "US-ASCII"));
+        assertThrows(IOException.class, () -> OffHeapMeasureArray.open(path, Unit.METRE));
+        try(OffHeapMeasureArray kelvin = OffHeapMeasureArray.open(path)) {
+            assertSame(Unit.KELVIN, kelvin.getUnit());
+        }
+
+        final Path unregistered = tempDir.resolve("unregistered.msra");
+        OffHeapMeasureArray.create(unregistered, new Unit("unregistered"), 1).close();
+        assertThrows(IOException.class, () -> OffHeapMeasureArray.open(unregistered));
+
+        final Path notAColumn = tempDir.resolve("text.txt");
+        Files.writeString(notAColumn, "Not a column of measures");
+        assertThrows(IOException.class, () -> OffHeapMeasureArray.open(notAColumn, Unit.METRE));
+
+        // Corrupt symbol lengths and sizes
+        final byte[] valid = Files.readAllBytes(path);
+        final Path corrupt = tempDir.resolve("corrupt.msra");
+        Files.write(corrupt, ByteBuffer.wrap(valid.clone()).order(ByteOrder.LITTLE_ENDIAN).putShort(6, (short) -1).array());
+        assertThrows(IOException.class, () -> OffHeapMeasureArray.open(corrupt, Unit.KELVIN));
+        Files.write(corrupt, ByteBuffer.wrap(valid.clone()).order(ByteOrder.LITTLE_ENDIAN).putLong(8, -1L).array());
+        assertThrows(IOException.class, () -> OffHeapMeasureArray.open(corrupt, Unit.KELVIN));
+        Files.write(corrupt, ByteBuffer.wrap(valid.clone()).order(ByteOrder.LITTLE_ENDIAN).putLong(8, Long.MAX_VALUE).array());
+        assertThrows(IOException.class, () -> OffHeapMeasureArray.open(corrupt, Unit.KELVIN));
+    }
+
+}
@@ -0,0 +1,111 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.BatchConverter;
+import de.turnertech.measures.OverflowPolicy;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConversion;
+import de.turnertech.measures.UnitConverter;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class OverflowPolicyTests {
+
+    @Test
+    void unitTests() {
+        assertEquals(1000.0, Unit.KILOMETRE.toBase(1.0));
+        assertEquals(1.0, Unit.KILOMETRE.fromBase(1000.0));
+        assertEquals(Double.POSITIVE_INFINITY, Unit.KILOMETRE.toBase(Double.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> Unit.KILOMETRE.convertToBaseUnit(-Double.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> Unit.CENTIMETRE.convertFromBaseUnit(Double.MAX_VALUE));
+        // Infinite quantities are not overflow, of either sign
+        assertEquals(Double.NEGATIVE_INFINITY, Unit.KILOMETRE.convertToBaseUnit(Double.NEGATIVE_INFINITY).getQuantity());
+        assertEquals(Double.POSITIVE_INFINITY, Unit.KILOMETRE.convertFromBaseUnit(Double.POSITIVE_INFINITY).getQuantity());
+    }
+
+    @Test
+    void conversionTests() {
+        final UnitConversion strict = UnitConverter.plan(Unit.KILOMETRE, Unit.FOOT);
+        assertSame(OverflowPolicy.STRICT, strict.getOverflowPolicy());
+        assertSame(strict, strict.withOverflowPolicy(OverflowPolicy.STRICT));
+        assertThrows(ArithmeticException.class, () -> strict.applyAsDouble(-Double.MAX_VALUE));
+
+        final UnitConversion saturate = strict.withOverflowPolicy(OverflowPolicy.SATURATE);
+        assertSame(OverflowPolicy.SATURATE, saturate.getOverflowPolicy());
+        assertEquals(Double.MAX_VALUE, saturate.applyAsDouble(Double.MAX_VALUE));
+        assertEquals(-Double.MAX_VALUE, saturate.applyAsDouble(-Double.MAX_VALUE));
+        assertEquals(Double.NEGATIVE_INFINITY, saturate.applyAsDouble(Double.NEGATIVE_INFINITY));
+        assertEquals(strict.applyAsDouble(1.0), saturate.applyAsDouble(1.0));
+
+        final UnitConversion unchecked = strict.withOverflowPolicy(OverflowPolicy.UNCHECKED);
+        assertEquals(Double.POSITIVE_INFINITY, unchecked.applyAsDouble(Double.MAX_VALUE));
+
+        // Via the base unit of function defined Units, where only the base quantity overflows
+        final Unit huge = new Unit("overflowHuge", Unit.METRE, (quantity) -> quantity * 1e300, (metres) -> metres / 1e300);
+        final Unit large = new Unit("overflowLarge", Unit.METRE, (quantity) -> quantity * 1e200, (metres) -> metres / 1e200);
+        final UnitConversion viaBase = UnitConverter.plan(huge, large);
+        assertEquals(1e100, viaBase.applyAsDouble(1.0), 1e86);
+        assertThrows(ArithmeticException.class, () -> viaBase.applyAsDouble(1e10));
+        assertEquals(Double.MAX_VALUE, viaBase.withOverflowPolicy(OverflowPolicy.SATURATE).applyAsDouble(1e10));
+        assertEquals(-Double.MAX_VALUE, viaBase.withOverflowPolicy(OverflowPolicy.SATURATE).applyAsDouble(-1e10));
+        assertEquals(Double.POSITIVE_INFINITY, viaBase.withOverflowPolicy(OverflowPolicy.UNCHECKED).applyAsDouble(1e10));
+    }
+
+    @Test
+    void arrayTests() {
+        final double[] src = {1.0, Double.MAX_VALUE, Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, Double.NaN, 2.0};
+        final double[] dst = new double[src.length];
+        final UnitConversion conversion = UnitConverter.plan(Unit.KILOMETRE, Unit.CENTIMETRE);
+        assertThrows(ArithmeticException.class, () -> conversion.convert(src, 0, dst, 0, src.length));
+
+        final double[] saturated = {100000.0, Double.MAX_VALUE, Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, Double.NaN, 200000.0};
+        conversion.withOverflowPolicy(OverflowPolicy.SATURATE).convert(src, 0, dst, 0, src.length);
+        assertArrayEquals(saturated, dst);
+
+        // In place, the infinite input must still be told apart from the overflowed quantities
+        final double[] inPlace = src.clone();
+        conversion.withOverflowPolicy(OverflowPolicy.SATURATE).convert(inPlace, 0, inPlace, 0, inPlace.length);
+        assertArrayEquals(saturated, inPlace);
+
+        // In place across several blocks, with infinities either side of a block boundary
+        final double[] large = new double[1000];
+        for(int i = 0; i < large.length; ++i) {
+            large[i] = i % 3 == 0 ? Double.MAX_VALUE : i % 3 == 1 ? Double.NEGATIVE_INFINITY : i;
+        }
+        large[255] = Double.POSITIVE_INFINITY;
+        large[256] = -Double.MAX_VALUE;
+        final double[] expected = large.clone();
+        for(int i = 0; i < expected.length; ++i) {
+            expected[i] = Double.isInfinite(large[i]) ? large[i] : Math.abs(large[i]) == Double.MAX_VALUE ? large[i] : large[i] * 100000.0;
+        }
+        conversion.withOverflowPolicy(OverflowPolicy.SATURATE).convert(large, 0, large, 0, large.length);
+        assertArrayEquals(expected, large);
+
+        final double[] finite = {1.0, Double.POSITIVE_INFINITY, 2.0};
+        conversion.convert(finite, 0, finite, 0, finite.length);
+        assertArrayEquals(new double[] {100000.0, Double.POSITIVE_INFINITY, 200000.0}, finite);
+
+        conversion.withOverflowPolicy(OverflowPolicy.UNCHECKED).convert(src, 0, dst, 0, src.length);
+        assertEquals(Double.POSITIVE_INFINITY, dst[1]);
+    }
+
+    @Test
+    void batchTests() {
+        final double[] src = new double[1000];
+        src[777] = -Double.MAX_VALUE;
+        final double[] dst = new double[src.length];
+        assertThrows(ArithmeticException.class, () -> new BatchConverter(ForkJoinPool.commonPool(), 100).convert(src, 0, src.length, Unit.KILOMETRE, Unit.FOOT, dst));
+
+        final BatchConverter converter = new BatchConverter(ForkJoinPool.commonPool(), 100, OverflowPolicy.SATURATE);
+        assertSame(OverflowPolicy.SATURATE, converter.getOverflowPolicy());
+        converter.convert(src, 0, src.length, Unit.KILOMETRE, Unit.FOOT, dst);
+        assertEquals(-Double.MAX_VALUE, dst[777]);
+        assertEquals(0.0, dst[778]);
+    }
+
+}
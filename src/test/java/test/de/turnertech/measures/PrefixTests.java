@@ -0,0 +1,60 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.Prefix;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConverter;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+public class PrefixTests {
+
+    @Test
+    void prefixTests() {
+        for(final Prefix prefix : Prefix.values()) {
+            assertEquals(new BigDecimal("1e" + prefix.getExponent()).doubleValue(), prefix.getFactor());
+        }
+        assertEquals("k", Prefix.KILO.getSymbol());
+        assertEquals(-6, Prefix.MICRO.getExponent());
+    }
+
+    @Test
+    void prefixedTests() {
+        assertSame(Unit.KILOMETRE, Unit.prefixed(Prefix.KILO, Unit.METRE));
+        assertSame(Unit.CENTIMETRE, Unit.prefixed(Prefix.CENTI, Unit.METRE));
+        final Unit millimetre = Unit.prefixed(Prefix.MILLI, Unit.METRE);
+        assertSame(millimetre, Unit.prefixed(Prefix.MILLI, Unit.METRE));
+        assertSame(Unit.METRE, millimetre.getBaseUnit());
+        assertEquals("mm", millimetre.toString());
+        assertEquals("µs", Unit.prefixed(Prefix.MICRO, Unit.SECOND).toString());
+        assertEquals("k(m/s)", Unit.prefixed(Prefix.KILO, Unit.METRE_PER_SECOND).toString());
+        assertEquals(1000.0, Unit.prefixed(Prefix.KILO, Unit.GRAM).getScale());
+
+        assertThrows(UnsupportedOperationException.class, () -> Unit.prefixed(Prefix.KILO, Unit.DEGREES_CELSIUS));
+    }
+
+    @Test
+    void conversionTests() {
+        final Unit millimetre = Unit.prefixed(Prefix.MILLI, Unit.METRE);
+        final Unit micrometre = Unit.prefixed(Prefix.MICRO, Unit.METRE);
+        final Unit gigametre = Unit.prefixed(Prefix.GIGA, Unit.METRE);
+
+        assertEquals(1234567.0, UnitConverter.convertQuantity(1.234567, Unit.KILOMETRE, millimetre));
+        assertEquals(0.001234567, UnitConverter.convertQuantity(1234.567, micrometre, Unit.METRE));
+        assertEquals(1e12, UnitConverter.convertQuantity(1.0, gigametre, millimetre));
+        assertEquals(1e-15, UnitConverter.convertQuantity(1.0, micrometre, gigametre));
+        assertEquals(new Measure(25.4, millimetre), new Measure(1.0, Unit.INCH).convertTo(millimetre));
+
+        // Every value in the range must be the correctly rounded product, as a single multiplication
+        for(int i = 0; i < 10000; ++i) {
+            final double kilometres = i * 0.001;
+            assertEquals(kilometres * 1e6, UnitConverter.convertQuantity(kilometres, Unit.KILOMETRE, millimetre));
+        }
+    }
+
+}
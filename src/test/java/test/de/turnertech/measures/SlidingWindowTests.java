@@ -0,0 +1,90 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.SlidingWindow;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowTests {
+
+    @Test
+    void simpleTests() {
+        final SlidingWindow window = new SlidingWindow(Unit.METRE, 10);
+        assertEquals(0, window.getCount());
+        assertTrue(Double.isNaN(window.getMean()));
+        assertEquals(Double.POSITIVE_INFINITY, window.getMin());
+
+        window.add(0, 1.0, Unit.KILOMETRE);
+        window.add(5, new Measure(1000.0, Unit.FOOT));
+        window.add(9, 5.0);
+        assertEquals(3, window.getCount());
+        assertEquals(1000.0 + 304.8 + 5.0, window.getSum(), 1e-9);
+        assertEquals(5.0, window.getMin());
+        assertEquals(1000.0, window.getMax());
+
+        // The window covers (timestamp - length, timestamp], so the quantity at 0 leaves at 10
+        window.advanceTo(10);
+        assertArrayEquals(new double[] {304.8, 5.0}, window.toArray());
+        assertEquals(304.8, window.getMax());
+
+        window.advanceTo(100);
+        assertEquals(0, window.getCount());
+        assertEquals(0.0, window.getSum());
+
+        assertThrows(IllegalArgumentException.class, () -> window.add(99, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindow(Unit.METRE, 0));
+    }
+
+    @Test
+    void specialValueTests() {
+        final SlidingWindow window = new SlidingWindow(Unit.METRE, 2);
+        window.add(0, Double.POSITIVE_INFINITY);
+        window.add(1, 1.0);
+        assertEquals(Double.POSITIVE_INFINITY, window.getSum());
+        assertEquals(Double.POSITIVE_INFINITY, window.getMax());
+        window.add(2, Double.NaN);
+        assertTrue(Double.isNaN(window.getSum()));
+        assertEquals(1.0, window.getMax());
+        window.add(4, 2.0);
+        assertEquals(2.0, window.getSum());
+        assertEquals(2.0, window.getMin());
+    }
+
+    @Test
+    void bruteForceTests() {
+        final Random random = new Random(1);
+        final SlidingWindow window = new SlidingWindow(Unit.METRE, 50);
+        final double[] quantities = new double[5000];
+        final long[] timestamps = new long[quantities.length];
+        long timestamp = 0;
+        for(int i = 0; i < quantities.length; ++i) {
+            timestamp += random.nextInt(5);
+            timestamps[i] = timestamp;
+            quantities[i] = random.nextGaussian() * 100.0;
+            window.add(timestamp, quantities[i]);
+
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0.0;
+            int count = 0;
+            for(int j = i; j >= 0 && timestamps[j] > timestamp - 50; --j) {
+                min = Math.min(min, quantities[j]);
+                max = Math.max(max, quantities[j]);
+                sum += quantities[j];
+                count++;
+            }
+            assertEquals(count, window.getCount());
+            assertEquals(min, window.getMin());
+            assertEquals(max, window.getMax());
+            assertEquals(sum, window.getSum(), 1e-9);
+        }
+    }
+
+}
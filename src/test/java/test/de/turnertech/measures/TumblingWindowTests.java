@@ -0,0 +1,53 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureStatistics;
+import de.turnertech.measures.TumblingWindow;
+import de.turnertech.measures.Unit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TumblingWindowTests {
+
+    @Test
+    void windowTests() {
+        final List<MeasureStatistics> windows = new ArrayList<>();
+        final List<Long> starts = new ArrayList<>();
+        final TumblingWindow window = new TumblingWindow(Unit.METRE, 60, (statistics, start) -> {
+            windows.add(statistics);
+            starts.add(start);
+        });
+        assertNull(window.getCurrent());
+
+        window.add(5, 1.0, Unit.KILOMETRE);
+        window.add(2, new Measure(1.0, Unit.NAUTICAL_MILE));
+        window.add(59, 148.0);
+        assertEquals(3, window.getCurrent().getCount());
+        assertEquals(0, windows.size());
+
+        // Skips the empty window from 60 to 120
+        window.add(130, 10.0);
+        assertEquals(1, windows.size());
+        assertEquals(0L, starts.get(0));
+        assertEquals(1000.0, windows.get(0).getMean());
+        assertEquals(148.0, windows.get(0).getMin());
+        assertEquals(120, window.getCurrentStart());
+
+        assertThrows(IllegalArgumentException.class, () -> window.add(119, 1.0));
+        window.flush();
+        assertEquals(2, windows.size());
+        assertEquals(120L, starts.get(1));
+        assertThrows(IllegalArgumentException.class, () -> window.add(179, 1.0));
+        window.add(180, 1.0);
+        window.flush();
+        assertEquals(3, windows.size());
+        assertEquals(180L, starts.get(2));
+    }
+
+}
@@ -0,0 +1,186 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConversion;
+import de.turnertech.measures.UnitConverter;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class UnitConversionTests {
+
+    @Test
+    void planTests() {
+        final UnitConversion conversion = UnitConverter.plan(Unit.KILOMETRE, Unit.METRE);
+        assertSame(Unit.KILOMETRE, conversion.getUnitIn());
+        assertSame(Unit.METRE, conversion.getUnitOut());
+        assertEquals(5000.0, conversion.applyAsDouble(5.0));
+        assertEquals(5000.0, conversion.convert(5.0).getQuantity());
+        assertSame(Unit.METRE, conversion.convert(5.0).getUnit());
+    }
+
+    @Test
+    void priorityTests() {
+        assertEquals(1.0, UnitConverter.plan(Unit.METRE, Unit.METRE).applyAsDouble(1.0));
+        assertEquals(1.852, UnitConverter.plan(Unit.NAUTICAL_MILE, Unit.KILOMETRE).applyAsDouble(1.0));
+        assertEquals(1.0, UnitConverter.plan(Unit.METRE, Unit.KILOMETRE).applyAsDouble(1000.0));
+        assertEquals(0.3048, UnitConverter.plan(Unit.FOOT, Unit.METRE).applyAsDouble(1.0));
+    }
+
+    @Test
+    void cacheTests() {
+        assertSame(UnitConverter.plan(Unit.FOOT, Unit.MILE), UnitConverter.plan(Unit.FOOT, Unit.MILE));
+    }
+
+    @Test
+    void cacheInvalidationTests() {
+        final Unit myUnit = new Unit("my");
+        final Unit myOtherUnit = new Unit("myOther");
+        assertThrows(UnsupportedOperationException.class, () -> UnitConverter.plan(myUnit, myOtherUnit));
+
+        UnitConverter.putScalar(myUnit, myOtherUnit, 2.0);
+        final UnitConversion scalarConversion = UnitConverter.plan(myUnit, myOtherUnit);
+        assertEquals(4.0, scalarConversion.applyAsDouble(2.0));
+        assertEquals(1.0, UnitConverter.convertQuantity(2.0, myOtherUnit, myUnit));
+
+        UnitConverter.putFunction(myUnit, myOtherUnit, (my) -> my * 3.0);
+        final UnitConversion functionConversion = UnitConverter.plan(myUnit, myOtherUnit);
+        assertNotSame(scalarConversion, functionConversion);
+        assertEquals(6.0, functionConversion.applyAsDouble(2.0));
+    }
+
+    @Test
+    void failTests() {
+        assertThrows(UnsupportedOperationException.class, () -> UnitConverter.plan(Unit.METRE, Unit.KELVIN));
+        assertThrows(ArithmeticException.class, () -> UnitConverter.plan(Unit.KILOMETRE, Unit.FOOT).applyAsDouble(Double.MAX_VALUE));
+    }
+
+    @Test
+    void arrayTests() {
+        final double[] feet = {1.0, 2.0, 3.0, 4.0};
+        final double[] metres = new double[4];
+        UnitConverter.convert(feet, 1, 2, Unit.FOOT, Unit.METRE, metres);
+        assertArrayEquals(new double[] {0.0, 0.6096, 0.9144, 0.0}, metres, 0.0000000001);
+
+        UnitConverter.plan(Unit.METRE, Unit.KILOMETRE).convert(new double[] {1000.0, 2000.0}, 0, metres, 2, 2);
+        assertArrayEquals(new double[] {0.0, 0.6096, 1.0, 2.0}, metres, 0.0000000001);
+    }
+
+    @Test
+    void inPlaceArrayTests() {
+        final double[] values = {1.0, 2.0, 3.0};
+        UnitConverter.convert(values, 0, values.length, Unit.KILOMETRE, Unit.METRE, values);
+        assertArrayEquals(new double[] {1000.0, 2000.0, 3000.0}, values);
+
+        // Overlapping ranges behave like System.arraycopy
+        UnitConverter.plan(Unit.METRE, Unit.KILOMETRE).convert(values, 0, values, 1, 2);
+        assertArrayEquals(new double[] {1000.0, 1.0, 2.0}, values);
+    }
+
+    @Test
+    void arrayMatchesScalarTests() {
+        final double[] values = new double[2000];
+        for(int i = 0; i < values.length; ++i) {
+            values[i] = i * 0.37;
+        }
+        final double[] converted = new double[values.length];
+        UnitConverter.convert(values, 0, values.length, Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS, converted);
+        for(int i = 0; i < values.length; ++i) {
+            assertEquals(UnitConverter.convertQuantity(values[i], Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS), converted[i]);
+        }
+    }
+
+    @Test
+    void bufferTests() {
+        final DoubleBuffer heap = DoubleBuffer.wrap(new double[] {1.0, 2.0, 3.0});
+        final DoubleBuffer direct = ByteBuffer.allocateDirect(3 * Double.BYTES).asDoubleBuffer();
+        UnitConverter.convert(heap, Unit.KILOMETRE, Unit.METRE, direct);
+        assertEquals(3, heap.position());
+        assertEquals(3, direct.position());
+
+        direct.flip();
+        UnitConverter.convert(direct, Unit.METRE, Unit.CENTIMETRE, direct.duplicate());
+        assertEquals(100000.0, direct.get(0));
+        assertEquals(300000.0, direct.get(2));
+
+        heap.flip();
+        assertThrows(BufferOverflowException.class, () -> UnitConverter.convert(heap, Unit.METRE, Unit.FOOT, DoubleBuffer.allocate(2)));
+    }
+
+    @Test
+    void affineTests() {
+        // Fused into a single multiplication, without visiting the base unit
+        assertEquals(1.0, UnitConverter.convertQuantity(5280.0, Unit.FOOT, Unit.MILE), 0.0000000001);
+        // Converting via metres would overflow
+        assertEquals(Double.MAX_VALUE / 1852.0 * 1609.344, UnitConverter.convertQuantity(Double.MAX_VALUE, Unit.MILE, Unit.NAUTICAL_MILE), Double.MAX_VALUE * 0.0000000001);
+        assertEquals(1.0, UnitConverter.convertQuantity(60.0, Unit.SECOND_ANGLE, Unit.MINUTE_ANGLE));
+        assertEquals(100.0, UnitConverter.convertQuantity(212.0, Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS), 0.0000000001);
+        assertEquals(-40.0, UnitConverter.convertQuantity(-40.0, Unit.DEGREES_CELSIUS, Unit.DEGREES_FAHRENHEIT), 0.0000000001);
+
+        // Freezing and boiling points are exact in both directions
+        assertEquals(32.0, UnitConverter.convertQuantity(0.0, Unit.DEGREES_CELSIUS, Unit.DEGREES_FAHRENHEIT));
+        assertEquals(212.0, UnitConverter.convertQuantity(100.0, Unit.DEGREES_CELSIUS, Unit.DEGREES_FAHRENHEIT));
+        assertEquals(0.0, UnitConverter.convertQuantity(32.0, Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS));
+        assertEquals(100.0, UnitConverter.convertQuantity(212.0, Unit.DEGREES_FAHRENHEIT, Unit.DEGREES_CELSIUS));
+        assertEquals(273.15, UnitConverter.convertQuantity(32.0, Unit.DEGREES_FAHRENHEIT, Unit.KELVIN));
+        assertEquals(-459.67, UnitConverter.convertQuantity(0.0, Unit.KELVIN, Unit.DEGREES_FAHRENHEIT));
+        assertEquals(12.0, UnitConverter.convertQuantity(1.0, Unit.FOOT, Unit.INCH));
+
+        for(int i = 0; i < 10000; ++i) {
+            final double minutes = i * 0.731;
+            assertEquals(minutes / 60.0, UnitConverter.convertQuantity(minutes, Unit.MINUTE_ANGLE, Unit.DEGREE));
+            assertEquals(minutes * 60.0, UnitConverter.convertQuantity(minutes, Unit.MINUTE_ANGLE, Unit.SECOND_ANGLE));
+        }
+    }
+
+    @Test
+    void functionUnitTests() {
+        final Unit doubleMetre = new Unit("2m", Unit.METRE, (doubleMetres) -> doubleMetres * 2.0, (metre) -> metre / 2.0);
+        assertEquals(1.0, UnitConverter.convertQuantity(2.0, Unit.METRE, doubleMetre));
+        assertEquals(2.0, UnitConverter.convertQuantity(1000.0, doubleMetre, Unit.KILOMETRE));
+    }
+
+    @Test
+    void chainTests() {
+        // Only registered against kilometres, so nautical miles need an intermediate Unit
+        final Unit widget = new Unit("widget");
+        UnitConverter.putScalar(Unit.KILOMETRE, widget, 2.0);
+        final Unit gadget = new Unit("gadget");
+        UnitConverter.putScalar(gadget, widget, 4.0);
+
+        final UnitConversion nauticalMileToWidget = UnitConverter.plan(Unit.NAUTICAL_MILE, widget);
+        // The registered NM -> km function is avoided in favour of a chain of scalars
+        assertEquals("NM -> cm -> km -> widget", nauticalMileToWidget.toString());
+        assertEquals(1.852 * 2.0, nauticalMileToWidget.applyAsDouble(1.0));
+        assertSame(nauticalMileToWidget, UnitConverter.plan(Unit.NAUTICAL_MILE, widget));
+
+        assertEquals(1000.0 * 4.0 / 2.0, UnitConverter.convertQuantity(1.0, gadget, Unit.METRE), 1e-12);
+        assertEquals(1.0, UnitConverter.convertQuantity(UnitConverter.convertQuantity(1.0, Unit.MILE, gadget), gadget, Unit.MILE), 1e-12);
+
+        final double[] quantities = {1.0, 2.0, 3.0};
+        UnitConverter.convert(quantities, 0, 3, Unit.FOOT, gadget, quantities);
+        assertArrayEquals(new double[] {0.0003048 * 0.5, 0.0006096 * 0.5, 0.0009144 * 0.5}, quantities, 1e-15);
+
+        assertThrows(UnsupportedOperationException.class, () -> UnitConverter.plan(widget, Unit.KELVIN));
+
+        // Unsupported pairs are cached until a new conversion is registered
+        final Unit doohickey = new Unit("doohickey");
+        for(int i = 0; i < 3; ++i) {
+            assertThrows(UnsupportedOperationException.class, () -> UnitConverter.plan(doohickey, Unit.METRE));
+            assertThrows(UnsupportedOperationException.class, () -> UnitConverter.planExact(doohickey, Unit.METRE));
+        }
+        UnitConverter.putScalar(doohickey, gadget, 8.0);
+        assertEquals(1000.0 * 4.0 / 2.0 * 8.0, UnitConverter.convertQuantity(1.0, doohickey, Unit.METRE), 1e-9);
+        assertEquals(0, new BigDecimal("16000").compareTo(UnitConverter.planExact(doohickey, Unit.METRE).convert(BigDecimal.ONE)));
+    }
+
+}
@@ -4,8 +4,16 @@ import de.turnertech.measures.Measure;
 import de.turnertech.measures.Unit;
 import de.turnertech.measures.UnitConverter;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Test;
 
 public class UnitConverterTests {
@@ -29,4 +37,51 @@ public class UnitConverterTests {
         assertEquals(Unit.METRE, Unit.NAUTICAL_MILE.getBaseUnit());
     }
 
+    @Test
+    void putTests() {
+        final Unit myUnit = new Unit("my");
+        final Unit myOtherUnit = new Unit("myOther");
+        assertNull(UnitConverter.putScalar(myUnit, myOtherUnit, 2.0));
+        assertEquals(2.0, UnitConverter.putScalar(myUnit, myOtherUnit, 4.0));
+        assertEquals(8.0, UnitConverter.convertQuantity(2.0, myUnit, myOtherUnit));
+    }
+
+    @Test
+    void concurrentPutTests() throws Exception {
+        final Unit source = new Unit("source");
+        final List<Unit> targets = new ArrayList<>();
+        for(int i = 0; i < 200; ++i) {
+            targets.add(new Unit("target" + i));
+        }
+        UnitConverter.putScalar(source, targets.get(0), 1.0);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int thread = 0; thread < 3; ++thread) {
+                futures.add(executor.submit(() -> {
+                    for(int i = 0; i < 100000; ++i) {
+                        assertEquals(2000.0, UnitConverter.convertQuantity(2.0, Unit.KILOMETRE, Unit.METRE));
+                        assertEquals(2.0, UnitConverter.convertQuantity(2.0, source, targets.get(0)));
+                    }
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                for(int i = 1; i < targets.size(); ++i) {
+                    UnitConverter.putScalar(source, targets.get(i), i);
+                }
+            }));
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        for(int i = 1; i < targets.size(); ++i) {
+            assertEquals(i * 3.0, UnitConverter.convertQuantity(3.0, source, targets.get(i)));
+        }
+    }
+
 }
@@ -0,0 +1,86 @@
+package test.de.turnertech.measures;
+
+import de.turnertech.measures.Measure;
+import de.turnertech.measures.MeasureFormat;
+import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitRegistry;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class UnitRegistryTests {
+
+    @Test
+    void builtInTests() {
+        // These IDs are part of the wire format and must never change
+        assertEquals(0, UnitRegistry.getId(Unit.KELVIN));
+        assertEquals(3, UnitRegistry.getId(Unit.METRE));
+        assertEquals(9, UnitRegistry.getId(Unit.KILOMETRE));
+        assertEquals(14, UnitRegistry.getId(Unit.DEGREE));
+        assertEquals(17, UnitRegistry.getId(Unit.RADIAN));
+
+        for(int id = 0; id < UnitRegistry.BUILT_IN_COUNT; ++id) {
+            final Unit unit = UnitRegistry.getUnit(id);
+            assertEquals(id, UnitRegistry.getId(unit));
+            assertSame(unit, UnitRegistry.getUnit(unit.toString()));
+        }
+        assertSame(Unit.DEGREES_CELSIUS, UnitRegistry.getUnit("°C"));
+        assertNull(UnitRegistry.getUnit("furlong"));
+        assertThrows(IllegalArgumentException.class, () -> UnitRegistry.getUnit(-1));
+        assertThrows(IllegalArgumentException.class, () -> UnitRegistry.getUnit(UnitRegistry.size()));
+    }
+
+    @Test
+    void registerTests() {
+        final Unit fathom = new Unit("fathom", Unit.METRE, 1.8288, 0.0);
+        assertEquals(-1, UnitRegistry.getId(fathom));
+        assertNull(new MeasureFormat().getUnit("fathom"));
+
+        final int id = UnitRegistry.register(fathom);
+        assertTrue(id >= UnitRegistry.BUILT_IN_COUNT);
+        assertEquals(id, UnitRegistry.register(fathom));
+        assertEquals(id, UnitRegistry.getId(fathom));
+        assertSame(fathom, UnitRegistry.getUnit(id));
+        assertSame(fathom, UnitRegistry.getUnit("fathom"));
+        assertSame(fathom, UnitRegistry.getUnits().get(id));
+        assertEquals(new Measure(2.0, fathom), new MeasureFormat().parse("2 fathom"));
+
+        final Unit otherFathom = new Unit("fathom", Unit.METRE, 1.8, 0.0);
+        assertThrows(IllegalArgumentException.class, () -> UnitRegistry.register(otherFathom));
+        assertThrows(IllegalArgumentException.class, () -> UnitRegistry.register(new Unit("m")));
+        assertEquals(-1, UnitRegistry.getId(otherFathom));
+    }
+
+    @Test
+    void concurrentRegisterTests() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> ids = new ArrayList<>();
+            for(int i = 0; i < 200; ++i) {
+                final Unit unit = new Unit("concurrent" + i);
+                ids.add(executor.submit(() -> UnitRegistry.register(unit)));
+            }
+            final HashSet<Integer> distinct = new HashSet<>();
+            for(final Future<Integer> id : ids) {
+                final int value = id.get(10, TimeUnit.SECONDS);
+                assertTrue(distinct.add(value));
+                assertSame(UnitRegistry.getUnit(value), UnitRegistry.getUnit(UnitRegistry.getUnit(value).toString()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -2,9 +2,13 @@ package test.de.turnertech.measures;
 
 import de.turnertech.measures.Measure;
 import de.turnertech.measures.Unit;
+import de.turnertech.measures.UnitConverter;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -84,4 +88,84 @@ public class UnitTests {
         assertThrows(ArithmeticException.class, () -> Unit.KILOMETRE.convertToBaseUnit(Double.MAX_VALUE));
     }
 
+    @Test
+    void secondAngleTests() {
+        assertSame(Unit.DEGREE, Unit.SECOND_ANGLE.getBaseUnit());
+        assertEquals(3600.0, Unit.SECOND_ANGLE.convertFromBaseUnit(1.0).getQuantity());
+        assertEquals(1.0, Unit.SECOND_ANGLE.convertToBaseUnit(3600.0).getQuantity());
+    }
+
+    @Test
+    void affineTests() {
+        assertTrue(Unit.METRE.isAffine());
+        assertEquals(1.0, Unit.METRE.getScale());
+        assertEquals(0.0, Unit.METRE.getOffset());
+        assertTrue(Unit.FOOT.isAffine());
+        assertEquals(0.3048, Unit.FOOT.getScale());
+        assertEquals(273.15, Unit.DEGREES_CELSIUS.getOffset());
+
+        final Unit millimetre = new Unit("mm", Unit.METRE, 1.0, 1000.0, 0.0);
+        assertEquals(0.001, millimetre.getScale());
+        assertEquals(1.337, millimetre.convertToBaseUnit(1337.0).getQuantity());
+        assertEquals(1337.0, millimetre.convertFromBaseUnit(1.337).getQuantity());
+
+        final Unit functionUnit = new Unit("fn", Unit.METRE, (fn) -> fn * 2.0, (metre) -> metre / 2.0);
+        assertFalse(functionUnit.isAffine());
+        assertTrue(Double.isNaN(functionUnit.getScale()));
+
+        assertThrows(ArithmeticException.class, () -> new Unit("zero", Unit.METRE, 0.0, 0.0));
+    }
+
+    @Test
+    void canonicalTests() {
+        assertSame(Unit.FOOT, Unit.FOOT.getCanonicalUnit());
+        assertSame(Unit.FOOT, new Unit("ft", Unit.METRE, 0.3048, 0.0).getCanonicalUnit());
+        assertSame(Unit.METRE, new Unit("m").getCanonicalUnit());
+        assertSame(Unit.FOOT, new Unit("ft", new Unit("m"), 0.3048, 0.0).getCanonicalUnit());
+        assertSame(Unit.KILOMETRE, new Unit("km", Unit.METRE, 1000.0, 0.0).getCanonicalUnit());
+
+        // A different symbol or definition is a different Unit
+        final Unit otherFoot = new Unit("ft", Unit.METRE, 0.3, 0.0);
+        assertSame(otherFoot, otherFoot.getCanonicalUnit());
+        final Unit foot = new Unit("foot", Unit.METRE, 0.3048, 0.0);
+        assertSame(foot, foot.getCanonicalUnit());
+        final Unit functionUnit = new Unit("ft", Unit.METRE, (ft) -> ft * 0.3048, (metre) -> metre / 0.3048);
+        assertSame(functionUnit, functionUnit.getCanonicalUnit());
+
+        // Unregistered base units each define their own Dimension
+        final Unit widget = new Unit("canonicalWidget");
+        assertSame(widget, widget.getCanonicalUnit());
+        assertNotSame(widget, new Unit("canonicalWidget").getCanonicalUnit());
+
+        // Equivalent Units share fast paths, cached plans and registered scalars
+        final Unit nauticalMile = new Unit("NM", Unit.METRE, 1852.0, 0.0);
+        assertSame(UnitConverter.plan(Unit.NAUTICAL_MILE, Unit.METRE), UnitConverter.plan(nauticalMile, new Unit("m")));
+        assertEquals("NM -> m", UnitConverter.plan(nauticalMile, Unit.METRE).toString());
+        final Unit gadget = new Unit("canonicalGadget", Unit.METRE, 2.0, 0.0);
+        UnitConverter.putScalar(new Unit("canonicalGadget", Unit.METRE, 2.0, 0.0), Unit.FOOT, 5.0);
+        assertEquals(10.0, UnitConverter.convertQuantity(2.0, gadget, new Unit("ft", Unit.METRE, 0.3048, 0.0)));
+        assertEquals(1.0, UnitConverter.convert(1.0, Unit.METRE, new Unit("m")).getQuantity());
+    }
+
+    @Test
+    void canonicalCollectionTests() {
+        // Equivalent Units canonicalise to the constant, without being retained
+        for(int i = 0; i < 100000; ++i) {
+            assertSame(Unit.FOOT, new Unit("ft", Unit.METRE, 0.3048, 0.0).getCanonicalUnit());
+        }
+
+        // The first of a new definition becomes its canonical instance, including derived Units
+        final Unit widget = new Unit("collectedWidget", Unit.METRE, 2.5, 0.0);
+        assertSame(widget, widget.getCanonicalUnit());
+        assertSame(widget, new Unit("collectedWidget", Unit.METRE, 2.5, 0.0).getCanonicalUnit());
+        assertSame(widget.multiply(Unit.SECOND), new Unit("collectedWidget", Unit.METRE, 2.5, 0.0).multiply(Unit.SECOND));
+    }
+
+    @Test
+    void fahrenheitTests() {
+        assertSame(Unit.KELVIN, Unit.DEGREES_FAHRENHEIT.getBaseUnit());
+        assertEquals(273.15, Unit.DEGREES_FAHRENHEIT.convertToBaseUnit(32.0).getQuantity(), 0.0000000001);
+        assertEquals(212.0, Unit.DEGREES_FAHRENHEIT.convertFromBaseUnit(373.15).getQuantity(), 0.0000000001);
+    }
+
 }